@@ -383,6 +383,11 @@ public class MessageHandler {
                 constantPool.importFromJson(constants);
             }
 
+            if (isResynchronize(valueMap)) {
+                // The message contains the full state of the tree
+                registry.getStateTree().prepareForResync();
+            }
+
             if (json.hasKey("changes")) {
                 processChanges(json);
             }
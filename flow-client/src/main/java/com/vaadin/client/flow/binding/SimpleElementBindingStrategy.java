@@ -46,6 +46,7 @@ import com.vaadin.flow.internal.nodefeature.NodeProperties;
 
 import elemental.client.Browser;
 import elemental.css.CSSStyleDeclaration;
+import elemental.dom.DocumentFragment;
 import elemental.dom.Element;
 import elemental.dom.Node;
 import elemental.events.Event;
@@ -126,6 +127,14 @@ public class SimpleElementBindingStrategy implements BindingStrategy<Element> {
         private final JsSet<EventRemover> synchronizedPropertyEventListeners = JsCollections
                 .set();
 
+        /*
+         * Element children in the order they have been bound, kept in sync
+         * with the handled splices so that the previous sibling of an index
+         * can be found without scanning the whole children list.
+         */
+        private final JsArray<StateNode> boundChildren = JsCollections
+                .array();
+
         private BindingContext(StateNode node, Node htmlNode,
                 BinderContext binderContext) {
             this.node = node;
@@ -636,8 +645,11 @@ public class SimpleElementBindingStrategy implements BindingStrategy<Element> {
     private EventRemover bindChildren(BindingContext context) {
         NodeList children = context.node.getList(NodeFeatures.ELEMENT_CHILDREN);
 
+        // Collect new children so they are attached to the DOM at once
+        DocumentFragment fragment = null;
         for (int i = 0; i < children.length(); i++) {
             StateNode childNode = (StateNode) children.get(i);
+            context.boundChildren.push(childNode);
 
             ExistingElementMap existingElementMap = childNode.getTree()
                     .getRegistry().getExistingElementMap();
@@ -648,9 +660,15 @@ public class SimpleElementBindingStrategy implements BindingStrategy<Element> {
                 context.binderContext.createAndBind(childNode);
             } else {
                 child = context.binderContext.createAndBind(childNode);
-                DomApi.wrap(context.htmlNode).appendChild(child);
+                if (fragment == null) {
+                    fragment = Browser.getDocument().createDocumentFragment();
+                }
+                DomApi.wrap(fragment).appendChild(child);
             }
         }
+        if (fragment != null) {
+            DomApi.wrap(context.htmlNode).appendChild(fragment);
+        }
 
         return children.addSpliceListener(e -> {
             /*
@@ -867,6 +885,9 @@ public class SimpleElementBindingStrategy implements BindingStrategy<Element> {
              * below.
              */
         }
+        if (remove.length() > 0) {
+            context.boundChildren.splice(event.getIndex(), remove.length());
+        }
 
         JsArray<?> add = event.getAdd();
         if (!add.isEmpty()) {
@@ -876,24 +897,28 @@ public class SimpleElementBindingStrategy implements BindingStrategy<Element> {
 
     private void addChildren(int index, BindingContext context,
             JsArray<?> add) {
-        NodeList nodeChildren = context.node
-                .getList(NodeFeatures.ELEMENT_CHILDREN);
+        JsArray<StateNode> boundChildren = context.boundChildren;
 
         Node beforeRef;
         if (index == 0) {
             // Insert at the first position
             beforeRef = DomApi.wrap(context.htmlNode).getFirstChild();
-        } else if (index <= nodeChildren.length() && index > 0) {
-            StateNode previousSibling = getPreviousSibling(index, context);
+        } else if (index <= boundChildren.length() && index > 0) {
+            StateNode previousSibling = boundChildren.get(index - 1);
             // Insert before the next sibling of the current node
-            beforeRef = previousSibling == null ? null
-                    : DomApi.wrap(previousSibling.getDomNode())
-                            .getNextSibling();
+            beforeRef = DomApi.wrap(previousSibling.getDomNode())
+                    .getNextSibling();
         } else {
             // Insert at the end
             beforeRef = null;
         }
 
+        /*
+         * New elements are collected into a fragment which is inserted with
+         * one DOM operation. Existing elements are not moved, so any pending
+         * fragment is inserted before continuing after an existing element.
+         */
+        DocumentFragment fragment = null;
         for (int i = 0; i < add.length(); i++) {
             Object newChildObject = add.get(i);
             StateNode newChild = (StateNode) newChildObject;
@@ -905,34 +930,27 @@ public class SimpleElementBindingStrategy implements BindingStrategy<Element> {
                 existingElementMap.remove(newChild.getId());
                 newChild.setDomNode(childNode);
                 context.binderContext.createAndBind(newChild);
+
+                if (fragment != null) {
+                    DomApi.wrap(context.htmlNode).insertBefore(fragment,
+                            beforeRef);
+                    fragment = null;
+                }
+                beforeRef = DomApi.wrap(childNode).getNextSibling();
             } else {
                 childNode = context.binderContext.createAndBind(newChild);
 
-                DomApi.wrap(context.htmlNode).insertBefore(childNode,
-                        beforeRef);
+                if (fragment == null) {
+                    fragment = Browser.getDocument().createDocumentFragment();
+                }
+                DomApi.wrap(fragment).appendChild(childNode);
             }
 
-            beforeRef = DomApi.wrap(childNode).getNextSibling();
+            boundChildren.splice(index + i, 0, newChild);
         }
-    }
-
-    private StateNode getPreviousSibling(int index, BindingContext context) {
-        NodeList nodeChildren = context.node
-                .getList(NodeFeatures.ELEMENT_CHILDREN);
-
-        int count = 0;
-        StateNode node = null;
-        for (int i = 0; i < nodeChildren.length(); i++) {
-            if (count == index) {
-                return node;
-            }
-            StateNode child = (StateNode) nodeChildren.get(i);
-            if (child.getDomNode() != null) {
-                node = child;
-                count++;
-            }
+        if (fragment != null) {
+            DomApi.wrap(context.htmlNode).insertBefore(fragment, beforeRef);
         }
-        return node;
     }
 
     /**
@@ -2,6 +2,7 @@ package com.vaadin.client;
 
 import com.google.gwt.junit.tools.GWTTestSuite;
 import com.vaadin.client.communication.GwtDefaultReconnectDialogTest;
+import com.vaadin.client.communication.GwtMessageHandlerTest;
 import com.vaadin.client.flow.GwtBasicElementBinderTest;
 import com.vaadin.client.flow.GwtEventHandlerTest;
 import com.vaadin.client.flow.GwtMultipleBindingTest;
@@ -48,6 +49,7 @@ public class GwtSuite extends GWTTestSuite {
         suite.addTestSuite(GwtExecuteJavaScriptElementUtilsTest.class);
         suite.addTestSuite(GwtDependencyLoaderTest.class);
         suite.addTestSuite(GwtMultipleBindingTest.class);
+        suite.addTestSuite(GwtMessageHandlerTest.class);
         return suite;
     }
 }
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.client.communication;
+
+import com.vaadin.client.ApplicationConfiguration;
+import com.vaadin.client.ClientEngineTestBase;
+import com.vaadin.client.DependencyLoader;
+import com.vaadin.client.InitialPropertiesHandler;
+import com.vaadin.client.LoadingIndicator;
+import com.vaadin.client.Registry;
+import com.vaadin.client.ResourceLoader;
+import com.vaadin.client.UILifecycle;
+import com.vaadin.client.UILifecycle.UIState;
+import com.vaadin.client.ValueMap;
+import com.vaadin.client.WidgetUtil;
+import com.vaadin.client.flow.StateNode;
+import com.vaadin.client.flow.StateTree;
+import com.vaadin.client.flow.nodefeature.NodeList;
+import com.vaadin.flow.internal.nodefeature.NodeFeatures;
+import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.flow.shared.JsonConstants;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+
+public class GwtMessageHandlerTest extends ClientEngineTestBase {
+
+    private Registry registry;
+
+    private TestMessageSender messageSender;
+
+    private static class TestMessageSender extends MessageSender {
+        private int clientToServerMessageId = -1;
+        private boolean forced;
+
+        private TestMessageSender(Registry registry) {
+            super(registry);
+        }
+
+        @Override
+        public void setClientToServerMessageId(int nextExpectedId,
+                boolean force) {
+            clientToServerMessageId = nextExpectedId;
+            forced = force;
+        }
+    }
+
+    @Override
+    protected void gwtSetUp() throws Exception {
+        super.gwtSetUp();
+
+        registry = new Registry() {
+            {
+                UILifecycle uiLifecycle = new UILifecycle();
+                uiLifecycle.setState(UIState.RUNNING);
+                set(UILifecycle.class, uiLifecycle);
+                ApplicationConfiguration configuration = new ApplicationConfiguration();
+                configuration.setProductionMode(true);
+                set(ApplicationConfiguration.class, configuration);
+                set(StateTree.class, new StateTree(this));
+                set(InitialPropertiesHandler.class,
+                        new InitialPropertiesHandler(this));
+                set(RequestResponseTracker.class,
+                        new RequestResponseTracker(this));
+                set(MessageHandler.class, new MessageHandler(this));
+                set(MessageSender.class, new TestMessageSender(this));
+                set(ServerRpcQueue.class, new ServerRpcQueue(this));
+                set(LoadingIndicator.class, new LoadingIndicator());
+                set(DependencyLoader.class, new DependencyLoader(this));
+                set(ResourceLoader.class, new ResourceLoader(this, false));
+            }
+        };
+        messageSender = (TestMessageSender) registry.getMessageSender();
+
+        // Initial response: root node with the children 2 and 3
+        handleResponse(createMessage(0, 1, attach(2), attach(3),
+                addChildren(0, 2, 3)));
+    }
+
+    public void testReplayedResponse_notSeenBefore_applied() {
+        // The response to the message with client id 1 was lost, the server
+        // replays it when the client resends the message
+        handleResponse(createMessage(1, 2, attach(4), addChildren(2, 4)));
+
+        assertEquals(1, registry.getMessageHandler().getLastSeenServerSyncId());
+        assertEquals(2, messageSender.clientToServerMessageId);
+        assertChildren(2, 3, 4);
+        assertFalse(registry.getRequestResponseTracker().hasActiveRequest());
+    }
+
+    public void testReplayedResponse_alreadySeen_ignored() {
+        JsonObject response = createMessage(1, 2, attach(4),
+                addChildren(2, 4));
+        handleResponse(response);
+        StateNode child = registry.getStateTree().getNode(4);
+
+        // The same response arrives again, attaching node 4 once more would
+        // fail
+        handleResponse(response);
+
+        assertEquals(1, registry.getMessageHandler().getLastSeenServerSyncId());
+        assertSame(child, registry.getStateTree().getNode(4));
+        assertChildren(2, 3, 4);
+        assertFalse(registry.getRequestResponseTracker().hasActiveRequest());
+        assertEquals(UIState.RUNNING, registry.getUILifecycle().getState());
+    }
+
+    public void testResync_fullStateReplacesTree_noReload() {
+        StateTree tree = registry.getStateTree();
+        StateNode oldChild = tree.getNode(2);
+        StateNode removedChild = tree.getNode(3);
+
+        // Responses 1-4 were lost, the server sends the full state instead
+        JsonObject resync = createMessage(5, 7, attach(2), attach(5),
+                addChildren(0, 2, 5));
+        resync.put(ApplicationConstants.RESYNCHRONIZE_ID, true);
+        handleResponse(resync);
+
+        assertEquals(UIState.RUNNING, registry.getUILifecycle().getState());
+        assertEquals(5, registry.getMessageHandler().getLastSeenServerSyncId());
+        assertEquals(7, messageSender.clientToServerMessageId);
+        assertTrue(messageSender.forced);
+
+        assertTrue(oldChild.isUnregistered());
+        assertTrue(removedChild.isUnregistered());
+        assertNull(tree.getNode(3));
+        assertNotSame(oldChild, tree.getNode(2));
+        assertSame(tree.getRootNode(), tree.getNode(1));
+        assertChildren(2, 5);
+
+        // Regular messages are handled after the resync
+        handleResponse(createMessage(6, 8, attach(6), addChildren(2, 6)));
+        assertChildren(2, 5, 6);
+    }
+
+    private void handleResponse(JsonObject message) {
+        registry.getRequestResponseTracker().startRequest();
+        ValueMap valueMap = WidgetUtil.crazyJsCast(message);
+        registry.getMessageHandler().handleMessage(valueMap);
+    }
+
+    private void assertChildren(int... ids) {
+        NodeList children = registry.getStateTree().getRootNode()
+                .getList(NodeFeatures.ELEMENT_CHILDREN);
+        assertEquals(ids.length, children.length());
+        for (int i = 0; i < ids.length; i++) {
+            StateNode child = (StateNode) children.get(i);
+            assertEquals(ids[i], child.getId());
+            assertSame(child, registry.getStateTree().getNode(ids[i]));
+        }
+    }
+
+    private static JsonObject createMessage(int syncId, int clientId,
+            JsonObject... changes) {
+        JsonObject message = Json.createObject();
+        message.put(ApplicationConstants.SERVER_SYNC_ID, syncId);
+        message.put(ApplicationConstants.CLIENT_TO_SERVER_ID, clientId);
+        JsonArray changesJson = Json.createArray();
+        for (JsonObject change : changes) {
+            changesJson.set(changesJson.length(), change);
+        }
+        message.put("changes", changesJson);
+        return message;
+    }
+
+    private static JsonObject attach(int nodeId) {
+        JsonObject change = Json.createObject();
+        change.put(JsonConstants.CHANGE_TYPE, JsonConstants.CHANGE_TYPE_ATTACH);
+        change.put(JsonConstants.CHANGE_NODE, nodeId);
+        return change;
+    }
+
+    private static JsonObject addChildren(int index, int... nodeIds) {
+        JsonObject change = Json.createObject();
+        change.put(JsonConstants.CHANGE_TYPE, JsonConstants.CHANGE_TYPE_SPLICE);
+        change.put(JsonConstants.CHANGE_NODE, 1);
+        change.put(JsonConstants.CHANGE_FEATURE,
+                NodeFeatures.ELEMENT_CHILDREN);
+        change.put(JsonConstants.CHANGE_SPLICE_INDEX, index);
+        JsonArray add = Json.createArray();
+        for (int nodeId : nodeIds) {
+            add.set(add.length(), nodeId);
+        }
+        change.put(JsonConstants.CHANGE_SPLICE_ADD_NODES, add);
+        return change;
+    }
+}
@@ -388,6 +388,103 @@ public class GwtBasicElementBinderTest extends GwtPropertyElementBinderTest {
         assertEquals("second", childElement.getId());
     }
 
+    public void testInsertManyChildren_domOrderMatchesNodeOrder() {
+        children.splice(0, 0, JsCollections.array(createChildNode("a"),
+                createChildNode("b")));
+        Binder.bind(node, element);
+
+        // Many separate splices handled in the same flush
+        int count = 1000;
+        for (int i = 0; i < count; i++) {
+            children.add(i % (children.length() + 1),
+                    createChildNode(String.valueOf(i)));
+        }
+        children.splice(3, 0, JsCollections.array(createChildNode("x"),
+                createChildNode("y"), createChildNode("z")));
+
+        Reactive.flush();
+
+        assertEquals(children.length(), element.getChildElementCount());
+        for (int i = 0; i < children.length(); i++) {
+            assertSame(((StateNode) children.get(i)).getDomNode(),
+                    element.getChildren().item(i));
+        }
+    }
+
+    public void testInsertChildrenAtIndex_existingChildrenKept() {
+        children.splice(0, 0, JsCollections.array(createChildNode("a"),
+                createChildNode("b"), createChildNode("c")));
+        Binder.bind(node, element);
+        Reactive.flush();
+
+        Element first = element.getFirstElementChild();
+        Element last = element.getLastElementChild();
+
+        children.splice(1, 0, JsCollections.array(createChildNode("x"),
+                createChildNode("y"), createChildNode("z")));
+        Reactive.flush();
+
+        assertChildIds("a", "x", "y", "z", "b", "c");
+        assertSame(first, element.getFirstElementChild());
+        assertSame(last, element.getLastElementChild());
+    }
+
+    public void testAppendChildren_appendedInOrder() {
+        children.splice(0, 0, JsCollections.array(createChildNode("a"),
+                createChildNode("b")));
+        Binder.bind(node, element);
+        Reactive.flush();
+
+        children.splice(2, 0, JsCollections.array(createChildNode("c"),
+                createChildNode("d")));
+        children.add(children.length(), createChildNode("e"));
+        children.add(children.length(), createChildNode("f"));
+        Reactive.flush();
+
+        assertChildIds("a", "b", "c", "d", "e", "f");
+    }
+
+    public void testInsertAndRemoveChildren_sameFlush_domOrderMatchesNodeOrder() {
+        children.splice(0, 0,
+                JsCollections.array(createChildNode("a"), createChildNode("b"),
+                        createChildNode("c"), createChildNode("d"),
+                        createChildNode("e")));
+        Binder.bind(node, element);
+        Reactive.flush();
+
+        Element b = (Element) element.getChildren().at(1);
+        Element e = element.getLastElementChild();
+
+        // a, b, c, d, e -> a, c, d, e
+        children.splice(1, 1);
+        // -> x, a, c, d, e
+        children.add(0, createChildNode("x"));
+        // -> x, a, c, d
+        children.splice(4, 1);
+        // -> x, a, y, z, c, d
+        children.splice(2, 0, JsCollections.array(createChildNode("y"),
+                createChildNode("z")));
+        // -> x, a, y, z, c, d, w
+        children.add(children.length(), createChildNode("w"));
+        // -> x, a, y, c, d, w
+        children.splice(3, 1);
+        Reactive.flush();
+
+        assertChildIds("x", "a", "y", "c", "d", "w");
+        assertNull(b.getParentElement());
+        assertNull(e.getParentElement());
+    }
+
+    private void assertChildIds(String... ids) {
+        assertEquals(ids.length, children.length());
+        assertEquals(ids.length, element.getChildElementCount());
+        for (int i = 0; i < ids.length; i++) {
+            Element child = (Element) element.getChildren().at(i);
+            assertEquals(ids[i], child.getId());
+            assertSame(((StateNode) children.get(i)).getDomNode(), child);
+        }
+    }
+
     public void testRemoveChild() {
         Binder.bind(node, element);
 
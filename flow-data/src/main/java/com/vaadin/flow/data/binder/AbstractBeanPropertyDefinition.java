@@ -16,6 +16,12 @@
 package com.vaadin.flow.data.binder;
 
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Objects;
 
 import com.vaadin.flow.internal.ReflectTools;
 import com.vaadin.flow.shared.util.SharedUtil;
@@ -36,6 +42,15 @@ public abstract class AbstractBeanPropertyDefinition<T, V>
     private final PropertyDescriptor descriptor;
     private final BeanPropertySet<T> propertySet;
     private final Class<?> propertyHolderType;
+    private final Class<V> type;
+
+    /*
+     * Method handles created on first use since they are cheaper to invoke
+     * than the reflected methods. Not serialized since the property
+     * definitions are replaced by a serializable representation anyway.
+     */
+    private transient volatile MethodHandle readHandle;
+    private transient volatile MethodHandle writeHandle;
 
     /**
      * Constructor for setting the immutable descriptor, property set and
@@ -48,6 +63,7 @@ public abstract class AbstractBeanPropertyDefinition<T, V>
      * @param descriptor
      *            property descriptor
      */
+    @SuppressWarnings("unchecked")
     public AbstractBeanPropertyDefinition(BeanPropertySet<T> propertySet,
             Class<?> propertyHolderType, PropertyDescriptor descriptor) {
         this.propertySet = propertySet;
@@ -60,13 +76,13 @@ public abstract class AbstractBeanPropertyDefinition<T, V>
                             + propertySet.getBeanType() + "."
                             + descriptor.getName());
         }
+        type = (Class<V>) ReflectTools
+                .convertPrimitiveType(descriptor.getPropertyType());
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public Class<V> getType() {
-        return (Class<V>) ReflectTools
-                .convertPrimitiveType(descriptor.getPropertyType());
+        return type;
     }
 
     @Override
@@ -97,4 +113,93 @@ public abstract class AbstractBeanPropertyDefinition<T, V>
     public Class<?> getPropertyHolderType() {
         return propertyHolderType;
     }
+
+    /**
+     * Reads the value of this property from the given property holder using
+     * the read method of the property descriptor.
+     *
+     * @param holder
+     *            the instance of the property holder type, not
+     *            <code>null</code>
+     * @return the property value
+     */
+    Object readValue(Object holder) {
+        Objects.requireNonNull(holder);
+        Method readMethod = descriptor.getReadMethod();
+        checkHolder(readMethod, holder);
+        MethodHandle handle = readHandle;
+        if (handle == null) {
+            handle = createHandle(readMethod,
+                    MethodType.methodType(Object.class, Object.class));
+            readHandle = handle;
+        }
+        try {
+            return handle.invokeExact(holder);
+        } catch (Throwable throwable) {
+            throw wrapException(throwable);
+        }
+    }
+
+    /**
+     * Writes the value of this property to the given property holder using the
+     * write method of the property descriptor.
+     *
+     * @param holder
+     *            the instance of the property holder type, not
+     *            <code>null</code>
+     * @param value
+     *            the property value to write
+     */
+    void writeValue(Object holder, Object value) {
+        Objects.requireNonNull(holder);
+        Method writeMethod = descriptor.getWriteMethod();
+        checkHolder(writeMethod, holder);
+        if (value == null ? descriptor.getPropertyType().isPrimitive()
+                : !type.isInstance(value)) {
+            throw new IllegalArgumentException("Cannot assign " + value
+                    + " to the property " + getName() + " of type "
+                    + type.getName());
+        }
+        MethodHandle handle = writeHandle;
+        if (handle == null) {
+            handle = createHandle(writeMethod, MethodType
+                    .methodType(void.class, Object.class, Object.class));
+            writeHandle = handle;
+        }
+        try {
+            handle.invokeExact(holder, value);
+        } catch (Throwable throwable) {
+            throw wrapException(throwable);
+        }
+    }
+
+    private static MethodHandle createHandle(Method method, MethodType type) {
+        try {
+            return MethodHandles.lookup().unreflect(method).asType(type);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /*
+     * The argument types are checked before invoking the handle, since its
+     * type conversions would otherwise throw exceptions that cannot be told
+     * apart from ones thrown by the accessor itself.
+     */
+    private static void checkHolder(Method method, Object holder) {
+        if (!method.getDeclaringClass().isInstance(holder)) {
+            throw new IllegalArgumentException(
+                    holder.getClass().getName() + " is not an instance of "
+                            + method.getDeclaringClass().getName());
+        }
+    }
+
+    private static RuntimeException wrapException(Throwable throwable) {
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        // Same wrapping as reflective invocation of the accessor had
+        return new RuntimeException(
+                new InvocationTargetException(throwable));
+    }
 }
@@ -16,11 +16,9 @@
 package com.vaadin.flow.data.binder;
 
 import java.io.Serializable;
-import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -45,6 +43,7 @@ import com.vaadin.flow.component.HasValue;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.HasValue.ValueChangeEvent;
 import com.vaadin.flow.component.HasValue.ValueChangeListener;
+import com.vaadin.flow.data.binder.InstanceFieldBindingPlan.MemberField;
 import com.vaadin.flow.data.converter.Converter;
 import com.vaadin.flow.data.converter.StringToIntegerConverter;
 import com.vaadin.flow.data.validator.BeanValidator;
@@ -2389,15 +2388,14 @@ public class Binder<BEAN> implements Serializable {
      *             types
      */
     public void bindInstanceFields(Object objectWithMemberFields) {
-        Class<?> objectClass = objectWithMemberFields.getClass();
+        // Reflection results are shared by all instances of the same class
+        InstanceFieldBindingPlan plan = InstanceFieldBindingPlan
+                .get(objectWithMemberFields.getClass());
 
-        Integer numberOfBoundFields = getFieldsInDeclareOrder(objectClass)
-                .stream()
-                .filter(memberField -> HasValue.class
-                        .isAssignableFrom(memberField.getType()))
+        Integer numberOfBoundFields = plan.getMemberFields().stream()
                 .filter(memberField -> !isFieldBound(memberField,
                         objectWithMemberFields))
-                .map(memberField -> handleProperty(memberField,
+                .map(memberField -> handleProperty(plan, memberField,
                         objectWithMemberFields,
                         (property, type) -> bindProperty(objectWithMemberFields,
                                 memberField, property, type)))
@@ -2413,11 +2411,11 @@ public class Binder<BEAN> implements Serializable {
 
     }
 
-    private boolean isFieldBound(Field memberField,
+    private boolean isFieldBound(MemberField memberField,
             Object objectWithMemberFields) {
         try {
-            HasValue<?, ?> field = (HasValue<?, ?>) getMemberFieldValue(
-                    memberField, objectWithMemberFields);
+            HasValue<?, ?> field = (HasValue<?, ?>) memberField
+                    .getFieldValue(objectWithMemberFields);
             return bindings.stream()
                     .anyMatch(binding -> binding.getField() == field);
         } catch (Exception e) {
@@ -2430,21 +2428,9 @@ public class Binder<BEAN> implements Serializable {
     }
 
     private BindingBuilder<BEAN, ?> getIncompleteMemberFieldBinding(
-            Field memberField, Object objectWithMemberFields) {
+            MemberField memberField, Object objectWithMemberFields) {
         return incompleteMemberFieldBindings
-                .get(getMemberFieldValue(memberField, objectWithMemberFields));
-    }
-
-    private Object getMemberFieldValue(Field memberField,
-            Object objectWithMemberFields) {
-        memberField.setAccessible(true);
-        try {
-            return memberField.get(objectWithMemberFields);
-        } catch (IllegalArgumentException | IllegalAccessException e) {
-            throw new RuntimeException(e);
-        } finally {
-            memberField.setAccessible(false);
-        }
+                .get(memberField.getFieldValue(objectWithMemberFields));
     }
 
     /**
@@ -2464,23 +2450,20 @@ public class Binder<BEAN> implements Serializable {
      * @return {@code true} if property is successfully bound
      */
     private boolean bindProperty(Object objectWithMemberFields,
-            Field memberField, String property, Class<?> propertyType) {
-        Type valueType = GenericTypeReflector.getTypeParameter(
-                memberField.getGenericType(),
-                HasValue.class.getTypeParameters()[1]);
+            MemberField memberField, String property, Class<?> propertyType) {
+        Type valueType = memberField.getValueType();
         if (valueType == null) {
             throw new IllegalStateException(String.format(
                     "Unable to detect value type for the member '%s' in the "
                             + "class '%s'.",
-                    memberField.getName(),
+                    memberField.getField().getName(),
                     objectWithMemberFields.getClass().getName()));
         }
         if (propertyType.equals(GenericTypeReflector.erase(valueType))) {
             HasValue<?, ?> field;
             // Get the field from the object
             try {
-                field = (HasValue<?, ?>) ReflectTools.getJavaFieldValue(
-                        objectWithMemberFields, memberField, HasValue.class);
+                field = memberField.getValue(objectWithMemberFields);
             } catch (IllegalArgumentException | IllegalAccessException
                     | InvocationTargetException e) {
                 // If we cannot determine the value, just skip the field
@@ -2489,7 +2472,7 @@ public class Binder<BEAN> implements Serializable {
             if (field == null) {
                 field = makeFieldInstance(
                         (Class<? extends HasValue<?, ?>>) memberField
-                                .getType());
+                                .getField().getType());
                 initializeField(objectWithMemberFields, memberField, field);
             }
             forField(field).bind(property);
@@ -2529,44 +2512,23 @@ public class Binder<BEAN> implements Serializable {
         }
     }
 
-    /**
-     * Returns an array containing {@link Field} objects reflecting all the
-     * fields of the class or interface represented by this Class object. The
-     * elements in the array returned are sorted in declare order from sub class
-     * to super class.
-     *
-     * @param searchClass
-     *            class to introspect
-     * @return list of all fields in the class considering hierarchy
-     */
-    private List<Field> getFieldsInDeclareOrder(Class<?> searchClass) {
-        List<Field> memberFieldInOrder = new ArrayList<>();
-
-        while (searchClass != null) {
-            memberFieldInOrder
-                    .addAll(Arrays.asList(searchClass.getDeclaredFields()));
-            searchClass = searchClass.getSuperclass();
-        }
-        return memberFieldInOrder;
-    }
-
     private void initializeField(Object objectWithMemberFields,
-            Field memberField, HasValue<?, ?> value) {
+            MemberField memberField, HasValue<?, ?> value) {
         try {
-            ReflectTools.setJavaFieldValue(objectWithMemberFields, memberField,
-                    value);
+            memberField.setValue(objectWithMemberFields, value);
         } catch (IllegalArgumentException e) {
             throw new IllegalStateException(
                     String.format("Could not assign value to field '%s'",
-                            memberField.getName()),
+                            memberField.getField().getName()),
                     e);
         }
     }
 
-    private boolean handleProperty(Field field, Object objectWithMemberFields,
+    private boolean handleProperty(InstanceFieldBindingPlan plan,
+            MemberField field, Object objectWithMemberFields,
             BiFunction<String, Class<?>, Boolean> propertyHandler) {
-        Optional<PropertyDefinition<BEAN, ?>> descriptor = getPropertyDescriptor(
-                field);
+        Optional<PropertyDefinition<BEAN, ?>> descriptor = plan
+                .getProperty(field, propertySet);
 
         if (!descriptor.isPresent()) {
             return false;
@@ -2605,29 +2567,6 @@ public class Binder<BEAN> implements Serializable {
         return Optional.ofNullable(boundProperties.get(propertyName));
     }
 
-    private Optional<PropertyDefinition<BEAN, ?>> getPropertyDescriptor(
-            Field field) {
-        PropertyId propertyIdAnnotation = field.getAnnotation(PropertyId.class);
-
-        String propertyId;
-        if (propertyIdAnnotation != null) {
-            // @PropertyId(propertyId) always overrides property id
-            propertyId = propertyIdAnnotation.value();
-        } else {
-            propertyId = field.getName();
-        }
-
-        String minifiedFieldName = minifyFieldName(propertyId);
-
-        return propertySet.getProperties().map(PropertyDefinition::getName)
-                .filter(name -> minifyFieldName(name).equals(minifiedFieldName))
-                .findFirst().flatMap(propertySet::getProperty);
-    }
-
-    private String minifyFieldName(String fieldName) {
-        return fieldName.toLowerCase(Locale.ENGLISH).replace("_", "");
-    }
-
     /**
      * Returns the fields this binder has been bound to.
      *
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.binder;
+
+import java.beans.IntrospectionException;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.googlecode.gentyref.GenericTypeReflector;
+import com.vaadin.flow.component.HasValue;
+import com.vaadin.flow.internal.ReflectionCache;
+
+/**
+ * The reflection results needed by {@link Binder#bindInstanceFields(Object)}
+ * for one class of objects with member fields.
+ * <p>
+ * The member fields, their accessors, value types and property ids are
+ * resolved once per class. The bean property matching each member field is
+ * additionally resolved once per {@link BeanPropertySet}, since those are
+ * shared by all binders for the same bean type.
+ *
+ * @author Vaadin Ltd
+ */
+final class InstanceFieldBindingPlan {
+
+    private static final ReflectionCache<Object, InstanceFieldBindingPlan> plans = new ReflectionCache<>(
+            InstanceFieldBindingPlan::new);
+
+    /**
+     * A member field of type {@link HasValue} with pre-resolved accessors.
+     */
+    static final class MemberField {
+        private final int index;
+        private final Field field;
+        private final Method getter;
+        private final String propertyId;
+        private final Type valueType;
+
+        private MemberField(int index, Field field, Method getter) {
+            this.index = index;
+            this.field = field;
+            this.getter = getter;
+
+            PropertyId propertyIdAnnotation = field
+                    .getAnnotation(PropertyId.class);
+            if (propertyIdAnnotation != null) {
+                // @PropertyId(propertyId) always overrides property id
+                propertyId = propertyIdAnnotation.value();
+            } else {
+                propertyId = field.getName();
+            }
+
+            valueType = GenericTypeReflector.getTypeParameter(
+                    field.getGenericType(),
+                    HasValue.class.getTypeParameters()[1]);
+        }
+
+        /**
+         * Gets the reflected member field.
+         *
+         * @return the member field, not <code>null</code>
+         */
+        Field getField() {
+            return field;
+        }
+
+        /**
+         * Gets the value type of the {@link HasValue} type of the member
+         * field.
+         *
+         * @return the value type, or <code>null</code> if it cannot be
+         *         detected
+         */
+        Type getValueType() {
+            return valueType;
+        }
+
+        /**
+         * Reads the member field directly, without using a getter.
+         *
+         * @param objectWithMemberFields
+         *            the object to read from
+         * @return the field value
+         */
+        Object getFieldValue(Object objectWithMemberFields) {
+            try {
+                return field.get(objectWithMemberFields);
+            } catch (IllegalArgumentException | IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        /**
+         * Reads the member field using its getter if there is one, otherwise
+         * directly.
+         *
+         * @param objectWithMemberFields
+         *            the object to read from
+         * @return the field value
+         * @throws IllegalAccessException
+         *             if the value could not be retrieved
+         * @throws InvocationTargetException
+         *             if the getter throws
+         */
+        HasValue<?, ?> getValue(Object objectWithMemberFields)
+                throws IllegalAccessException, InvocationTargetException {
+            if (getter != null) {
+                return (HasValue<?, ?>) getter.invoke(objectWithMemberFields);
+            }
+            return (HasValue<?, ?>) field.get(objectWithMemberFields);
+        }
+
+        /**
+         * Assigns the member field directly.
+         *
+         * @param objectWithMemberFields
+         *            the object to write to
+         * @param value
+         *            the new field value
+         * @throws IllegalArgumentException
+         *             if the value cannot be assigned
+         */
+        void setValue(Object objectWithMemberFields, HasValue<?, ?> value) {
+            try {
+                field.set(objectWithMemberFields, value);
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException(
+                        "Unable to assign the new value to the field "
+                                + field.getName() + " in "
+                                + objectWithMemberFields.getClass().getName()
+                                + ". Make sure the field is not final.",
+                        e);
+            }
+        }
+    }
+
+    private final List<MemberField> memberFields;
+
+    // Property names by member field index for shared bean property sets
+    private final ConcurrentMap<PropertySet<?>, String[]> propertyNames = new ConcurrentHashMap<>();
+
+    private InstanceFieldBindingPlan(Class<?> type) {
+        List<MemberField> fields = new ArrayList<>();
+        // Fields are in declare order from sub class to super class
+        for (Class<?> searchClass = type; searchClass != null; searchClass = searchClass
+                .getSuperclass()) {
+            for (Field field : searchClass.getDeclaredFields()) {
+                if (HasValue.class.isAssignableFrom(field.getType())) {
+                    field.setAccessible(true);
+                    fields.add(new MemberField(fields.size(), field,
+                            findGetter(type, field)));
+                }
+            }
+        }
+        memberFields = Collections.unmodifiableList(fields);
+    }
+
+    /**
+     * Gets the binding plan for the given class.
+     *
+     * @param type
+     *            the class of the object with member fields, not
+     *            <code>null</code>
+     * @return the binding plan, not <code>null</code>
+     */
+    static InstanceFieldBindingPlan get(Class<?> type) {
+        return plans.get(type);
+    }
+
+    /**
+     * Gets the member fields of type {@link HasValue}, in declare order from
+     * sub class to super class.
+     *
+     * @return an unmodifiable list of member fields
+     */
+    List<MemberField> getMemberFields() {
+        return memberFields;
+    }
+
+    /**
+     * Finds the property that the given member field should be bound to.
+     *
+     * @param memberField
+     *            the member field
+     * @param propertySet
+     *            the property set to search
+     * @return the matching property definition, or an empty optional if there
+     *         is no property for the member field
+     */
+    <BEAN> Optional<PropertyDefinition<BEAN, ?>> getProperty(
+            MemberField memberField, PropertySet<BEAN> propertySet) {
+        String propertyName;
+        if (propertySet instanceof BeanPropertySet) {
+            propertyName = propertyNames.computeIfAbsent(propertySet,
+                    this::resolvePropertyNames)[memberField.index];
+        } else {
+            // Custom property sets are not necessarily shared
+            propertyName = resolvePropertyName(memberField, propertySet);
+        }
+        if (propertyName == null) {
+            return Optional.empty();
+        }
+        return propertySet.getProperty(propertyName);
+    }
+
+    private String[] resolvePropertyNames(PropertySet<?> propertySet) {
+        String[] names = new String[memberFields.size()];
+        for (MemberField memberField : memberFields) {
+            names[memberField.index] = resolvePropertyName(memberField,
+                    propertySet);
+        }
+        return names;
+    }
+
+    private static String resolvePropertyName(MemberField memberField,
+            PropertySet<?> propertySet) {
+        String minifiedFieldName = minifyFieldName(memberField.propertyId);
+        return propertySet.getProperties().map(PropertyDefinition::getName)
+                .filter(name -> minifyFieldName(name).equals(minifiedFieldName))
+                .findFirst().orElse(null);
+    }
+
+    private static String minifyFieldName(String fieldName) {
+        return fieldName.toLowerCase(Locale.ENGLISH).replace("_", "");
+    }
+
+    private static Method findGetter(Class<?> type, Field field) {
+        try {
+            PropertyDescriptor descriptor = new PropertyDescriptor(
+                    field.getName(), type);
+            if (HasValue.class
+                    .isAssignableFrom(descriptor.getPropertyType())) {
+                return descriptor.getReadMethod();
+            }
+        } catch (IntrospectionException e) {
+            // Ignore this and get directly using the field
+        }
+        return null;
+    }
+}
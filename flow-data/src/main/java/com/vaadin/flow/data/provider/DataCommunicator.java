@@ -20,6 +20,8 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -27,6 +29,7 @@ import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import com.vaadin.flow.data.provider.ArrayUpdater.Update;
@@ -53,6 +56,12 @@ import elemental.json.JsonValue;
  *
  */
 public class DataCommunicator<T> {
+    /**
+     * The default maximum number of fetched pages to keep when fetching items
+     * in pages.
+     */
+    public static final int DEFAULT_MAX_CACHED_PAGES = 16;
+
     private final DataGenerator<T> dataGenerator;
     private final ArrayUpdater arrayUpdater;
     private final SerializableConsumer<JsonArray> dataUpdater;
@@ -70,6 +79,22 @@ public class DataCommunicator<T> {
     // Last total size value sent to the client
     private int assumedSize;
 
+    // Whether assumedSize is an estimate
+    private boolean sizeEstimated;
+
+    // Size to assume until the exact size is known, 0 to always count
+    private int estimatedSize;
+
+    // Items fetched in page sized chunks, 0 to fetch exactly what is missing
+    private int pageSize;
+    private int prefetchPages;
+    private int maxCachedPages = DEFAULT_MAX_CACHED_PAGES;
+    private boolean fetchingBackwards;
+
+    // Pages fetched using the current filter and sort order
+    private final LinkedHashMap<Integer, List<T>> fetchedPages = new LinkedHashMap<>(
+            16, 0.75f, true);
+
     private boolean resendEntireRange = true;
     private boolean assumeEmptyClient = true;
 
@@ -78,6 +103,9 @@ public class DataCommunicator<T> {
     // Keys that can be discarded once some specific update id gets confirmed
     private final Map<Integer, Set<String>> passivatedByUpdate = new HashMap<>();
 
+    // Reverse index of passivatedByUpdate
+    private final Map<String, Integer> passivatedUpdateByKey = new HashMap<>();
+
     // Update ids that have been confirmed since the last flush
     private final Set<Integer> confirmedUpdates = new HashSet<>();
 
@@ -139,6 +167,7 @@ public class DataCommunicator<T> {
      */
     public void reset() {
         resendEntireRange = true;
+        fetchedPages.clear();
 
         requestFlush();
     }
@@ -154,6 +183,7 @@ public class DataCommunicator<T> {
                 "DataCommunicator can not refresh null object");
         getKeyMapper().refresh(data);
         dataGenerator.refreshData(data);
+        refreshFetchedPages(data);
         updatedData.add(data);
         requestFlushUpdatedData();
     }
@@ -227,6 +257,130 @@ public class DataCommunicator<T> {
         };
     }
 
+    /**
+     * Sets the number of items to fetch from the data provider at a time.
+     * <p>
+     * When the page size is positive, items are fetched in page aligned chunks
+     * and the fetched pages are kept so that scrolling back and forth does not
+     * query the data provider again for the same items. The pages are
+     * discarded whenever the data is {@link #reset() reset}, e.g. when the
+     * filter or the sort order changes. By default, the page size is
+     * <code>0</code> which means that exactly the missing items are fetched.
+     *
+     * @param pageSize
+     *            the number of items in a page, or <code>0</code> to not fetch
+     *            items in pages
+     */
+    public void setPageSize(int pageSize) {
+        if (pageSize < 0) {
+            throw new IllegalArgumentException(
+                    "Page size cannot be negative: " + pageSize);
+        }
+        this.pageSize = pageSize;
+        fetchedPages.clear();
+    }
+
+    /**
+     * Gets the number of items to fetch from the data provider at a time.
+     *
+     * @return the number of items in a page, or <code>0</code> if items are
+     *         not fetched in pages
+     * @see #setPageSize(int)
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Sets the number of additional pages to fetch in the scroll direction
+     * whenever items are fetched from the data provider. The additional pages
+     * are fetched using the same query as the requested items. Has no effect
+     * unless a {@link #setPageSize(int) page size} has been set.
+     *
+     * @param prefetchPages
+     *            the number of pages to fetch ahead, not negative
+     */
+    public void setPrefetchPages(int prefetchPages) {
+        if (prefetchPages < 0) {
+            throw new IllegalArgumentException(
+                    "Prefetch page count cannot be negative: " + prefetchPages);
+        }
+        this.prefetchPages = prefetchPages;
+    }
+
+    /**
+     * Gets the number of additional pages to fetch in the scroll direction.
+     *
+     * @return the number of pages to fetch ahead
+     * @see #setPrefetchPages(int)
+     */
+    public int getPrefetchPages() {
+        return prefetchPages;
+    }
+
+    /**
+     * Sets the maximum number of fetched pages to keep. The least recently
+     * used pages are discarded first. The default value is
+     * {@value #DEFAULT_MAX_CACHED_PAGES}.
+     *
+     * @param maxCachedPages
+     *            the maximum number of pages to keep, not negative
+     */
+    public void setMaxCachedPages(int maxCachedPages) {
+        if (maxCachedPages < 0) {
+            throw new IllegalArgumentException(
+                    "Maximum cached page count cannot be negative: "
+                            + maxCachedPages);
+        }
+        this.maxCachedPages = maxCachedPages;
+        evictFetchedPages();
+    }
+
+    /**
+     * Gets the maximum number of fetched pages to keep.
+     *
+     * @return the maximum number of pages to keep
+     * @see #setMaxCachedPages(int)
+     */
+    public int getMaxCachedPages() {
+        return maxCachedPages;
+    }
+
+    /**
+     * Sets the size to report to the client instead of querying the exact size
+     * from the data provider.
+     * <p>
+     * When an estimated size is set, the exact size is only determined once
+     * fetching items reaches the end of the data. Until then, the reported
+     * size is increased by the estimated size whenever the requested range
+     * gets close to it. Has no effect unless a {@link #setPageSize(int) page
+     * size} has been set.
+     *
+     * @param estimatedSize
+     *            the initial size to assume, or <code>0</code> to always query
+     *            the exact size
+     */
+    public void setEstimatedSize(int estimatedSize) {
+        if (estimatedSize < 0) {
+            throw new IllegalArgumentException(
+                    "Estimated size cannot be negative: " + estimatedSize);
+        }
+        this.estimatedSize = estimatedSize;
+        reset();
+    }
+
+    /**
+     * Gets the size to report to the client instead of querying the exact
+     * size.
+     *
+     * @return the initial size to assume, or <code>0</code> if the exact size
+     *         is always queried
+     * @see #setEstimatedSize(int)
+     */
+    public int getEstimatedSize() {
+        return estimatedSize;
+    }
+
     /**
      * Gets the {@link DataKeyMapper} used by this {@link DataCommunicator}. Key
      * mapper can be used to map keys sent to the client-side back to their
@@ -357,10 +511,16 @@ public class DataCommunicator<T> {
     }
 
     private void flush() {
-        Set<String> oldActive = new HashSet<>(activeKeyOrder);
+        fetchingBackwards = requestedRange.getStart() < activeStart;
+        int previousSize = assumedSize;
 
         if (resendEntireRange) {
-            assumedSize = getDataProviderSize();
+            sizeEstimated = estimatedSize > 0 && pageSize > 0;
+            assumedSize = sizeEstimated ? estimatedSize
+                    : getDataProviderSize();
+        }
+        if (sizeEstimated) {
+            updateEstimatedSize();
         }
 
         final Range previousActive = Range.withLength(activeStart,
@@ -371,6 +531,7 @@ public class DataCommunicator<T> {
         resendEntireRange |= !previousActive.intersects(effectiveRequested);
 
         // Phase 1: Find all items that the client should have
+        List<String> previousActiveKeyOrder = activeKeyOrder;
         List<String> newActiveKeyOrder = collectKeysToFlush(previousActive,
                 effectiveRequested);
 
@@ -381,13 +542,18 @@ public class DataCommunicator<T> {
         Update update = arrayUpdater.startUpdate(assumedSize);
         boolean updated = collectChangesToSend(previousActive,
                 effectiveRequested, update);
+        // An estimated size may change without any changes to the items
+        updated |= assumedSize != previousSize;
+
+        // Phase 3: passivate anything that isn't longer active
+        if (updated) {
+            passivateInactiveKeys(previousActive, previousActiveKeyOrder,
+                    update);
+        }
 
         resendEntireRange = false;
         assumeEmptyClient = false;
 
-        // Phase 3: passivate anything that isn't longer active
-        passivateInactiveKeys(oldActive, newActiveKeyOrder, update, updated);
-
         // Phase 4: unregister passivated and updated items
         unregisterPassivatedKeys();
     }
@@ -416,6 +582,7 @@ public class DataCommunicator<T> {
         Set<String> passivated = passivatedByUpdate.remove(updateId);
         if (passivated != null) {
             passivated.forEach(key -> {
+                passivatedUpdateByKey.remove(key);
                 T item = keyMapper.get(key);
                 dataGenerator.destroyData(item);
                 keyMapper.remove(item);
@@ -423,23 +590,48 @@ public class DataCommunicator<T> {
         }
     }
 
-    private void passivateInactiveKeys(Set<String> oldActive,
-            List<String> newActiveKeyOrder, Update update, boolean updated) {
+    private void passivateInactiveKeys(Range previousActive,
+            List<String> previousActiveKeyOrder, Update update) {
         /*
          * We cannot immediately unregister keys that we have asked the client
          * to remove, since the client might send a message using that key
          * before our message about removal arrives at the client and is
          * applied.
          */
-        if (updated) {
-            int updateId = nextUpdateId++;
-            update.commit(updateId);
+        int updateId = nextUpdateId++;
+        update.commit(updateId);
 
-            // Finally clear any passivated items that have now been confirmed
-            oldActive.removeAll(newActiveKeyOrder);
-            if (!oldActive.isEmpty()) {
-                passivatedByUpdate.put(Integer.valueOf(updateId), oldActive);
+        Set<String> passivated;
+        if (resendEntireRange) {
+            passivated = new HashSet<>(previousActiveKeyOrder);
+            activeKeyOrder.forEach(passivated::remove);
+        } else {
+            /*
+             * Only the items that have been dropped from either end of the
+             * active range need to be checked, excluding any of them that have
+             * been activated again at the other end.
+             */
+            Range currentActive = Range.withLength(activeStart,
+                    activeKeyOrder.size());
+            Set<String> dropped = new HashSet<>();
+            withMissing(previousActive, currentActive,
+                    range -> dropped.addAll(previousActiveKeyOrder.subList(
+                            range.getStart() - previousActive.getStart(),
+                            range.getEnd() - previousActive.getStart())));
+            if (!dropped.isEmpty()) {
+                withMissing(currentActive, previousActive,
+                        range -> activeKeyOrder
+                                .subList(range.getStart() - activeStart,
+                                        range.getEnd() - activeStart)
+                                .forEach(dropped::remove));
             }
+            passivated = dropped;
+        }
+
+        if (!passivated.isEmpty()) {
+            Integer id = Integer.valueOf(updateId);
+            passivatedByUpdate.put(id, passivated);
+            passivated.forEach(key -> passivatedUpdateByKey.put(key, id));
         }
     }
 
@@ -537,18 +729,151 @@ public class DataCommunicator<T> {
 
         // XXX Explicitly refresh anything that is updated
         List<String> activeKeys = new ArrayList<>(range.length());
-        fetchFromProvider(range.getStart(), range.length()).forEach(bean -> {
+        Stream<T> items = pageSize > 0 ? fetchPages(range).stream()
+                : fetchFromProvider(range.getStart(), range.length());
+        items.forEach(bean -> {
             boolean mapperHasKey = keyMapper.has(bean);
             String key = keyMapper.key(bean);
             if (mapperHasKey) {
-                passivatedByUpdate.values().stream()
-                        .forEach(set -> set.remove(key));
+                unpassivate(key);
             }
             activeKeys.add(key);
         });
         return activeKeys;
     }
 
+    private void updateEstimatedSize() {
+        /*
+         * Fetch the last requested page to find out whether the end of the
+         * data has been reached.
+         */
+        Range requested = requestedRange
+                .restrictTo(Range.withLength(0, assumedSize));
+        if (!requested.isEmpty()) {
+            fetchPages(Range.withLength(requested.getEnd() - 1, 1));
+        }
+        if (sizeEstimated
+                && requestedRange.getEnd() + pageSize > assumedSize) {
+            assumedSize += estimatedSize;
+        }
+    }
+
+    private List<T> fetchPages(Range range) {
+        int firstPage = range.getStart() / pageSize;
+        int lastPage = (range.getEnd() - 1) / pageSize;
+
+        int fetchFirst = firstPage;
+        int fetchLast = lastPage;
+        // Pages ahead are only fetched along with some missing page
+        boolean missing = IntStream.rangeClosed(firstPage, lastPage).anyMatch(
+                page -> !fetchedPages.containsKey(Integer.valueOf(page)));
+        if (missing && fetchingBackwards) {
+            fetchFirst = Math.max(0, firstPage - prefetchPages);
+        } else if (missing) {
+            fetchLast = lastPage + prefetchPages;
+            if (!sizeEstimated) {
+                fetchLast = Math.min(fetchLast,
+                        Math.max(lastPage, (assumedSize - 1) / pageSize));
+            }
+        }
+
+        Map<Integer, List<T>> pages = new HashMap<>();
+        int page = fetchFirst;
+        while (page <= fetchLast) {
+            List<T> cached = fetchedPages.get(Integer.valueOf(page));
+            if (cached != null) {
+                pages.put(Integer.valueOf(page), cached);
+                page++;
+                continue;
+            }
+
+            // Fetch all consecutive missing pages using one query
+            int last = page;
+            while (last < fetchLast
+                    && !fetchedPages.containsKey(Integer.valueOf(last + 1))) {
+                last++;
+            }
+            int offset = page * pageSize;
+            int limit = (last - page + 1) * pageSize;
+            List<T> items = fetchFromProvider(offset, limit)
+                    .collect(Collectors.toList());
+            for (int i = page; i <= last; i++) {
+                int start = Math.min((i - page) * pageSize, items.size());
+                int end = Math.min(start + pageSize, items.size());
+                List<T> pageItems = new ArrayList<>(items.subList(start, end));
+                pages.put(Integer.valueOf(i), pageItems);
+                fetchedPages.put(Integer.valueOf(i), pageItems);
+            }
+            evictFetchedPages();
+
+            if (items.size() < limit) {
+                endReached(offset, items.size());
+                break;
+            }
+            page = last + 1;
+        }
+
+        List<T> result = new ArrayList<>(range.length());
+        for (page = firstPage; page <= lastPage; page++) {
+            List<T> pageItems = pages.get(Integer.valueOf(page));
+            if (pageItems == null) {
+                // Beyond the end of the data
+                break;
+            }
+            int pageStart = page * pageSize;
+            int from = Math.max(range.getStart() - pageStart, 0);
+            int to = Math.min(range.getEnd() - pageStart, pageItems.size());
+            if (from >= to) {
+                break;
+            }
+            result.addAll(pageItems.subList(from, to));
+        }
+        return result;
+    }
+
+    private void endReached(int offset, int count) {
+        if (!sizeEstimated) {
+            return;
+        }
+        sizeEstimated = false;
+        if (count > 0 || offset == 0) {
+            assumedSize = offset + count;
+        } else {
+            // Only known that the end is somewhere before the offset
+            assumedSize = getDataProviderSize();
+        }
+    }
+
+    private void evictFetchedPages() {
+        Iterator<Integer> iterator = fetchedPages.keySet().iterator();
+        while (fetchedPages.size() > maxCachedPages && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private void refreshFetchedPages(T data) {
+        if (fetchedPages.isEmpty()) {
+            return;
+        }
+        Object id = getDataProvider().getId(data);
+        fetchedPages.values().forEach(page -> page.replaceAll(
+                item -> Objects.equals(id, getDataProvider().getId(item))
+                        ? data
+                        : item));
+    }
+
+    private void unpassivate(String key) {
+        Integer updateId = passivatedUpdateByKey.remove(key);
+        if (updateId != null) {
+            Set<String> passivated = passivatedByUpdate.get(updateId);
+            passivated.remove(key);
+            if (passivated.isEmpty()) {
+                passivatedByUpdate.remove(updateId);
+            }
+        }
+    }
+
     private JsonValue generateJson(T item) {
         JsonObject json = Json.createObject();
         json.put("key", getKeyMapper().key(item));
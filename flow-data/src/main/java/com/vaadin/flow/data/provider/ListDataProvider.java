@@ -16,9 +16,15 @@
 package com.vaadin.flow.data.provider;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.vaadin.flow.function.SerializableComparator;
@@ -26,6 +32,23 @@ import com.vaadin.flow.function.SerializablePredicate;
 
 /**
  * {@link DataProvider} wrapper for {@link Collection}s.
+ * <p>
+ * The filtered and sorted items are cached for the most recently used
+ * combinations of query filter and in-memory sorting so that fetching
+ * consecutive pages and querying the size does not filter and sort the whole
+ * collection again. Items are only cached for query filters that have already
+ * been used in an earlier query, since e.g. the filters created by
+ * {@link #filteringBy(com.vaadin.flow.function.SerializableBiPredicate)} are
+ * different for every query.
+ * <p>
+ * The cache is cleared by {@link #refreshAll()} and
+ * {@link #refreshItem(Object)}, and when the size of the backing collection
+ * changes. <b>Note:</b> other changes to the backing collection, such as
+ * replacing an item or changing item properties that affect filtering or
+ * sorting, are not visible in cached queries until {@link #refreshAll()} or
+ * {@link #refreshItem(Object)} is called. Earlier versions of this class
+ * filtered and sorted the collection again for every query, so such changes
+ * used to be visible right away.
  *
  * @param <T>
  *            data type
@@ -34,18 +57,69 @@ public class ListDataProvider<T>
         extends AbstractDataProvider<T, SerializablePredicate<T>>
         implements InMemoryDataProvider<T> {
 
+    /**
+     * The maximum number of filtered and sorted views of the items to cache.
+     */
+    private static final int MAX_CACHED_VIEWS = 4;
+
+    /**
+     * The maximum number of recently used query filters to remember when
+     * deciding whether to cache items for a filter.
+     */
+    private static final int MAX_SEEN_FILTERS = 16;
+
     private SerializableComparator<T> sortOrder = null;
 
     private SerializablePredicate<T> filter;
 
     private final Collection<T> backend;
 
+    /*
+     * Filtered and sorted items by the query filter and in-memory sorting they
+     * were created for. Not serialized since the query parts might not be.
+     */
+    private transient Map<ViewKey, List<T>> views;
+
+    // Recently used query filters, views are only created for these
+    private transient Map<Object, Boolean> seenFilters;
+
+    // Size of the backing collection when the views were created
+    private transient int backendSize;
+
+    private static final class ViewKey {
+        private final Object filter;
+        private final Comparator<?> comparator;
+
+        private ViewKey(Object filter, Comparator<?> comparator) {
+            this.filter = filter;
+            this.comparator = comparator;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof ViewKey)) {
+                return false;
+            }
+            ViewKey other = (ViewKey) obj;
+            return Objects.equals(filter, other.filter)
+                    && Objects.equals(comparator, other.comparator);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(filter, comparator);
+        }
+    }
+
     /**
      * Constructs a new ListDataProvider.
      * <p>
      * No protective copy is made of the list, and changes in the provided
-     * backing Collection will be visible via this data provider. The caller
-     * should copy the list if necessary.
+     * backing Collection will be visible via this data provider after
+     * {@link #refreshAll()} has been called. Changes that do not change the
+     * size of the collection might not be visible before that, since the
+     * filtered and sorted items are cached. The caller should copy the list if
+     * necessary.
      *
      * @param items
      *            the initial data, not null
@@ -67,23 +141,102 @@ public class ListDataProvider<T>
 
     @Override
     public Stream<T> fetch(Query<T, SerializablePredicate<T>> query) {
+        List<T> view = getView(query, query.getInMemorySorting());
+        if (view == null) {
+            return getSortedStream(query, query.getInMemorySorting())
+                    .skip(query.getOffset()).limit(query.getLimit());
+        }
+
+        int from = Math.min(query.getOffset(), view.size());
+        int to = (int) Math.min((long) from + query.getLimit(), view.size());
+        return view.subList(from, to).stream();
+    }
+
+    @Override
+    public int size(Query<T, SerializablePredicate<T>> query) {
+        Object queryFilter = query.getFilter().orElse(null);
+        synchronized (this) {
+            if (views == null || backend.size() != backendSize) {
+                clearViews();
+            }
+            // Any sort order of the same filtered items has the same size
+            for (Map.Entry<ViewKey, List<T>> entry : views.entrySet()) {
+                if (Objects.equals(queryFilter, entry.getKey().filter)) {
+                    return entry.getValue().size();
+                }
+            }
+            // Counting is cheaper than creating a view, which is only created
+            // when the items are fetched with the same filter
+            rememberFilter(queryFilter);
+        }
+        return (int) getFilteredStream(query).count();
+    }
+
+    @Override
+    public void refreshAll() {
+        clearViews();
+        super.refreshAll();
+    }
+
+    @Override
+    public void refreshItem(T item) {
+        // The item might now be filtered or sorted differently
+        clearViews();
+        super.refreshItem(item);
+    }
+
+    /*
+     * Gets the cached view for the query, creating it if the query filter has
+     * been used before. Returns null if the items should not be cached.
+     */
+    private List<T> getView(Query<T, SerializablePredicate<T>> query,
+            Comparator<T> inMemorySorting) {
+        Object queryFilter = query.getFilter().orElse(null);
+        ViewKey key = new ViewKey(queryFilter, inMemorySorting);
+        Map<ViewKey, List<T>> currentViews;
+        synchronized (this) {
+            if (views == null || backend.size() != backendSize) {
+                clearViews();
+            }
+            currentViews = views;
+            List<T> view = currentViews.get(key);
+            if (view != null) {
+                return view;
+            }
+            if (!rememberFilter(queryFilter)) {
+                // Filter not used before, caching would probably be wasted
+                return null;
+            }
+        }
+
+        List<T> view = Collections.unmodifiableList(
+                getSortedStream(query, inMemorySorting)
+                        .collect(Collectors.toList()));
+        synchronized (this) {
+            // Views cleared while sorting must not get stale items
+            if (currentViews != views) {
+                return view;
+            }
+            views.put(key, view);
+            removeEldest(views, MAX_CACHED_VIEWS);
+        }
+        return view;
+    }
+
+    private Stream<T> getSortedStream(
+            Query<T, SerializablePredicate<T>> query,
+            Comparator<T> inMemorySorting) {
         Stream<T> stream = getFilteredStream(query);
 
         Optional<Comparator<T>> comparing = Stream
-                .of(query.getInMemorySorting(), sortOrder)
+                .of(inMemorySorting, sortOrder)
                 .filter(Objects::nonNull)
                 .reduce((c1, c2) -> c1.thenComparing(c2));
 
         if (comparing.isPresent()) {
             stream = stream.sorted(comparing.get());
         }
-
-        return stream.skip(query.getOffset()).limit(query.getLimit());
-    }
-
-    @Override
-    public int size(Query<T, SerializablePredicate<T>> query) {
-        return (int) getFilteredStream(query).count();
+        return stream;
     }
 
     private Stream<T> getFilteredStream(
@@ -101,6 +254,33 @@ public class ListDataProvider<T>
         return stream;
     }
 
+    /*
+     * Marks the query filter as recently used. Returns whether it had already
+     * been used before.
+     */
+    private boolean rememberFilter(Object queryFilter) {
+        assert Thread.holdsLock(this);
+        if (seenFilters.put(queryFilter, Boolean.TRUE) == null) {
+            removeEldest(seenFilters, MAX_SEEN_FILTERS);
+            return false;
+        }
+        return true;
+    }
+
+    private static void removeEldest(Map<?, ?> map, int maxSize) {
+        Iterator<?> iterator = map.keySet().iterator();
+        while (map.size() > maxSize) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private synchronized void clearViews() {
+        views = new LinkedHashMap<>(16, 0.75f, true);
+        seenFilters = new LinkedHashMap<>(16, 0.75f, true);
+        backendSize = backend.size();
+    }
+
     @Override
     public SerializableComparator<T> getSortComparator() {
         return sortOrder;
@@ -15,10 +15,13 @@
  */
 package com.vaadin.data.provider;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -29,6 +32,7 @@ import com.vaadin.flow.data.provider.Query;
 import com.vaadin.flow.data.provider.QuerySortOrder;
 import com.vaadin.flow.data.provider.SortDirection;
 import com.vaadin.flow.function.SerializableComparator;
+import com.vaadin.flow.function.SerializablePredicate;
 
 public class ListDataProviderTest
         extends DataProviderTestBase<ListDataProvider<StrBean>> {
@@ -236,6 +240,127 @@ public class ListDataProviderTest
         assertSizeWithFilter(0, filteringBy, "oo");
     }
 
+    @Test
+    public void fetchPages_sameQueryParts_sortedOnce() {
+        AtomicInteger comparisons = new AtomicInteger();
+        SerializableComparator<StrBean> comparator = (bean1, bean2) -> {
+            comparisons.incrementAndGet();
+            return Integer.compare(bean1.getId(), bean2.getId());
+        };
+        SerializablePredicate<StrBean> filter = bean -> bean.getId() >= 50;
+
+        // The size is queried first, which makes the first page cached
+        Assert.assertEquals(49,
+                dataProvider.size(new Query<>(0, Integer.MAX_VALUE, null,
+                        null, filter)));
+        List<StrBean> firstPage = dataProvider
+                .fetch(new Query<>(0, 10, null, comparator, filter))
+                .collect(Collectors.toList());
+        int sortComparisons = comparisons.get();
+        List<StrBean> secondPage = dataProvider
+                .fetch(new Query<>(10, 10, null, comparator, filter))
+                .collect(Collectors.toList());
+
+        Assert.assertEquals(sortComparisons, comparisons.get());
+        Assert.assertEquals(50, firstPage.get(0).getId());
+        Assert.assertEquals(60, secondPage.get(0).getId());
+        Assert.assertEquals(49,
+                dataProvider.size(new Query<>(0, Integer.MAX_VALUE, null,
+                        null, filter)));
+        Assert.assertEquals(sortComparisons, comparisons.get());
+    }
+
+    @Test
+    public void fetch_offsetBeyondSize_empty() {
+        Assert.assertEquals(0, dataProvider
+                .fetch(new Query<>(200, 10, null, null, null)).count());
+        Assert.assertEquals(5, dataProvider
+                .fetch(new Query<>(95, 10, null, null, null)).count());
+    }
+
+    @Test
+    public void refreshAll_itemsChanged_changesVisible() {
+        SerializablePredicate<StrBean> filter = bean -> bean.getId() < 10;
+        Assert.assertEquals(10, dataProvider
+                .size(new Query<>(0, Integer.MAX_VALUE, null, null, filter)));
+        // Cache the filtered items
+        Assert.assertEquals(10, dataProvider
+                .fetch(new Query<>(0, Integer.MAX_VALUE, null, null, filter))
+                .count());
+
+        data.set(1, new StrBean("Foo", 1000, 2));
+        Assert.assertEquals(
+                "Items replaced without a refresh should not be noticed", 10,
+                dataProvider.size(new Query<>(0, Integer.MAX_VALUE, null,
+                        null, filter)));
+
+        dataProvider.refreshAll();
+        Assert.assertEquals(9, dataProvider
+                .size(new Query<>(0, Integer.MAX_VALUE, null, null, filter)));
+
+        data.add(new StrBean("Foo", 5, 2));
+        Assert.assertEquals("Size change of the collection should be noticed",
+                10, dataProvider.size(new Query<>(0, Integer.MAX_VALUE, null,
+                        null, filter)));
+    }
+
+    @Test
+    public void filteringWrapper_newFilterForEveryQuery_notCached() {
+        AtomicInteger streams = new AtomicInteger();
+        List<StrBean> items = new ArrayList<StrBean>(data) {
+            @Override
+            public Stream<StrBean> stream() {
+                streams.incrementAndGet();
+                return super.stream();
+            }
+        };
+        ListDataProvider<StrBean> provider = new ListDataProvider<>(items);
+
+        // Unfiltered items are cached since the filter is used again
+        provider.size(new Query<>());
+        provider.fetch(new Query<>()).count();
+        int streamsWhenCached = streams.get();
+        provider.fetch(new Query<>()).count();
+        Assert.assertEquals(streamsWhenCached, streams.get());
+
+        DataProvider<StrBean, String> filtering = provider
+                .filteringBySubstring(StrBean::getValue, Locale.ENGLISH);
+        long expectedSize = data.stream()
+                .filter(bean -> bean.getValue().toLowerCase(Locale.ENGLISH)
+                        .contains("a"))
+                .count();
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(expectedSize,
+                    filtering.size(new Query<>("a")));
+            Assert.assertEquals(expectedSize,
+                    filtering.fetch(new Query<>("a")).count());
+        }
+
+        // Each filtered query went through the items once without caching
+        Assert.assertEquals(streamsWhenCached + 20, streams.get());
+
+        // Filtered queries did not evict the cached unfiltered items
+        provider.fetch(new Query<>()).count();
+        Assert.assertEquals(streamsWhenCached + 20, streams.get());
+    }
+
+    @Test
+    public void refreshItem_itemSortedAgain() {
+        StrBean bean = data.get(0);
+        SerializableComparator<StrBean> comparator = (bean1,
+                bean2) -> bean1.getValue().compareTo(bean2.getValue());
+        Assert.assertSame(bean, dataProvider
+                .fetch(new Query<>(99, 1, null, comparator, null)).findFirst()
+                .get());
+
+        bean.setValue("Aaa");
+        dataProvider.refreshItem(bean);
+
+        Assert.assertSame(bean, dataProvider
+                .fetch(new Query<>(0, 1, null, comparator, null)).findFirst()
+                .get());
+    }
+
     @Override
     protected void setSortOrder(List<QuerySortOrder> sortOrder,
             Comparator<StrBean> comp) {
@@ -21,6 +21,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Map;
@@ -275,4 +276,125 @@ public class BeanPropertySetTest {
                 "father.son", propertySet.getProperty("father.son.father").get()
                         .getParent().getFullName());
     }
+
+    @Test
+    public void getterAndSetter_readAndWriteProperties() {
+        PropertySet<Person> propertySet = BeanPropertySet.get(Person.class);
+        Person person = new Person("Jon", 1970);
+
+        PropertyDefinition<Person, ?> name = propertySet.getProperty("name")
+                .get();
+        @SuppressWarnings("unchecked")
+        Setter<Person, Object> setter = (Setter<Person, Object>) name
+                .getSetter().get();
+        setter.accept(person, "Jane");
+
+        Assert.assertEquals("Jane", name.getGetter().apply(person));
+        Assert.assertEquals(Integer.valueOf(1970),
+                propertySet.getProperty("born").get().getGetter()
+                        .apply(person));
+        Assert.assertFalse(propertySet.getProperty("born").get().getSetter()
+                .isPresent());
+    }
+
+    @Test
+    public void getter_throws_exceptionWrapped() {
+        PropertySet<ThrowingBean> propertySet = BeanPropertySet
+                .get(ThrowingBean.class);
+        ValueProvider<ThrowingBean, ?> getter = propertySet
+                .getProperty("value").get().getGetter();
+
+        try {
+            getter.apply(new ThrowingBean());
+            Assert.fail("Exception should have been thrown");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(
+                    e.getCause() instanceof InvocationTargetException);
+            Assert.assertTrue(e.getCause()
+                    .getCause() instanceof UnsupportedOperationException);
+        }
+    }
+
+    @Test
+    public void setter_throws_exceptionWrapped() {
+        Setter<ThrowingBean, Object> setter = getSetter("value");
+
+        try {
+            setter.accept(new ThrowingBean(), "foo");
+            Assert.fail("Exception should have been thrown");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(
+                    e.getCause() instanceof InvocationTargetException);
+            Assert.assertTrue(e.getCause()
+                    .getCause() instanceof UnsupportedOperationException);
+        }
+    }
+
+    @Test(expected = AssertionError.class)
+    public void getter_throwsError_errorNotWrapped() {
+        BeanPropertySet.get(ThrowingBean.class).getProperty("error").get()
+                .getGetter().apply(new ThrowingBean());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setter_valueOfWrongType_throws() {
+        getSetter("number").accept(new ThrowingBean(), "foo");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setter_nullForPrimitiveProperty_throws() {
+        getSetter("number").accept(new ThrowingBean(), null);
+    }
+
+    @Test
+    public void setter_valueForPrimitiveProperty_written() {
+        ThrowingBean bean = new ThrowingBean();
+        getSetter("number").accept(bean, 42);
+
+        Assert.assertEquals(42, bean.getNumber());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Setter<ThrowingBean, Object> getSetter(String property) {
+        return (Setter<ThrowingBean, Object>) BeanPropertySet
+                .get(ThrowingBean.class).getProperty(property).get()
+                .getSetter().get();
+    }
+
+    @Test
+    public void testSerializeDeserialize_usedGetter() throws Exception {
+        ValueProvider<Person, ?> getter = BeanPropertySet.get(Person.class)
+                .getProperty("name").get().getGetter();
+        Assert.assertEquals("Jon", getter.apply(new Person("Jon", 1970)));
+
+        ValueProvider<Person, ?> deserializedGetter = ClassesSerializableUtils
+                .serializeAndDeserialize(getter);
+
+        Assert.assertEquals("Jon",
+                deserializedGetter.apply(new Person("Jon", 1970)));
+    }
+
+    public static class ThrowingBean implements Serializable {
+        private int number;
+
+        public String getValue() {
+            throw new UnsupportedOperationException();
+        }
+
+        public void setValue(String value) {
+            throw new UnsupportedOperationException();
+        }
+
+        public String getError() {
+            throw new AssertionError("Failed");
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        public void setNumber(int number) {
+            this.number = number;
+        }
+    }
 }
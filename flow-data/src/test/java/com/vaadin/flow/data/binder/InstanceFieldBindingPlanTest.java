@@ -0,0 +1,157 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.binder;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.HasValue;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.data.binder.InstanceFieldBindingPlan.MemberField;
+import com.vaadin.flow.tests.data.bean.Person;
+
+public class InstanceFieldBindingPlanTest {
+
+    @Tag("input")
+    public static class TestTextField extends Component
+            implements HasValue<TestTextField, String> {
+
+        @Override
+        public void setValue(String value) {
+            getElement().setProperty("value", value);
+        }
+
+        @Override
+        public String getValue() {
+            return getElement().getProperty("value");
+        }
+    }
+
+    public static class BaseForm {
+        private TestTextField email;
+    }
+
+    public static class PersonForm extends BaseForm {
+        private TestTextField firstName;
+        @PropertyId("lastName")
+        private TestTextField last = new TestTextField();
+        private String notAField;
+        private TestTextField noSuchProperty;
+    }
+
+    @Test
+    public void memberFields_resolvedOnceInDeclareOrder() {
+        InstanceFieldBindingPlan plan = InstanceFieldBindingPlan
+                .get(PersonForm.class);
+
+        List<String> names = plan.getMemberFields().stream()
+                .map(memberField -> memberField.getField().getName())
+                .collect(Collectors.toList());
+        Assert.assertEquals(
+                Arrays.asList("firstName", "last", "noSuchProperty",
+                        "email"),
+                names);
+        Assert.assertSame(plan, InstanceFieldBindingPlan.get(PersonForm.class));
+    }
+
+    @Test
+    public void getProperty_propertyIdAndNameMatched() {
+        InstanceFieldBindingPlan plan = InstanceFieldBindingPlan
+                .get(PersonForm.class);
+        PropertySet<Person> propertySet = BeanPropertySet.get(Person.class);
+
+        List<String> properties = plan.getMemberFields().stream()
+                .map(memberField -> plan.getProperty(memberField, propertySet)
+                        .map(PropertyDefinition::getName).orElse(null))
+                .collect(Collectors.toList());
+
+        Assert.assertEquals(Arrays.asList("firstName", "lastName",
+                null, "email"), properties);
+    }
+
+    @Test
+    public void bindInstanceFields_fieldsCreatedAndBound() {
+        PersonForm form = new PersonForm();
+        TestTextField last = form.last;
+        Binder<Person> binder = new Binder<>(Person.class);
+        binder.bindInstanceFields(form);
+
+        Assert.assertNotNull(form.firstName);
+        Assert.assertNotNull(((BaseForm) form).email);
+        Assert.assertSame(last, form.last);
+        Assert.assertNull(form.noSuchProperty);
+
+        Person person = new Person();
+        person.setFirstName("John");
+        person.setLastName("Doe");
+        person.setEmail("john@example.com");
+        binder.setBean(person);
+
+        Assert.assertEquals("John", form.firstName.getValue());
+        Assert.assertEquals("Doe", form.last.getValue());
+        Assert.assertEquals("john@example.com",
+                ((BaseForm) form).email.getValue());
+    }
+
+    @Test
+    public void bindInstanceFields_manyForms_planAndPropertyNamesReused()
+            throws Exception {
+        new Binder<>(Person.class).bindInstanceFields(new PersonForm());
+        InstanceFieldBindingPlan plan = InstanceFieldBindingPlan
+                .get(PersonForm.class);
+        List<MemberField> memberFields = plan.getMemberFields();
+        Map<?, ?> propertyNames = getPropertyNames(plan);
+        Assert.assertEquals(1, propertyNames.size());
+        Object names = propertyNames.values().iterator().next();
+
+        for (int i = 0; i < 100; i++) {
+            PersonForm form = new PersonForm();
+            new Binder<>(Person.class).bindInstanceFields(form);
+            Assert.assertNotNull(form.firstName);
+        }
+
+        // Reflection is done once per class and once per bean property set
+        Assert.assertSame(plan, InstanceFieldBindingPlan.get(PersonForm.class));
+        Assert.assertSame(memberFields, plan.getMemberFields());
+        Assert.assertEquals(1, propertyNames.size());
+        Assert.assertSame(names, propertyNames.values().iterator().next());
+    }
+
+    @Test
+    public void memberField_getValueUsesField() throws Exception {
+        PersonForm form = new PersonForm();
+        MemberField last = InstanceFieldBindingPlan.get(PersonForm.class)
+                .getMemberFields().get(1);
+
+        Assert.assertSame(form.last, last.getValue(form));
+        Assert.assertSame(form.last, last.getFieldValue(form));
+    }
+
+    private static Map<?, ?> getPropertyNames(InstanceFieldBindingPlan plan)
+            throws Exception {
+        Field field = InstanceFieldBindingPlan.class
+                .getDeclaredField("propertyNames");
+        field.setAccessible(true);
+        return (Map<?, ?>) field.get(plan);
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.Range;
+
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+
+public class DataCommunicatorTest {
+
+    private final List<Integer> destroyed = new ArrayList<>();
+    private final List<Integer> commits = new ArrayList<>();
+    private final List<Integer> sizes = new ArrayList<>();
+    private final List<Range> queries = new ArrayList<>();
+    private int countQueries;
+    private int size = 100000;
+
+    private UI ui;
+    private DataCommunicator<Integer> dataCommunicator;
+
+    private final ArrayUpdater arrayUpdater = sizeChange -> {
+        sizes.add(sizeChange);
+        return createUpdate();
+    };
+
+    private ArrayUpdater.Update createUpdate() {
+        return new ArrayUpdater.Update() {
+            @Override
+            public void clear(int start, int length) {
+            }
+
+            @Override
+            public void set(int start, List<JsonValue> items) {
+            }
+
+            @Override
+            public void commit(int updateId) {
+                commits.add(updateId);
+            }
+        };
+    }
+
+    @Before
+    public void setUp() {
+        ui = new UI();
+        Element element = new Element("div");
+        ui.getElement().appendChild(element);
+
+        dataCommunicator = new DataCommunicator<>(
+                new DataGenerator<Integer>() {
+                    @Override
+                    public void generateData(Integer item,
+                            JsonObject jsonObject) {
+                    }
+
+                    @Override
+                    public void destroyData(Integer item) {
+                        destroyed.add(item);
+                    }
+                }, arrayUpdater, data -> {
+                }, element.getNode());
+        dataCommunicator.setDataProvider(DataProvider.fromCallbacks(query -> {
+            queries.add(Range.withLength(query.getOffset(), query.getLimit()));
+            return IntStream.range(query.getOffset(),
+                    Math.min(query.getOffset() + query.getLimit(), size))
+                    .boxed();
+        }, query -> {
+            countQueries++;
+            return size;
+        }), null);
+    }
+
+    @Test
+    public void scrollForward_droppedItemsDestroyedWhenConfirmed() {
+        dataCommunicator.setRequestedRange(0, 10);
+        flush();
+        dataCommunicator.setRequestedRange(5, 10);
+        flush();
+
+        Assert.assertTrue(destroyed.isEmpty());
+        Assert.assertEquals(2, commits.size());
+
+        dataCommunicator.confirmUpdate(commits.get(1));
+        flush();
+
+        Assert.assertEquals(IntStream.range(0, 5).boxed()
+                .collect(Collectors.toList()), sorted(destroyed));
+        Assert.assertFalse(dataCommunicator.getKeyMapper().has(0));
+        Assert.assertTrue(dataCommunicator.getKeyMapper().has(5));
+    }
+
+    @Test
+    public void scrollBackBeforeConfirmation_reactivatedItemsKept() {
+        dataCommunicator.setRequestedRange(0, 10);
+        flush();
+        dataCommunicator.setRequestedRange(5, 10);
+        flush();
+        dataCommunicator.setRequestedRange(3, 10);
+        flush();
+
+        dataCommunicator.confirmUpdate(commits.get(1));
+        dataCommunicator.confirmUpdate(commits.get(2));
+        flush();
+
+        Assert.assertEquals(Arrays.asList(0, 1, 2, 13, 14), sorted(destroyed));
+        Assert.assertTrue(dataCommunicator.getKeyMapper().has(3));
+        Assert.assertTrue(dataCommunicator.getKeyMapper().has(4));
+    }
+
+    @Test
+    public void reset_itemsOutsideNewRangeDestroyedWhenConfirmed() {
+        dataCommunicator.setRequestedRange(0, 10);
+        flush();
+        dataCommunicator.reset();
+        dataCommunicator.setRequestedRange(8, 10);
+        flush();
+
+        dataCommunicator.confirmUpdate(commits.get(1));
+        flush();
+
+        Assert.assertEquals(IntStream.range(0, 8).boxed()
+                .collect(Collectors.toList()), sorted(destroyed));
+    }
+
+    @Test
+    public void pageSize_itemsFetchedInPagesWithPrefetch() {
+        dataCommunicator.setPageSize(50);
+        dataCommunicator.setPrefetchPages(1);
+
+        dataCommunicator.setRequestedRange(0, 20);
+        flush();
+        Assert.assertEquals(Arrays.asList(Range.withLength(0, 100)), queries);
+
+        dataCommunicator.setRequestedRange(20, 20);
+        flush();
+        dataCommunicator.setRequestedRange(80, 20);
+        flush();
+        Assert.assertEquals(1, queries.size());
+
+        dataCommunicator.setRequestedRange(90, 20);
+        flush();
+        Assert.assertEquals(Range.withLength(100, 100), queries.get(1));
+
+        // Backwards prefetch is not needed past the start
+        dataCommunicator.setRequestedRange(0, 20);
+        flush();
+        Assert.assertEquals(2, queries.size());
+        assertActive(0, 20);
+    }
+
+    @Test
+    public void pageSize_reset_pagesFetchedAgain() {
+        dataCommunicator.setPageSize(50);
+
+        dataCommunicator.setRequestedRange(0, 20);
+        flush();
+        dataCommunicator.reset();
+        flush();
+
+        Assert.assertEquals(Arrays.asList(Range.withLength(0, 50),
+                Range.withLength(0, 50)), queries);
+    }
+
+    @Test
+    public void pageSize_maxCachedPagesExceeded_leastRecentlyUsedPageFetchedAgain() {
+        dataCommunicator.setPageSize(10);
+        dataCommunicator.setMaxCachedPages(2);
+
+        dataCommunicator.setRequestedRange(0, 10);
+        flush();
+        dataCommunicator.setRequestedRange(100, 10);
+        flush();
+        dataCommunicator.setRequestedRange(200, 10);
+        flush();
+        dataCommunicator.setRequestedRange(0, 10);
+        flush();
+
+        Assert.assertEquals(4, queries.size());
+        Assert.assertEquals(Range.withLength(0, 10), queries.get(3));
+    }
+
+    @Test
+    public void estimatedSize_noCountUntilEndReached() {
+        size = 120;
+        dataCommunicator.setPageSize(50);
+        dataCommunicator.setEstimatedSize(1000);
+        countQueries = 0;
+
+        dataCommunicator.setRequestedRange(0, 50);
+        flush();
+        Assert.assertEquals(1000, sizes.get(sizes.size() - 1).intValue());
+
+        dataCommunicator.setRequestedRange(100, 50);
+        flush();
+        Assert.assertEquals(120, sizes.get(sizes.size() - 1).intValue());
+        Assert.assertEquals(0, countQueries);
+        assertActive(100, 20);
+        Assert.assertFalse(dataCommunicator.getKeyMapper().has(120));
+    }
+
+    @Test
+    public void estimatedSize_requestedRangeNearEstimate_estimateIncreased() {
+        dataCommunicator.setPageSize(50);
+        dataCommunicator.setEstimatedSize(200);
+
+        dataCommunicator.setRequestedRange(0, 50);
+        flush();
+        Assert.assertEquals(200, sizes.get(sizes.size() - 1).intValue());
+
+        dataCommunicator.setRequestedRange(150, 50);
+        flush();
+        Assert.assertEquals(400, sizes.get(sizes.size() - 1).intValue());
+    }
+
+    @Test
+    public void estimatedSize_emptyPageAfterEnd_sizeCounted() {
+        size = 120;
+        dataCommunicator.setPageSize(50);
+        dataCommunicator.setEstimatedSize(1000);
+        countQueries = 0;
+
+        dataCommunicator.setRequestedRange(500, 50);
+        flush();
+
+        Assert.assertEquals(1, countQueries);
+        Assert.assertEquals(120, sizes.get(sizes.size() - 1).intValue());
+    }
+
+    @Test
+    public void scrollBackAndForth_onlyItemsEnteringOrLeavingRangeHandled() {
+        int windowSize = 10000;
+        dataCommunicator.setRequestedRange(0, windowSize);
+        flush();
+
+        // Client never confirms any updates while scrolling back and forth
+        for (int i = 1; i <= 1000; i++) {
+            queries.clear();
+            int start = i % 2 * 50;
+            dataCommunicator.setRequestedRange(start, windowSize);
+            flush();
+
+            // Only the items entering the range are fetched
+            int fetchStart = start == 0 ? 0 : windowSize;
+            Assert.assertEquals(
+                    Collections.singletonList(Range.withLength(fetchStart, 50)),
+                    queries);
+        }
+        Assert.assertTrue(destroyed.isEmpty());
+
+        // Reactivated items have been dropped from the earlier passivations
+        commits.forEach(dataCommunicator::confirmUpdate);
+        flush();
+        Assert.assertEquals(IntStream.range(windowSize, windowSize + 50)
+                .boxed().collect(Collectors.toList()), sorted(destroyed));
+    }
+
+    @Test
+    public void scrollForward_itemsLeavingRangePassivatedPerScroll() {
+        int windowSize = 10000;
+        dataCommunicator.setRequestedRange(0, windowSize);
+        flush();
+
+        for (int i = 1; i <= 200; i++) {
+            destroyed.clear();
+            dataCommunicator.setRequestedRange(i * 50, windowSize);
+            flush();
+            dataCommunicator.confirmUpdate(commits.get(commits.size() - 1));
+            flush();
+
+            Assert.assertEquals(IntStream.range((i - 1) * 50, i * 50).boxed()
+                    .collect(Collectors.toList()), sorted(destroyed));
+        }
+    }
+
+    private void assertActive(int start, int length) {
+        IntStream.range(start, start + length)
+                .forEach(item -> Assert.assertTrue(
+                        "Item " + item + " should be active",
+                        dataCommunicator.getKeyMapper().has(item)));
+    }
+
+    private void flush() {
+        ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+    }
+
+    private static List<Integer> sorted(List<Integer> list) {
+        return list.stream().sorted().collect(Collectors.toList());
+    }
+}
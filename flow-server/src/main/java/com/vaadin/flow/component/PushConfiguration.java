@@ -201,7 +201,7 @@ class PushConfigurationImpl implements PushConfiguration {
                     "Cannot set the push mode for a detached UI");
         }
 
-        assert session.hasLock();
+        assert session.hasLock() || ui.getInternals().hasLock();
 
         if (pushMode.isEnabled()
                 && !session.getService().ensurePushAvailable()) {
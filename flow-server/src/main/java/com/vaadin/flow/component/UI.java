@@ -45,6 +45,7 @@ import com.vaadin.flow.router.RouterLayout;
 import com.vaadin.flow.server.Command;
 import com.vaadin.flow.server.ErrorEvent;
 import com.vaadin.flow.server.ErrorHandlingCommand;
+import com.vaadin.flow.server.FutureAccess;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinServlet;
@@ -280,7 +281,7 @@ public class UI extends Component
 
             // Can't use UI.push() directly since it checks for a valid session
             if (getSession() != null) {
-                getSession().getService().runPendingAccessTasks(getSession());
+                getInternals().runPendingAccessTasks();
             }
             pushConnection.push();
         }
@@ -349,6 +350,12 @@ public class UI extends Component
      * to be available whereas {@link #access(Command)} defers the task to a
      * later point in time.</li>
      * </ul>
+     * <p>
+     * With {@link VaadinSession#isPerUILockingEnabled() per UI locking}, only
+     * the lock of this UI is acquired. The UI lock must always be acquired
+     * before the session lock, so this method may not be called while holding
+     * the session lock unless the current thread already holds the UI lock.
+     * Use {@link #access(Command)} in that case instead.
      *
      * @since 7.1
      *
@@ -375,7 +382,15 @@ public class UI extends Component
 
         VaadinService.verifyNoOtherSessionLocked(session);
 
-        session.lock();
+        boolean perUILocking = session.isPerUILockingEnabled();
+        if (perUILocking) {
+            assert internals.hasLock() || !session.hasLock() : "The UI lock "
+                    + "must be acquired before the session lock. "
+                    + "Use UI.access instead while holding the session lock.";
+            internals.lock();
+        } else {
+            session.lock();
+        }
         try {
             if (getSession() == null) {
                 // UI was detached after fetching the session but before we
@@ -385,7 +400,11 @@ public class UI extends Component
             old = CurrentInstance.setCurrent(this);
             command.execute();
         } finally {
-            session.unlock();
+            if (perUILocking) {
+                internals.unlock();
+            } else {
+                session.unlock();
+            }
             if (old != null) {
                 CurrentInstance.restoreInstances(old);
             }
@@ -444,7 +463,7 @@ public class UI extends Component
             throw new UIDetachedException();
         }
 
-        return session.access(new ErrorHandlingCommand() {
+        ErrorHandlingCommand accessCommand = new ErrorHandlingCommand() {
             @Override
             public void execute() {
                 accessSynchronously(command);
@@ -464,7 +483,17 @@ public class UI extends Component
                     getLogger().error(e.getMessage(), e);
                 }
             }
-        });
+        };
+
+        if (!session.isPerUILockingEnabled()) {
+            return session.access(accessCommand);
+        }
+
+        // Only this UI is locked for running the command
+        FutureAccess future = new FutureAccess(session, accessCommand);
+        internals.getPendingAccessQueue().add(future);
+        internals.ensureAccessQueuePurged();
+        return future;
     }
 
     /**
@@ -532,12 +561,36 @@ public class UI extends Component
      * @since 7.1
      */
     public void push() {
+        push(false);
+    }
+
+    /**
+     * Pushes the pending changes and client RPC invocations of this UI to the
+     * client-side right away, even if a
+     * {@link com.vaadin.flow.function.DeploymentConfiguration#getPushMinInterval()
+     * minimum push interval} is configured and the previous push was sent less
+     * than the interval ago.
+     * <p>
+     * The same conditions apply as for {@link #push()}.
+     *
+     * @throws IllegalStateException
+     *             if push is disabled.
+     * @throws UIDetachedException
+     *             if this UI is not attached to a session.
+     *
+     * @see #push()
+     */
+    public void pushImmediately() {
+        push(true);
+    }
+
+    private void push(boolean immediately) {
         VaadinSession session = getSession();
 
         if (session == null) {
             throw new UIDetachedException("Cannot push a detached UI");
         }
-        assert session.hasLock();
+        assert session.hasLock() || getInternals().hasLock();
 
         if (!getPushConfiguration().getPushMode().isEnabled()) {
             throw new IllegalStateException("Push not enabled");
@@ -551,14 +604,18 @@ public class UI extends Component
          * when the push would otherwise be ignored because there are no changes
          * to push.
          */
-        session.getService().runPendingAccessTasks(session);
+        getInternals().runPendingAccessTasks();
 
         if (!getInternals().getStateTree().hasDirtyNodes()) {
             // Do not push if there is nothing to push
             return;
         }
 
-        pushConnection.push();
+        if (immediately) {
+            pushConnection.pushImmediately();
+        } else {
+            pushConnection.push();
+        }
     }
 
     /**
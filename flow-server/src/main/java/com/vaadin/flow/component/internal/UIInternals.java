@@ -15,6 +15,8 @@
  */
 package com.vaadin.flow.component.internal;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -22,7 +24,11 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -42,6 +48,7 @@ import com.vaadin.flow.component.page.Page.ExecutionCanceler;
 import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.dom.impl.BasicElementStateProvider;
 import com.vaadin.flow.internal.ConstantPool;
+import com.vaadin.flow.internal.CurrentInstance;
 import com.vaadin.flow.internal.ReflectTools;
 import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.internal.nodefeature.LoadingIndicatorConfigurationMap;
@@ -57,6 +64,7 @@ import com.vaadin.flow.router.legacy.HasChildView;
 import com.vaadin.flow.router.legacy.View;
 import com.vaadin.flow.theme.AbstractTheme;
 import com.vaadin.flow.theme.Theme;
+import com.vaadin.flow.server.FutureAccess;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinServlet;
@@ -123,6 +131,12 @@ public class UIInternals implements Serializable {
      */
     private int lastProcessedClientToServerId = -1;
 
+    private boolean resynchronizationRequested;
+
+    // Only valid until the next message is sent to the client
+    private transient byte[] lastResponse;
+    private transient int lastResponseSyncId;
+
     private int serverSyncId = 0;
 
     private final StateTree stateTree;
@@ -134,7 +148,7 @@ public class UIInternals implements Serializable {
      * Updated to the current time whenever the application receives a heartbeat
      * or UIDL request from the client for the related UI.
      */
-    private long lastHeartbeatTimestamp = System.currentTimeMillis();
+    private volatile long lastHeartbeatTimestamp = System.currentTimeMillis();
 
     private List<JavaScriptInvocation> pendingJsInvocations = new ArrayList<>();
 
@@ -167,8 +181,19 @@ public class UIInternals implements Serializable {
     private final ConstantPool constantPool = new ConstantPool();
 
     private AbstractTheme theme = null;
-    private final Map<String, String> urlTranslations = new HashMap<>();
-    private final Map<Class<? extends AbstractTheme>, Map<String, String>> themeTranslations = new HashMap<>();
+
+    /*
+     * Only used when per UI locking is enabled, see
+     * DeploymentConfiguration#isPerUILockingEnabled()
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /*
+     * Pending tasks can't be serialized and the queue should be empty when the
+     * UI is serialized as long as it doesn't happen while some other thread
+     * has the lock.
+     */
+    private transient ConcurrentLinkedQueue<FutureAccess> pendingAccessQueue = new ConcurrentLinkedQueue<>();
 
     private static final Pattern componentSource = Pattern
             .compile(".*/src/vaadin-([\\w\\-]*).html");
@@ -184,6 +209,165 @@ public class UIInternals implements Serializable {
         stateTree = new StateTree(ui, getRootNodeFeatures());
     }
 
+    /**
+     * Locks the related UI. Only used when per UI locking is enabled, in which
+     * case the UI lock is used instead of the session lock for handling
+     * requests targeting the UI.
+     * <p>
+     * This method will block until the lock can be retrieved. Always use a
+     * try-finally block and release the lock using {@link #unlock()}.
+     *
+     * @see com.vaadin.flow.function.DeploymentConfiguration#isPerUILockingEnabled()
+     */
+    public void lock() {
+        lock.lock();
+    }
+
+    /**
+     * Locks the related UI if the lock is not held by another thread.
+     *
+     * @return <code>true</code> if the lock was acquired, <code>false</code>
+     *         otherwise
+     * @see #lock()
+     */
+    public boolean tryLock() {
+        return lock.tryLock();
+    }
+
+    /**
+     * Checks if the current thread holds the lock of the related UI.
+     *
+     * @return <code>true</code> if the current thread holds the UI lock,
+     *         <code>false</code> otherwise
+     */
+    public boolean hasLock() {
+        return lock.isHeldByCurrentThread();
+    }
+
+    /**
+     * Releases the lock of the related UI. If the lock is ultimately released
+     * by this call, pending access tasks of the UI are run and pending changes
+     * are pushed if the UI uses {@link PushMode#AUTOMATIC automatic push}.
+     *
+     * @see #lock()
+     */
+    public void unlock() {
+        assert hasLock() : "Trying to unlock the UI but it has not been locked by this thread";
+        boolean ultimateRelease = false;
+        VaadinSession lockedSession = session;
+        try {
+            if (lock.getHoldCount() == 1) {
+                ultimateRelease = true;
+                runPendingAccessTasks();
+
+                if (session != null && ui.getPushConfiguration()
+                        .getPushMode() == PushMode.AUTOMATIC) {
+                    Map<Class<?>, CurrentInstance> oldCurrent = CurrentInstance
+                            .setCurrent(ui);
+                    try {
+                        ui.push();
+                    } finally {
+                        CurrentInstance.restoreInstances(oldCurrent);
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        /*
+         * Tasks enqueued after the queue was purged but before the lock was
+         * released would otherwise be left waiting for the next lock.
+         */
+        if (ultimateRelease && !pendingAccessQueue.isEmpty()) {
+            ensureAccessQueuePurged();
+        }
+
+        /*
+         * The session lock may have been taken briefly while holding the UI
+         * lock, without running the session tasks since that might need the
+         * lock of another UI. Run them now when no UI lock is held.
+         */
+        if (ultimateRelease && lockedSession != null
+                && lockedSession.isPerUILockingEnabled()
+                && !lockedSession.getPendingAccessQueue().isEmpty()) {
+            lockedSession.getService().ensureAccessQueuePurged(lockedSession);
+        }
+    }
+
+    /**
+     * Gets the queue of tasks submitted using
+     * {@link UI#access(com.vaadin.flow.server.Command)} when per UI locking is
+     * enabled. It is safe to call this method and access the returned queue
+     * without holding the UI lock.
+     *
+     * @return the queue of pending access tasks for the UI
+     */
+    public Queue<FutureAccess> getPendingAccessQueue() {
+        return pendingAccessQueue;
+    }
+
+    /**
+     * Makes sure the pending access queue of the UI is purged. If the UI is
+     * currently locked, the queue will be purged when the UI is unlocked.
+     * Otherwise the lock is acquired and the queue is purged right away.
+     */
+    public void ensureAccessQueuePurged() {
+        try {
+            // tryLock() would be shorter, but it does not guarantee fairness
+            if (lock.tryLock(0, TimeUnit.SECONDS)) {
+                // unlock triggers runPendingAccessTasks
+                unlock();
+            }
+        } catch (InterruptedException e) {
+            // Just ignore
+        }
+    }
+
+    /**
+     * Purges the queue of pending access tasks that might produce changes to
+     * the related UI. When per UI locking is enabled, the tasks enqueued for
+     * the UI are run. Otherwise access tasks are enqueued in the session and
+     * the pending tasks of the session are run.
+     * <p>
+     * This method is automatically run by the framework at appropriate
+     * situations and is not intended to be used by application developers.
+     */
+    public void runPendingAccessTasks() {
+        if (session != null && !session.isPerUILockingEnabled()) {
+            session.getService().runPendingAccessTasks(session);
+            return;
+        }
+        assert hasLock();
+
+        if (pendingAccessQueue.isEmpty()) {
+            return;
+        }
+
+        FutureAccess pendingAccess;
+
+        // Dump all current instances, not only the ones dumped by setCurrent
+        Map<Class<?>, CurrentInstance> oldInstances = CurrentInstance
+                .getInstances();
+        CurrentInstance.setCurrent(ui);
+        try {
+            while ((pendingAccess = pendingAccessQueue.poll()) != null) {
+                if (!pendingAccess.isCancelled()) {
+                    pendingAccess.run();
+
+                    try {
+                        pendingAccess.get();
+                    } catch (Exception exception) {
+                        pendingAccess.handleError(exception);
+                    }
+                }
+            }
+        } finally {
+            CurrentInstance.clearAll();
+            CurrentInstance.restoreInstances(oldInstances);
+        }
+    }
+
     /**
      * Gets the state tree of the related UI.
      *
@@ -218,6 +402,70 @@ public class UIInternals implements Serializable {
         this.lastProcessedClientToServerId = lastProcessedClientToServerId;
     }
 
+    /**
+     * Sets whether the full state of the UI should be sent to the client in
+     * the next message instead of only the changes. This is used when the
+     * client and the server are out of sync, e.g. because messages have been
+     * lost.
+     * <p>
+     * Used internally for communication tracking.
+     *
+     * @param resynchronizationRequested
+     *            <code>true</code> to send the full state in the next message,
+     *            <code>false</code> to send only the changes
+     */
+    public void setResynchronizationRequested(
+            boolean resynchronizationRequested) {
+        this.resynchronizationRequested = resynchronizationRequested;
+    }
+
+    /**
+     * Checks whether the full state of the UI should be sent to the client in
+     * the next message.
+     * <p>
+     * Used internally for communication tracking.
+     *
+     * @return <code>true</code> if the full state should be sent,
+     *         <code>false</code> otherwise
+     */
+    public boolean isResynchronizationRequested() {
+        return resynchronizationRequested;
+    }
+
+    /**
+     * Sets the response that was written for the last processed client
+     * message, so that it can be sent again if the client resends the message
+     * because it did not receive the response. The response can only be sent
+     * again until the next message is written to the client.
+     * <p>
+     * Used internally for communication tracking.
+     *
+     * @param response
+     *            the UTF-8 encoded response, or <code>null</code> to not keep
+     *            any response
+     */
+    public void setLastResponse(byte[] response) {
+        lastResponse = response;
+        // The sync id has already been incremented for the written response
+        lastResponseSyncId = serverSyncId - 1;
+    }
+
+    /**
+     * Gets the response that was written for the last processed client
+     * message, if no other message has been written to the client after it.
+     * <p>
+     * Used internally for communication tracking.
+     *
+     * @return the UTF-8 encoded response, or <code>null</code> if the response
+     *         can't be sent again
+     */
+    public byte[] getLastResponse() {
+        if (lastResponseSyncId != serverSyncId - 1) {
+            return null;
+        }
+        return lastResponse;
+    }
+
     /**
      * Gets the server sync id.
      * <p>
@@ -655,26 +903,15 @@ public class UIInternals implements Serializable {
         if (themeAnnotation != null) {
             if (theme == null
                     || !theme.getClass().equals(themeAnnotation.value())) {
-                cacheThemeTranslations(theme);
                 theme = ReflectTools.createInstance(themeAnnotation.value());
-                urlTranslations.clear();
-                urlTranslations.putAll(themeTranslations.computeIfAbsent(
-                        theme.getClass(), themeClass -> new HashMap<>()));
             }
         } else {
-            cacheThemeTranslations(theme);
             theme = null;
             getLogger().warn("No @Theme defined for {}",
                     target.getClass().getName());
         }
     }
 
-    private void cacheThemeTranslations(AbstractTheme theme) {
-        if (theme != null) {
-            themeTranslations.put(theme.getClass(), urlTranslations);
-        }
-    }
-
     private void removeFromParent(HasElement component) {
         if (component != null) {
             component.getElement().removeFromParent();
@@ -793,14 +1030,8 @@ public class UIInternals implements Serializable {
     private String getHtmlImportValue(HtmlImport html) {
         String importValue = html.value();
         if (theme != null) {
-            String translation = urlTranslations.get(importValue);
-            if (translation != null) {
-                return translation;
-            }
-            String translatedUrl = theme.getTranslatedUrl(importValue,
-                    VaadinServlet.getCurrent().getServletResources().stream());
-            urlTranslations.put(importValue, translatedUrl);
-            return translatedUrl;
+            return VaadinServlet.getCurrent().getThemeUrlTranslations()
+                    .getTranslatedUrl(theme, importValue);
         } else {
             Matcher componentMatcher = componentSource.matcher(importValue);
             if (componentMatcher.matches()) {
@@ -882,4 +1113,10 @@ public class UIInternals implements Serializable {
         appId = appId.substring(0, appId.indexOf('-'));
         return appId;
     }
+
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        pendingAccessQueue = new ConcurrentLinkedQueue<>();
+    }
 }
@@ -19,7 +19,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.slf4j.Logger;
@@ -38,6 +43,7 @@ import com.vaadin.flow.component.dependency.HtmlImport;
 import com.vaadin.flow.internal.AnnotationReader;
 import com.vaadin.flow.internal.ReflectionCache;
 import com.vaadin.flow.server.DependencyFilter;
+import com.vaadin.flow.server.ServletHelper;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
@@ -89,6 +95,12 @@ public class DefaultTemplateParser implements TemplateParser {
                     filterContext);
         }
 
+        ParsedHtmlImportCache cache = ParsedHtmlImportCache
+                .getInstance(context);
+        boolean productionMode = VaadinService.getCurrent()
+                .getDeploymentConfiguration().isProductionMode();
+
+        Map<String, String> pathByUrl = new LinkedHashMap<>();
         for (Dependency dependency : dependencies) {
             if (dependency.getType() != Type.HTML_IMPORT) {
                 continue;
@@ -100,27 +112,36 @@ public class DefaultTemplateParser implements TemplateParser {
             if (logEnabled) {
                 getLogger().debug("Html import path '{}' is resolved to '{}'", url, path);
             }
-            try (InputStream content = context.getResourceAsStream(path)) {
-                if (content == null) {
-                    throw new IllegalStateException(
-                            String.format("Can't find resource '%s' "
-                                    + "via the servlet context", url));
-                }
-                Element templateElement = parseHtmlImport(content, url, tag);
-                if (logEnabled && templateElement != null) {
-                    getLogger().debug("Found a template file containing template "
-                        + "definition for the tag '{}' by the path '{}'", tag, url);
-                }
+            pathByUrl.put(url, path);
+        }
 
-                if (templateElement != null) {
-                    return templateElement;
+        // Check the file where the template was last found first
+        List<Map.Entry<String, String>> imports = new ArrayList<>(
+                pathByUrl.entrySet());
+        cache.getIndexedPath(tag).ifPresent(indexedPath -> imports.sort(
+                Comparator.comparing(entry -> !entry.getValue()
+                        .equals(indexedPath))));
+
+        for (Map.Entry<String, String> htmlImport : imports) {
+            String url = htmlImport.getKey();
+            String path = htmlImport.getValue();
+
+            long lastModified = productionMode
+                    ? ParsedHtmlImportCache.NOT_CHECKED
+                    : ServletHelper.getLastModified(context, path);
+            Element templateElement = cache
+                    .getDomModules(path, lastModified,
+                            () -> parseHtmlImport(context, path, url,
+                                    logEnabled))
+                    .get(tag);
+            if (logEnabled && templateElement != null) {
+                getLogger().debug("Found a template file containing template "
+                        + "definition for the tag '{}' by the path '{}'", tag, url);
+            }
 
-                }
-            } catch (IOException exception) {
-                // ignore exception on close()
-                if (logEnabled) {
-                    getLogger().warn("Couldn't close template input stream", exception);
-                }
+            if (templateElement != null) {
+                // Cached elements are shared
+                return templateElement.clone();
             }
         }
         throw new IllegalStateException(String.format("Couldn't find the "
@@ -141,20 +162,39 @@ public class DefaultTemplateParser implements TemplateParser {
         return uriResolverFactory.toServletContextPath(request, path);
     }
 
-    private static Element parseHtmlImport(InputStream content, String path,
-            String tag) {
+    private Map<String, Element> parseHtmlImport(ServletContext context,
+            String path, String url, boolean logEnabled) {
+        try (InputStream content = context.getResourceAsStream(path)) {
+            if (content == null) {
+                throw new IllegalStateException(
+                        String.format("Can't find resource '%s' "
+                                + "via the servlet context", url));
+            }
+            return parseDomModules(content, url);
+        } catch (IOException exception) {
+            // ignore exception on close()
+            if (logEnabled) {
+                getLogger().warn("Couldn't close template input stream", exception);
+            }
+            return Collections.emptyMap();
+        }
+    }
+
+    private static Map<String, Element> parseDomModules(InputStream content,
+            String path) {
         assert content != null;
         try {
             Document parsedDocument = Jsoup.parse(content,
                     StandardCharsets.UTF_8.name(), "");
-            Optional<Element> optionalDomModule = getDomModule(parsedDocument,
-                    tag);
-            if (!optionalDomModule.isPresent()) {
-                return null;
+            Map<String, Element> domModules = new HashMap<>();
+            for (Element domModule : parsedDocument
+                    .getElementsByTag("dom-module")) {
+                if (!domModules.containsKey(domModule.id())) {
+                    removeCommentsRecursively(domModule);
+                    domModules.put(domModule.id(), domModule);
+                }
             }
-            Element domModule = optionalDomModule.get();
-            removeCommentsRecursively(domModule);
-            return domModule;
+            return domModules;
         } catch (IOException exception) {
             throw new RuntimeException(String.format(
                     "Can't parse the template declared using '%s' path", path),
@@ -162,11 +202,6 @@ public class DefaultTemplateParser implements TemplateParser {
         }
     }
 
-    private static Optional<Element> getDomModule(Element parent, String id) {
-        return parent.getElementsByTag("dom-module").stream()
-                .filter(element -> id.equals(element.id())).findFirst();
-    }
-
     private static void removeCommentsRecursively(Node node) {
         int i = 0;
         while (i < node.childNodes().size()) {
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.polymertemplate;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import javax.servlet.ServletContext;
+
+import org.jsoup.nodes.Element;
+
+/**
+ * Cache for the <code>dom-module</code> elements parsed from HTML import files,
+ * shared by all the template parsers of a servlet context.
+ * <p>
+ * Entries are keyed by the resolved servlet context path of the file and store
+ * the <code>dom-module</code> elements of the file by their id. The cache also
+ * keeps an index of the file in which each <code>dom-module</code> id was
+ * found so that the right file can be checked first.
+ * <p>
+ * Cached values are not expired since there is a finite number of HTML import
+ * files. Each entry remembers the modification timestamp of the file it was
+ * parsed from so that changed files can be reparsed in development mode.
+ *
+ * @author Vaadin Ltd
+ */
+final class ParsedHtmlImportCache {
+
+    /**
+     * Last modification value to use when cached contents should be used
+     * regardless of the state of the file, e.g. in production mode.
+     */
+    static final long NOT_CHECKED = -1;
+
+    /**
+     * Last modification value to use when the modification timestamp of the
+     * file is not known. Such files are never cached.
+     */
+    static final long UNKNOWN = 0;
+
+    private static final class ParsedImport {
+        private final Map<String, Element> domModules;
+        private final long lastModified;
+
+        private ParsedImport(Map<String, Element> domModules,
+                long lastModified) {
+            this.domModules = domModules;
+            this.lastModified = lastModified;
+        }
+    }
+
+    private final Map<String, ParsedImport> imports = new ConcurrentHashMap<>();
+
+    private final Map<String, String> pathByDomModuleId = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the cache for the given servlet context. If the servlet context has
+     * no cache, a new instance is created and assigned to the context.
+     *
+     * @param servletContext
+     *            the servlet context for which to get the cache, not
+     *            <code>null</code>
+     * @return the cache for the servlet context, not <code>null</code>
+     */
+    static ParsedHtmlImportCache getInstance(ServletContext servletContext) {
+        assert servletContext != null;
+
+        Object attribute;
+        synchronized (servletContext) {
+            attribute = servletContext
+                    .getAttribute(ParsedHtmlImportCache.class.getName());
+
+            if (attribute == null) {
+                attribute = new ParsedHtmlImportCache();
+                servletContext.setAttribute(
+                        ParsedHtmlImportCache.class.getName(), attribute);
+            }
+        }
+
+        if (attribute instanceof ParsedHtmlImportCache) {
+            return (ParsedHtmlImportCache) attribute;
+        } else {
+            throw new IllegalStateException(
+                    "Unknown servlet context attribute value: " + attribute);
+        }
+    }
+
+    /**
+     * Gets the path of the file in which a <code>dom-module</code> with the
+     * given id was most recently found.
+     *
+     * @param domModuleId
+     *            the id of the <code>dom-module</code>
+     * @return the resolved path of the file, or an empty optional if no such
+     *         <code>dom-module</code> has been parsed
+     */
+    Optional<String> getIndexedPath(String domModuleId) {
+        return Optional.ofNullable(pathByDomModuleId.get(domModuleId));
+    }
+
+    /**
+     * Gets the <code>dom-module</code> elements of a file, parsing the file
+     * using the given parser if there are no valid cached elements.
+     * <p>
+     * The returned elements are shared and must not be modified.
+     *
+     * @param path
+     *            the resolved path of the file, not <code>null</code>
+     * @param lastModified
+     *            the current modification timestamp of the file,
+     *            {@link #NOT_CHECKED} to use any cached elements or
+     *            {@link #UNKNOWN} to bypass the cache
+     * @param parser
+     *            the parser that reads the <code>dom-module</code> elements of
+     *            the file by their id, not <code>null</code>
+     * @return the <code>dom-module</code> elements of the file by their id
+     */
+    Map<String, Element> getDomModules(String path, long lastModified,
+            Supplier<Map<String, Element>> parser) {
+        if (lastModified != UNKNOWN) {
+            ParsedImport parsedImport = imports.get(path);
+            if (parsedImport != null && (lastModified == NOT_CHECKED
+                    || parsedImport.lastModified == lastModified)) {
+                return parsedImport.domModules;
+            }
+        }
+
+        Map<String, Element> domModules = Collections
+                .unmodifiableMap(new HashMap<>(parser.get()));
+        domModules.keySet().forEach(id -> pathByDomModuleId.put(id, path));
+        if (lastModified != UNKNOWN) {
+            imports.put(path, new ParsedImport(domModules, lastModified));
+        }
+        return domModules;
+    }
+}
@@ -290,4 +290,120 @@ public interface DeploymentConfiguration extends Serializable {
         return !getBooleanProperty(Constants.DISABLE_WEBJARS,
                 isProductionMode());
     }
+
+    /**
+     * Determines if UIDL messages should be streamed directly to the response
+     * as UTF-8 instead of first being built as a JSON tree that is then
+     * converted to a string. Streaming is disabled unless the
+     * {@link Constants#STREAMING_UIDL} property is set to {@code true}.
+     *
+     * @return {@code true} if UIDL messages are streamed, {@code false}
+     *         otherwise
+     */
+    default boolean isUidlStreamingEnabled() {
+        return getBooleanProperty(Constants.STREAMING_UIDL, false);
+    }
+
+    /**
+     * Determines if UIDL, push and heartbeat requests should lock only the UI
+     * they target instead of the whole session. This allows requests for
+     * different UIs in the same session to be handled concurrently. Code that
+     * changes the state of the session, e.g. its attributes, must still lock
+     * the session when only a UI is locked. Per UI locking is disabled unless the {@link Constants#PER_UI_LOCKING} property
+     * is set to {@code true}.
+     *
+     * @return {@code true} if UIs are locked separately, {@code false} if the
+     *         session lock is used for all requests
+     */
+    default boolean isPerUILockingEnabled() {
+        return getBooleanProperty(Constants.PER_UI_LOCKING, false);
+    }
+
+    /**
+     * Gets the time in milliseconds during which updates broadcast to the same
+     * UI are collected so that they are pushed to the client in a single
+     * message. The window is 50 milliseconds unless the
+     * {@link Constants#BROADCAST_COALESCE_WINDOW} property is set.
+     *
+     * @return the broadcast coalescing window in milliseconds
+     */
+    default int getBroadcastCoalesceWindow() {
+        return getApplicationOrSystemProperty(
+                Constants.BROADCAST_COALESCE_WINDOW, 50, Integer::parseInt);
+    }
+
+    /**
+     * Gets the maximum number of UIs that are updated and pushed concurrently
+     * when an update is broadcast. The number of available processors is used
+     * unless the {@link Constants#BROADCAST_MAX_CONCURRENCY} property is set.
+     *
+     * @return the maximum number of concurrently updated UIs
+     */
+    default int getBroadcastMaxConcurrency() {
+        return getApplicationOrSystemProperty(
+                Constants.BROADCAST_MAX_CONCURRENCY,
+                Runtime.getRuntime().availableProcessors(), Integer::parseInt);
+    }
+
+    /**
+     * Gets the minimum time in milliseconds between two asynchronous push
+     * messages sent to the same UI. Changes made during the interval are
+     * merged into the next message, and no new message is sent while the
+     * previous one is still being written. Push messages are not throttled
+     * unless the {@link Constants#PUSH_MIN_INTERVAL} property is set to a
+     * positive value.
+     *
+     * @return the minimum push interval in milliseconds, or 0 to send every
+     *         push right away
+     */
+    default int getPushMinInterval() {
+        return getApplicationOrSystemProperty(Constants.PUSH_MIN_INTERVAL, 0,
+                Integer::parseInt);
+    }
+
+    /**
+     * Gets the maximum number of bytes of static resource and webJar contents
+     * to keep in memory in production mode. The cache holds 16 MB unless the
+     * {@link Constants#STATIC_RESOURCE_CACHE_SIZE} property is set. Setting
+     * the property to 0 disables the cache.
+     *
+     * @return the maximum size of the static resource cache in bytes
+     */
+    default long getStaticResourceCacheSize() {
+        return getApplicationOrSystemProperty(
+                Constants.STATIC_RESOURCE_CACHE_SIZE, 16L * 1024 * 1024,
+                Long::parseLong);
+    }
+
+    /**
+     * Gets the interval in seconds between background runs that close inactive
+     * UIs and sessions, see {@link com.vaadin.flow.server.SessionReaper}.
+     * Inactive UIs are otherwise only closed at the end of a request to the
+     * same session. The background runs are disabled unless the
+     * {@link Constants#SESSION_REAPER_INTERVAL} property is set to a positive
+     * value.
+     *
+     * @return the interval in seconds, or 0 if inactive UIs are only closed
+     *         during requests
+     */
+    default int getSessionReaperInterval() {
+        return getApplicationOrSystemProperty(
+                Constants.SESSION_REAPER_INTERVAL, 0, Integer::parseInt);
+    }
+
+    /**
+     * Gets the maximum size in bytes of a response that is kept for sending it
+     * again if the client resends its message because the response was lost.
+     * Larger responses are not kept and a lost response instead causes the
+     * full state of the UI to be sent to the client. Responses up to 64 KB are
+     * kept unless the {@link Constants#RESPONSE_REPLAY_CACHE_SIZE} property is
+     * set. Setting the property to 0 disables keeping responses.
+     *
+     * @return the maximum size of a kept response in bytes
+     */
+    default int getResponseReplayCacheSize() {
+        return getApplicationOrSystemProperty(
+                Constants.RESPONSE_REPLAY_CACHE_SIZE, 64 * 1024,
+                Integer::parseInt);
+    }
 }
@@ -16,8 +16,8 @@
 package com.vaadin.flow.internal;
 
 import java.io.Serializable;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 
 import elemental.json.Json;
 import elemental.json.JsonObject;
@@ -25,14 +25,23 @@ import elemental.json.JsonObject;
 /**
  * Keeps track of {@link ConstantPoolKey} values that have already been sent to
  * the client.
+ * <p>
+ * The values are known by the 64 bit hashes of the keys, which are stored in a
+ * primitive hash table instead of as id strings.
  *
  * @author Vaadin Ltd
  */
 public class ConstantPool implements Serializable {
 
-    private Set<String> knownValues = new HashSet<>();
+    private static final int INITIAL_CAPACITY = 16;
 
-    private Set<ConstantPoolKey> newKeys = new HashSet<>();
+    // Open addressing with linear probing, 0 marks an empty slot
+    private long[] knownHashes = new long[INITIAL_CAPACITY];
+    private int knownCount;
+    // The zero hash can't be stored in the table
+    private boolean zeroHashKnown;
+
+    private List<ConstantPoolKey> newKeys = new ArrayList<>();
 
     /**
      * Gets the id of a given constant, registering the constant with this
@@ -47,13 +56,56 @@ public class ConstantPool implements Serializable {
     public String getConstantId(ConstantPoolKey constant) {
         assert constant != null;
 
-        String id = constant.getId();
-
-        if (knownValues.add(id)) {
+        if (addKnownHash(constant.getHash())) {
             newKeys.add(constant);
         }
 
-        return id;
+        return constant.getId();
+    }
+
+    private boolean addKnownHash(long hash) {
+        if (hash == 0) {
+            boolean added = !zeroHashKnown;
+            zeroHashKnown = true;
+            return added;
+        }
+
+        int mask = knownHashes.length - 1;
+        int index = mix(hash) & mask;
+        while (knownHashes[index] != 0) {
+            if (knownHashes[index] == hash) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        knownHashes[index] = hash;
+        knownCount++;
+
+        // Keep the load factor at most 1/2
+        if (knownCount * 2 > knownHashes.length) {
+            rehash(knownHashes.length * 2);
+        }
+        return true;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldHashes = knownHashes;
+        knownHashes = new long[capacity];
+        int mask = capacity - 1;
+        for (long hash : oldHashes) {
+            if (hash != 0) {
+                int index = mix(hash) & mask;
+                while (knownHashes[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                knownHashes[index] = hash;
+            }
+        }
+    }
+
+    private static int mix(long hash) {
+        // The hashes are already uniformly distributed digests
+        return (int) (hash ^ hash >>> 32);
     }
 
     /**
@@ -18,8 +18,14 @@ package com.vaadin.flow.internal;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import elemental.json.Json;
 import elemental.json.JsonObject;
 import elemental.json.JsonValue;
 
@@ -31,12 +37,24 @@ import elemental.json.JsonValue;
  * This is a way of deduplicating JSON values that are expected to be sent to
  * the same client multiple times, since all references to the same JSON
  * structure will be encoded as the same id.
+ * <p>
+ * Keys for arrays of strings, such as event data expressions, should be
+ * created using {@link #forStringArray(Collection)}, which shares the same key
+ * instance between all UIs instead of serializing and hashing the JSON again
+ * for each registration.
  *
  * @author Vaadin Ltd
  */
 public class ConstantPoolKey implements Serializable {
-    // Only stored until delivered to the client
+    // Interned keys are shared, so the cache is bounded only for safety
+    private static final int MAX_INTERNED_KEYS = 10000;
+
+    private static final Map<List<String>, ConstantPoolKey> stringArrayKeys = new ConcurrentHashMap<>();
+
+    // Only stored until delivered to the client, unless the key is shared
     private JsonValue json;
+    private final boolean shared;
+    private final long hash;
     private final String id;
 
     /**
@@ -48,10 +66,45 @@ public class ConstantPoolKey implements Serializable {
      *            the JSON constant, not <code>null</code>
      */
     public ConstantPoolKey(JsonValue json) {
+        this(json, false);
+    }
+
+    private ConstantPoolKey(JsonValue json, boolean shared) {
         assert json != null;
         this.json = json;
+        this.shared = shared;
+
+        hash = calculateHash(json);
+        id = encodeId(hash);
+    }
+
+    /**
+     * Gets a constant pool key for a JSON array of the given strings. Keys
+     * are interned, so the JSON representation is created and hashed only once
+     * for each distinct sequence of strings.
+     *
+     * @param values
+     *            the strings to include in the array in iteration order, not
+     *            <code>null</code>
+     * @return a constant pool key for the array, not <code>null</code>
+     */
+    public static ConstantPoolKey forStringArray(Collection<String> values) {
+        assert values != null;
 
-        id = calculateHash(json);
+        List<String> cacheKey = new ArrayList<>(values);
+        ConstantPoolKey key = stringArrayKeys.get(cacheKey);
+        if (key == null) {
+            key = new ConstantPoolKey(cacheKey.stream().map(Json::create)
+                    .collect(JsonUtils.asArray()), true);
+            if (stringArrayKeys.size() < MAX_INTERNED_KEYS) {
+                ConstantPoolKey previous = stringArrayKeys
+                        .putIfAbsent(cacheKey, key);
+                if (previous != null) {
+                    key = previous;
+                }
+            }
+        }
+        return key;
     }
 
     /**
@@ -63,10 +116,22 @@ public class ConstantPoolKey implements Serializable {
         return id;
     }
 
+    /**
+     * Gets the 64 bit hash that the id of this key is an encoding of.
+     *
+     * @return the hash of the referenced JSON constant
+     */
+    public long getHash() {
+        return hash;
+    }
+
     /**
      * Exports the this key into a JSON object to send to the client. This
-     * method should only be called once and only by the {@link ConstantPool}
-     * instance that manages this value.
+     * method should only be called by a {@link ConstantPool} instance that
+     * manages this value. Keys created using the constructor can only be
+     * exported once, since they release their JSON value after being
+     * exported. Keys shared by {@link #forStringArray(Collection)} keep the
+     * value so that any number of constant pools can export them.
      *
      * @param clientConstantPoolUpdate
      *            the constant pool update that is to be sent to the client, not
@@ -74,29 +139,42 @@ public class ConstantPoolKey implements Serializable {
      */
     public void export(JsonObject clientConstantPoolUpdate) {
         assert json != null : "Process can only be called once";
-        assert id.equals(calculateHash(json)) : "Json value has been changed";
+        assert hash == calculateHash(json) : "Json value has been changed";
 
         clientConstantPoolUpdate.put(id, json);
 
-        json = null;
+        if (!shared) {
+            json = null;
+        }
     }
 
     /**
-     * Calculates the key of a JSON value by Base 64 encoding the first 64 bits
-     * of the SHA-256 digest of the JSON's string representation.
+     * Calculates the hash of a JSON value as the first 64 bits of the SHA-256
+     * digest of the JSON's string representation.
      *
      * @param json
      *            the JSON to get a hash of, not <code>null</code>
-     * @return the key uniquely identifying the given JSON value
+     * @return the hash uniquely identifying the given JSON value
      */
-    private static String calculateHash(JsonValue json) {
+    private static long calculateHash(JsonValue json) {
         byte[] digest = MessageDigestUtil.sha256(json.toJson());
 
         /*
          * Only use first 64 bits to keep id string short (1 in 100 000 000
          * collision risk with 500 000 items). 64 bits base64 -> 11 ASCII chars
          */
-        ByteBuffer truncatedDigest = ByteBuffer.wrap(digest, 0, 8);
+        return ByteBuffer.wrap(digest, 0, 8).getLong();
+    }
+
+    /**
+     * Encodes a hash as a Base 64 string.
+     *
+     * @param hash
+     *            the hash to encode
+     * @return the key uniquely identifying a JSON value
+     */
+    private static String encodeId(long hash) {
+        ByteBuffer truncatedDigest = ByteBuffer.allocate(8).putLong(0, hash);
 
         ByteBuffer base64Bytes = Base64.getEncoder().encode(truncatedDigest);
 
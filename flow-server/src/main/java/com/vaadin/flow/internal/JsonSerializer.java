@@ -16,6 +16,7 @@
 package com.vaadin.flow.internal;
 
 import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
 import java.lang.reflect.Array;
@@ -46,6 +47,56 @@ import elemental.json.JsonValue;
  */
 public final class JsonSerializer {
 
+    private static final ReflectionCache<Object, BeanProperties> beanPropertiesCache = new ReflectionCache<>(
+            BeanProperties::new);
+
+    /**
+     * The bean properties of a class, introspected only once.
+     */
+    private static class BeanProperties {
+        private final String[] readableNames;
+        private final Method[] readers;
+        private final Map<String, PropertyWriter> writers = new HashMap<>();
+
+        private BeanProperties(Class<?> type) {
+            BeanInfo info;
+            try {
+                info = Introspector.getBeanInfo(type);
+            } catch (IntrospectionException e) {
+                throw new IllegalStateException(
+                        "Could not introspect type " + type, e);
+            }
+
+            List<String> names = new ArrayList<>();
+            List<Method> methods = new ArrayList<>();
+            for (PropertyDescriptor pd : info.getPropertyDescriptors()) {
+                Method reader = pd.getReadMethod();
+                if (reader != null && !"class".equals(pd.getName())) {
+                    names.add(pd.getName());
+                    methods.add(reader);
+                }
+                Method writer = pd.getWriteMethod();
+                if (writer != null) {
+                    writers.put(pd.getName(), new PropertyWriter(writer));
+                }
+            }
+            readableNames = names.toArray(new String[names.size()]);
+            readers = methods.toArray(new Method[methods.size()]);
+        }
+    }
+
+    private static class PropertyWriter {
+        private final Method method;
+        private final Class<?> type;
+        private final Type genericType;
+
+        private PropertyWriter(Method method) {
+            this.method = method;
+            type = method.getParameterTypes()[0];
+            genericType = method.getGenericParameterTypes()[0];
+        }
+    }
+
     private JsonSerializer() {
     }
 
@@ -80,15 +131,11 @@ public final class JsonSerializer {
 
         try {
             JsonObject json = Json.createObject();
-            BeanInfo info = Introspector.getBeanInfo(bean.getClass());
-            for (PropertyDescriptor pd : info.getPropertyDescriptors()) {
-                if ("class".equals(pd.getName())) {
-                    continue;
-                }
-                Method reader = pd.getReadMethod();
-                if (reader != null) {
-                    json.put(pd.getName(), toJson(reader.invoke(bean)));
-                }
+            BeanProperties properties = beanPropertiesCache
+                    .get(bean.getClass());
+            for (int i = 0; i < properties.readers.length; i++) {
+                json.put(properties.readableNames[i],
+                        toJson(properties.readers[i].invoke(bean)));
             }
 
             return json;
@@ -207,26 +254,14 @@ public final class JsonSerializer {
                 return instance;
             }
 
-            BeanInfo info = Introspector.getBeanInfo(type);
-            Map<String, Method> writers = new HashMap<>();
-
-            for (PropertyDescriptor pd : info.getPropertyDescriptors()) {
-                Method writer = pd.getWriteMethod();
-                if (writer != null) {
-                    writers.put(pd.getName(), writer);
-                }
-            }
+            Map<String, PropertyWriter> writers = beanPropertiesCache
+                    .get(type).writers;
             for (String key : keys) {
-                JsonValue jsonValue = jsonObject.get(key);
-
-                Method method = writers.get(key);
-                if (method != null) {
-                    Class<?> parameterType = method.getParameterTypes()[0];
-                    Type genericParameterType = method
-                            .getGenericParameterTypes()[0];
-                    Object value = toObject(parameterType, genericParameterType,
-                            jsonValue);
-                    method.invoke(instance, value);
+                PropertyWriter writer = writers.get(key);
+                if (writer != null) {
+                    Object value = toObject(writer.type, writer.genericType,
+                            jsonObject.get(key));
+                    writer.method.invoke(instance, value);
                 }
             }
 
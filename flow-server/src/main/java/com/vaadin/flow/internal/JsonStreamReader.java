@@ -0,0 +1,348 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonException;
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+
+/**
+ * Parses JSON directly from a character stream into a
+ * <code>elemental.json</code> tree, without first reading the whole input into
+ * a string.
+ * <p>
+ * The input is read through a small fixed size buffer. Instances are not
+ * thread safe. Use {@link #obtain()} and {@link #release()} to reuse a
+ * per-thread buffer instead of allocating a new one for every message.
+ *
+ * @author Vaadin Ltd
+ */
+public final class JsonStreamReader {
+
+    private static final int BUFFER_SIZE = 4 * 1024;
+
+    /**
+     * Text buffers larger than this are not kept for reuse so that a single
+     * large string does not permanently pin memory to a request thread.
+     */
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    /**
+     * A reader should block until at least one character is available. Reads
+     * returning nothing are retried this many times before giving up, to
+     * avoid spinning forever on a broken reader.
+     */
+    private static final int MAX_EMPTY_READS = 16;
+
+    private static final ThreadLocal<JsonStreamReader> THREAD_READER = ThreadLocal
+            .withInitial(JsonStreamReader::new);
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    private Reader reader;
+
+    // Collects strings and numbers spanning multiple reads
+    private StringBuilder text = new StringBuilder();
+
+    private boolean inUse;
+
+    /**
+     * Creates a new reader with an empty buffer.
+     */
+    public JsonStreamReader() {
+        // Default constructor
+    }
+
+    /**
+     * Gets a reader reusing the buffer of the current thread. The reader must
+     * be handed back using {@link #release()} once it is no longer used.
+     * <p>
+     * If the reader of the current thread is already in use, a new unshared
+     * instance is returned instead.
+     *
+     * @return a reader, not <code>null</code>
+     */
+    public static JsonStreamReader obtain() {
+        JsonStreamReader jsonReader = THREAD_READER.get();
+        if (jsonReader.inUse) {
+            return new JsonStreamReader();
+        }
+        jsonReader.inUse = true;
+        return jsonReader;
+    }
+
+    /**
+     * Releases a reader acquired using {@link #obtain()}, allowing the buffer
+     * to be reused by the current thread. The reader should not be used after
+     * it has been released.
+     */
+    public void release() {
+        inUse = false;
+        reader = null;
+        if (text.capacity() > MAX_RETAINED_CAPACITY) {
+            text = new StringBuilder();
+        }
+    }
+
+    /**
+     * Reads a single JSON value from the given character stream. The stream
+     * may not contain anything but white space after the value.
+     *
+     * @param input
+     *            the character stream to read from, not <code>null</code>
+     * @return the parsed JSON value, or <code>null</code> if the stream is
+     *         empty or only contains white space
+     * @throws IOException
+     *             if reading the stream fails
+     * @throws JsonException
+     *             if the stream does not contain valid JSON
+     */
+    public JsonValue read(Reader input) throws IOException {
+        assert input != null;
+
+        reader = input;
+        position = 0;
+        limit = 0;
+        try {
+            if (peekNonWhitespace() == -1) {
+                return null;
+            }
+            JsonValue value = readValue();
+            if (peekNonWhitespace() != -1) {
+                throw error("Unexpected content after the JSON value");
+            }
+            return value;
+        } finally {
+            reader = null;
+        }
+    }
+
+    private JsonValue readValue() throws IOException {
+        int c = peekNonWhitespace();
+        switch (c) {
+        case '{':
+            position++;
+            return readObject();
+        case '[':
+            position++;
+            return readArray();
+        case '"':
+            position++;
+            return Json.create(readString());
+        case 't':
+            expectLiteral("true");
+            return Json.create(true);
+        case 'f':
+            expectLiteral("false");
+            return Json.create(false);
+        case 'n':
+            expectLiteral("null");
+            return Json.createNull();
+        case -1:
+            throw error("Unexpected end of input");
+        default:
+            if (c == '-' || c >= '0' && c <= '9') {
+                return Json.create(readNumber());
+            }
+            throw error("Unexpected character '" + (char) c + "'");
+        }
+    }
+
+    private JsonObject readObject() throws IOException {
+        JsonObject object = Json.createObject();
+        if (peekNonWhitespace() == '}') {
+            position++;
+            return object;
+        }
+        while (true) {
+            expect('"');
+            String key = readString();
+            expect(':');
+            object.put(key, readValue());
+
+            int c = nextNonWhitespace();
+            if (c == '}') {
+                return object;
+            } else if (c != ',') {
+                throw error("Expected ',' or '}' in an object");
+            }
+        }
+    }
+
+    private JsonArray readArray() throws IOException {
+        JsonArray array = Json.createArray();
+        if (peekNonWhitespace() == ']') {
+            position++;
+            return array;
+        }
+        while (true) {
+            array.set(array.length(), readValue());
+
+            int c = nextNonWhitespace();
+            if (c == ']') {
+                return array;
+            } else if (c != ',') {
+                throw error("Expected ',' or ']' in an array");
+            }
+        }
+    }
+
+    private String readString() throws IOException {
+        text.setLength(0);
+        while (true) {
+            // Copy everything up to the next special character at once
+            int start = position;
+            while (position < limit && buffer[position] != '"'
+                    && buffer[position] != '\\') {
+                position++;
+            }
+            text.append(buffer, start, position - start);
+
+            int c = next();
+            if (c == '"') {
+                return text.toString();
+            } else if (c == '\\') {
+                text.append(readEscape());
+            } else if (c == -1) {
+                throw error("Unterminated string");
+            } else {
+                // Buffer was refilled, c is a regular character
+                text.append((char) c);
+            }
+        }
+    }
+
+    private char readEscape() throws IOException {
+        int c = next();
+        switch (c) {
+        case '"':
+        case '\\':
+        case '/':
+            return (char) c;
+        case 'b':
+            return '\b';
+        case 'f':
+            return '\f';
+        case 'n':
+            return '\n';
+        case 'r':
+            return '\r';
+        case 't':
+            return '\t';
+        case 'u':
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                int digit = Character.digit(next(), 16);
+                if (digit == -1) {
+                    throw error("Invalid unicode escape");
+                }
+                value = value * 16 + digit;
+            }
+            return (char) value;
+        default:
+            throw error("Invalid escape");
+        }
+    }
+
+    private double readNumber() throws IOException {
+        text.setLength(0);
+        int c = peek();
+        while (c != -1 && isNumberCharacter((char) c)) {
+            text.append((char) c);
+            position++;
+            c = peek();
+        }
+        try {
+            return Double.parseDouble(text.toString());
+        } catch (NumberFormatException e) {
+            throw error("Invalid number " + text);
+        }
+    }
+
+    private static boolean isNumberCharacter(char c) {
+        return c >= '0' && c <= '9' || c == '-' || c == '+' || c == '.'
+                || c == 'e' || c == 'E';
+    }
+
+    private void expectLiteral(String literal) throws IOException {
+        for (int i = 0; i < literal.length(); i++) {
+            if (next() != literal.charAt(i)) {
+                throw error("Expected " + literal);
+            }
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        if (nextNonWhitespace() != expected) {
+            throw error("Expected '" + expected + "'");
+        }
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        int c = peekNonWhitespace();
+        if (c != -1) {
+            position++;
+        }
+        return c;
+    }
+
+    private int peekNonWhitespace() throws IOException {
+        int c = peek();
+        while (c == ' ' || c == '\t' || c == '\n' || c == '\r') {
+            position++;
+            c = peek();
+        }
+        return c;
+    }
+
+    private int next() throws IOException {
+        int c = peek();
+        if (c != -1) {
+            position++;
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit) {
+            int read = reader.read(buffer, 0, buffer.length);
+            for (int emptyReads = 1; read == 0; emptyReads++) {
+                if (emptyReads == MAX_EMPTY_READS) {
+                    throw new IOException("Reader returned no characters "
+                            + MAX_EMPTY_READS + " times in a row");
+                }
+                read = reader.read(buffer, 0, buffer.length);
+            }
+            position = 0;
+            limit = Math.max(read, 0);
+            if (read == -1) {
+                return -1;
+            }
+        }
+        return buffer[position];
+    }
+
+    private static JsonException error(String message) {
+        return new JsonException(message);
+    }
+}
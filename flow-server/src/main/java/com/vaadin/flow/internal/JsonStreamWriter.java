@@ -0,0 +1,534 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+
+/**
+ * Writes JSON tokens directly as UTF-8 encoded bytes into an internal buffer,
+ * without first building a <code>elemental.json</code> tree and serializing it
+ * to a string.
+ * <p>
+ * The produced output is identical to what {@link JsonValue#toJson()} would
+ * produce for the corresponding tree. Instances are not thread safe. Use
+ * {@link #obtain()} and {@link #release()} to reuse a per-thread buffer
+ * instead of allocating a new one for every message.
+ *
+ * @author Vaadin Ltd
+ */
+public final class JsonStreamWriter {
+
+    private static final int INITIAL_CAPACITY = 8 * 1024;
+
+    /**
+     * Buffers larger than this are not kept for reuse so that a single large
+     * message does not permanently pin memory to a request thread.
+     */
+    private static final int MAX_RETAINED_CAPACITY = 256 * 1024;
+
+    private static final byte[] HEX = "0123456789abcdef"
+            .getBytes(StandardCharsets.US_ASCII);
+
+    private static final ThreadLocal<JsonStreamWriter> THREAD_WRITER = ThreadLocal
+            .withInitial(JsonStreamWriter::new);
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int count;
+
+    /*
+     * One entry per open object or array: true until the first member has
+     * been written, used for deciding whether a separator is needed.
+     */
+    private boolean[] firstInScope = new boolean[16];
+    private int depth;
+    private boolean afterName;
+
+    private boolean inUse;
+
+    /**
+     * Creates a new writer with an empty buffer.
+     */
+    public JsonStreamWriter() {
+        // Default constructor
+    }
+
+    /**
+     * Gets an empty writer reusing the buffer of the current thread. The
+     * writer must be handed back using {@link #release()} once its contents
+     * have been consumed.
+     * <p>
+     * If the writer of the current thread is already in use, a new unshared
+     * instance is returned instead.
+     *
+     * @return an empty writer, not <code>null</code>
+     */
+    public static JsonStreamWriter obtain() {
+        JsonStreamWriter writer = THREAD_WRITER.get();
+        if (writer.inUse) {
+            return new JsonStreamWriter();
+        }
+        writer.inUse = true;
+        writer.reset();
+        return writer;
+    }
+
+    /**
+     * Releases a writer acquired using {@link #obtain()}, allowing the buffer
+     * to be reused by the current thread. The writer should not be used after
+     * it has been released.
+     */
+    public void release() {
+        inUse = false;
+        reset();
+        if (buffer.length > MAX_RETAINED_CAPACITY) {
+            buffer = new byte[INITIAL_CAPACITY];
+        }
+    }
+
+    /**
+     * Clears the contents of this writer so that it can be used for writing a
+     * new message.
+     */
+    public void reset() {
+        count = 0;
+        depth = 0;
+        afterName = false;
+    }
+
+    /**
+     * Starts a new JSON object.
+     *
+     * @return this writer, for chaining
+     */
+    public JsonStreamWriter beginObject() {
+        beforeValue();
+        writeByte('{');
+        push();
+        return this;
+    }
+
+    /**
+     * Ends the current JSON object.
+     *
+     * @return this writer, for chaining
+     */
+    public JsonStreamWriter endObject() {
+        pop();
+        writeByte('}');
+        return this;
+    }
+
+    /**
+     * Starts a new JSON array.
+     *
+     * @return this writer, for chaining
+     */
+    public JsonStreamWriter beginArray() {
+        beforeValue();
+        writeByte('[');
+        push();
+        return this;
+    }
+
+    /**
+     * Ends the current JSON array.
+     *
+     * @return this writer, for chaining
+     */
+    public JsonStreamWriter endArray() {
+        pop();
+        writeByte(']');
+        return this;
+    }
+
+    /**
+     * Writes the name of an object member. Must be followed by exactly one
+     * value.
+     *
+     * @param name
+     *            the member name, not <code>null</code>
+     * @return this writer, for chaining
+     */
+    public JsonStreamWriter name(String name) {
+        assert depth > 0 : "Cannot write a name outside an object";
+        assert !afterName : "Expected a value, got a name";
+        separate();
+        writeQuoted(name);
+        writeByte(':');
+        afterName = true;
+        return this;
+    }
+
+    /**
+     * Writes a string value.
+     *
+     * @param value
+     *            the value to write, or <code>null</code> to write a JSON null
+     * @return this writer, for chaining
+     */
+    public JsonStreamWriter value(String value) {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        writeQuoted(value);
+        return this;
+    }
+
+    /**
+     * Writes an integer value.
+     *
+     * @param value
+     *            the value to write
+     * @return this writer, for chaining
+     */
+    public JsonStreamWriter value(long value) {
+        beforeValue();
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return this;
+        }
+        if (value < 0) {
+            writeByte('-');
+            value = -value;
+        }
+        int start = count;
+        do {
+            writeByte((int) ('0' + value % 10));
+            value /= 10;
+        } while (value != 0);
+        // Digits were written in reverse order
+        for (int i = start, j = count - 1; i < j; i++, j--) {
+            byte tmp = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = tmp;
+        }
+        return this;
+    }
+
+    /**
+     * Writes a number value. Infinite and NaN values are written as JSON null
+     * in the same way as {@link JsonValue#toJson()} does.
+     *
+     * @param value
+     *            the value to write
+     * @return this writer, for chaining
+     */
+    public JsonStreamWriter value(double value) {
+        if (Double.isInfinite(value) || Double.isNaN(value)) {
+            return nullValue();
+        }
+        if (Math.abs(value) < 1e7 && value == (long) value
+                && (value != 0 || 1 / value > 0)) {
+            /*
+             * Double.toString would produce the same digits followed by ".0"
+             * which is then stripped. Larger values use scientific notation
+             * and negative zero is written as "-0".
+             */
+            return value((long) value);
+        }
+        beforeValue();
+        String string = String.valueOf(value);
+        if (string.endsWith(".0")) {
+            string = string.substring(0, string.length() - 2);
+        }
+        writeAscii(string);
+        return this;
+    }
+
+    /**
+     * Writes a boolean value.
+     *
+     * @param value
+     *            the value to write
+     * @return this writer, for chaining
+     */
+    public JsonStreamWriter value(boolean value) {
+        beforeValue();
+        writeAscii(value ? "true" : "false");
+        return this;
+    }
+
+    /**
+     * Writes a JSON null value.
+     *
+     * @return this writer, for chaining
+     */
+    public JsonStreamWriter nullValue() {
+        beforeValue();
+        writeAscii("null");
+        return this;
+    }
+
+    /**
+     * Writes an <code>elemental.json</code> value by traversing it, without
+     * converting it to a string first.
+     *
+     * @param value
+     *            the value to write, or <code>null</code> to write a JSON null
+     * @return this writer, for chaining
+     */
+    public JsonStreamWriter value(JsonValue value) {
+        if (value == null) {
+            return nullValue();
+        }
+        switch (value.getType()) {
+        case OBJECT:
+            JsonObject object = (JsonObject) value;
+            beginObject();
+            for (String key : object.keys()) {
+                name(key).value(object.<JsonValue> get(key));
+            }
+            return endObject();
+        case ARRAY:
+            JsonArray array = (JsonArray) value;
+            beginArray();
+            for (int i = 0; i < array.length(); i++) {
+                value(array.<JsonValue> get(i));
+            }
+            return endArray();
+        case STRING:
+            return value(value.asString());
+        case NUMBER:
+            return value(value.asNumber());
+        case BOOLEAN:
+            return value(value.asBoolean());
+        case NULL:
+            return nullValue();
+        default:
+            throw new IllegalArgumentException(
+                    "Unsupported JSON type: " + value.getType());
+        }
+    }
+
+    /**
+     * Writes a raw string as is, without any validation or escaping. Used for
+     * wrapping the JSON with e.g. a prefix preventing cross-site script
+     * inclusion.
+     *
+     * @param raw
+     *            the string to write, not <code>null</code>
+     * @return this writer, for chaining
+     */
+    public JsonStreamWriter raw(String raw) {
+        writeChars(raw);
+        return this;
+    }
+
+    /**
+     * Gets the number of bytes written so far.
+     *
+     * @return the number of written bytes
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Writes the UTF-8 encoded contents of this writer to the given stream.
+     *
+     * @param out
+     *            the stream to write to, not <code>null</code>
+     * @throws IOException
+     *             if writing to the stream fails
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, count);
+    }
+
+    /**
+     * Gets a copy of the UTF-8 encoded contents of this writer.
+     *
+     * @return the written bytes
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, count);
+    }
+
+    /**
+     * Gets the contents of this writer as a string.
+     *
+     * @return the written contents
+     */
+    @Override
+    public String toString() {
+        return new String(buffer, 0, count, StandardCharsets.UTF_8);
+    }
+
+    private void push() {
+        if (depth == firstInScope.length) {
+            firstInScope = Arrays.copyOf(firstInScope, depth * 2);
+        }
+        firstInScope[depth++] = true;
+        afterName = false;
+    }
+
+    private void pop() {
+        assert depth > 0 : "No open object or array";
+        assert !afterName : "Expected a value, got the end of an object";
+        depth--;
+    }
+
+    private void beforeValue() {
+        if (afterName) {
+            afterName = false;
+        } else {
+            separate();
+        }
+    }
+
+    private void separate() {
+        if (depth > 0) {
+            if (firstInScope[depth - 1]) {
+                firstInScope[depth - 1] = false;
+            } else {
+                writeByte(',');
+            }
+        }
+    }
+
+    private void writeQuoted(String value) {
+        writeByte('"');
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '\b':
+                writeAscii("\\b");
+                break;
+            case '\t':
+                writeAscii("\\t");
+                break;
+            case '\n':
+                writeAscii("\\n");
+                break;
+            case '\f':
+                writeAscii("\\f");
+                break;
+            case '\r':
+                writeAscii("\\r");
+                break;
+            case '"':
+                writeAscii("\\\"");
+                break;
+            case '\\':
+                writeAscii("\\\\");
+                break;
+            default:
+                if (isControlChar(c)) {
+                    writeUnicodeEscape(c);
+                } else if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    writeCodePoint(Character.toCodePoint(c,
+                            value.charAt(++i)));
+                } else {
+                    writeChar(c);
+                }
+            }
+        }
+        writeByte('"');
+    }
+
+    private void writeUnicodeEscape(char c) {
+        ensureCapacity(6);
+        buffer[count++] = '\\';
+        buffer[count++] = 'u';
+        buffer[count++] = HEX[(c >> 12) & 0xf];
+        buffer[count++] = HEX[(c >> 8) & 0xf];
+        buffer[count++] = HEX[(c >> 4) & 0xf];
+        buffer[count++] = HEX[c & 0xf];
+    }
+
+    /*
+     * Same set of characters as escaped by elemental.json.impl.JsonUtil so
+     * that the output is identical to JsonValue.toJson().
+     */
+    private static boolean isControlChar(char c) {
+        return c <= 0x1f || (c >= 0x7f && c <= 0x9f) || c == '\u00ad'
+                || c == '\u070f' || c == '\u17b4' || c == '\u17b5'
+                || c == '\ufeff' || (c >= '\u0600' && c <= '\u0604')
+                || (c >= '\u200c' && c <= '\u200f')
+                || (c >= '\u2028' && c <= '\u202f')
+                || (c >= '\u2060' && c <= '\u206f') || c >= '\ufff0';
+    }
+
+    private void writeChars(String string) {
+        int length = string.length();
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(string.charAt(i + 1))) {
+                writeCodePoint(Character.toCodePoint(c, string.charAt(++i)));
+            } else {
+                writeChar(c);
+            }
+        }
+    }
+
+    private void writeAscii(String ascii) {
+        int length = ascii.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            buffer[count++] = (byte) ascii.charAt(i);
+        }
+    }
+
+    private void writeChar(char c) {
+        if (c < 0x80) {
+            writeByte(c);
+        } else if (c < 0x800) {
+            ensureCapacity(2);
+            buffer[count++] = (byte) (0xc0 | (c >> 6));
+            buffer[count++] = (byte) (0x80 | (c & 0x3f));
+        } else if (Character.isSurrogate(c)) {
+            // Unpaired surrogate, encoded as '?' like String.getBytes does
+            writeByte('?');
+        } else {
+            ensureCapacity(3);
+            buffer[count++] = (byte) (0xe0 | (c >> 12));
+            buffer[count++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+            buffer[count++] = (byte) (0x80 | (c & 0x3f));
+        }
+    }
+
+    private void writeCodePoint(int codePoint) {
+        ensureCapacity(4);
+        buffer[count++] = (byte) (0xf0 | (codePoint >> 18));
+        buffer[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+        buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+        buffer[count++] = (byte) (0x80 | (codePoint & 0x3f));
+    }
+
+    private void writeByte(int b) {
+        ensureCapacity(1);
+        buffer[count++] = (byte) b;
+    }
+
+    private void ensureCapacity(int additional) {
+        int required = count + additional;
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer,
+                    Math.max(required, buffer.length * 2));
+        }
+    }
+}
@@ -154,6 +154,22 @@ public class ResponseWriter implements Serializable {
      *         version of the resource, false otherwise
      */
     protected boolean acceptsGzippedResource(HttpServletRequest request) {
+        return acceptsEncoding(request, "gzip");
+    }
+
+    /**
+     * Returns whether the client accepts a response in the given content
+     * encoding based on the <code>Accept-Encoding</code> header of the
+     * request.
+     *
+     * @param request
+     *            the request for the resource
+     * @param encoding
+     *            the content encoding, e.g. <code>gzip</code>
+     * @return true if the encoding is accepted, false otherwise
+     */
+    static boolean acceptsEncoding(HttpServletRequest request,
+            String encoding) {
         String accept = request.getHeader("Accept-Encoding");
         if (accept == null) {
             return false;
@@ -168,8 +184,8 @@ public class ResponseWriter implements Serializable {
         // "gzip;q=[notzero]"
         // "*"
         // "*;q=[not zero]"
-        if (accept.contains("gzip")) {
-            return !isQZero(accept, "gzip");
+        if (accept.contains(encoding)) {
+            return !isQZero(accept, encoding);
         }
         return accept.contains("*") && !isQZero(accept, "*");
     }
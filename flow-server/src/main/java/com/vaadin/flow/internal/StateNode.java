@@ -16,16 +16,18 @@
 
 package com.vaadin.flow.internal;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -49,11 +51,17 @@ import com.vaadin.flow.shared.Registration;
  * @author Vaadin Ltd
  */
 public class StateNode implements Serializable {
-    private final Map<Class<? extends NodeFeature>, NodeFeature> features = new HashMap<>();
+    /*
+     * Features and change trackers are indexed by their NodeFeatureRegistry
+     * ids and written in a compact form by writeObject.
+     */
+    private transient NodeFeature[] features;
 
-    private final Set<Class<? extends NodeFeature>> reportedFeatures = new HashSet<>();
+    // Bit mask of NodeFeatureRegistry ids
+    private long reportedFeatures;
 
-    private Map<Class<? extends NodeFeature>, Serializable> changes;
+    // Null if there are no changes
+    private transient Serializable[] changes;
 
     private List<Command> attachListeners;
 
@@ -92,8 +100,7 @@ public class StateNode implements Serializable {
      */
     @SuppressWarnings("unchecked")
     public StateNode(StateNode node) {
-        this(new ArrayList<>(node.reportedFeatures),
-                getNonRepeatebleFeatures(node));
+        this(node.getReportedFeatureTypes(), getNonRepeatebleFeatures(node));
     }
 
     /**
@@ -109,9 +116,18 @@ public class StateNode implements Serializable {
     @SafeVarargs
     public StateNode(List<Class<? extends NodeFeature>> reportableFeatureTypes,
             Class<? extends NodeFeature>... nonReportableFeatureTypes) {
-        reportedFeatures.addAll(reportableFeatureTypes);
-        Stream.concat(reportableFeatureTypes.stream(),
-                Stream.of(nonReportableFeatureTypes)).forEach(this::addFeature);
+        int maxId = -1;
+        for (Class<? extends NodeFeature> featureType : reportableFeatureTypes) {
+            int id = NodeFeatureRegistry.getId(featureType);
+            reportedFeatures |= 1L << id;
+            maxId = Math.max(maxId, id);
+        }
+        for (Class<? extends NodeFeature> featureType : nonReportableFeatureTypes) {
+            maxId = Math.max(maxId, NodeFeatureRegistry.getId(featureType));
+        }
+        features = new NodeFeature[maxId + 1];
+        reportableFeatureTypes.forEach(this::addFeature);
+        Stream.of(nonReportableFeatureTypes).forEach(this::addFeature);
     }
 
     /**
@@ -221,7 +237,7 @@ public class StateNode implements Serializable {
     }
 
     private void forEachChild(Consumer<StateNode> action) {
-        getFeatures().values().forEach(n -> n.forEachChild(action));
+        forEachFeature(feature -> feature.forEachChild(action));
     }
 
     /**
@@ -250,7 +266,7 @@ public class StateNode implements Serializable {
     public <T extends NodeFeature> T getFeature(Class<T> featureType) {
         assert featureType != null;
 
-        NodeFeature feature = getFeatures().get(featureType);
+        NodeFeature feature = findFeature(featureType);
         if (feature == null) {
             throw new IllegalStateException(
                     "Node does not have the feature " + featureType);
@@ -270,7 +286,7 @@ public class StateNode implements Serializable {
     public boolean hasFeature(Class<? extends NodeFeature> featureType) {
         assert featureType != null;
 
-        return getFeatures().containsKey(featureType);
+        return findFeature(featureType) != null;
     }
 
     /**
@@ -322,8 +338,7 @@ public class StateNode implements Serializable {
 
                 // Make all changes show up as if the node was recently attached
                 clearChanges();
-                getFeatures().values()
-                        .forEach(NodeFeature::generateChangesFromEmpty);
+                forEachFeature(NodeFeature::generateChangesFromEmpty);
             } else {
                 collector.accept(new NodeDetachChange(this));
             }
@@ -355,16 +370,16 @@ public class StateNode implements Serializable {
             }
             if (isInitialChanges) {
                 // send only required (reported) features updates
-                Stream<NodeFeature> initialFeatures = Stream
-                        .concat(getFeatures().entrySet().stream().filter(
-                                entry -> isReportedFeature(entry.getKey()))
-                                .map(Entry::getValue), getDisalowFeatures());
+                Stream<NodeFeature> initialFeatures = Stream.concat(
+                        getFeatures().filter(feature -> isReportedFeature(
+                                NodeFeatureRegistry.getId(feature.getClass()))),
+                        getDisalowFeatures());
                 doCollectChanges(collector, initialFeatures);
             } else {
                 doCollectChanges(collector, getDisalowFeatures());
             }
         } else {
-            doCollectChanges(collector, getFeatures().values().stream());
+            doCollectChanges(collector, getFeatures());
         }
     }
 
@@ -372,13 +387,17 @@ public class StateNode implements Serializable {
             Stream<NodeFeature> features) {
         features.filter(this::hasChangeTracker).forEach(feature -> {
             feature.collectChanges(collector);
-            changes.remove(feature.getClass());
+            changes[NodeFeatureRegistry.getId(feature.getClass())] = null;
         });
         isInitialChanges = false;
     }
 
     private boolean hasChangeTracker(NodeFeature nodeFeature) {
-        return changes != null && changes.containsKey(nodeFeature.getClass());
+        if (changes == null) {
+            return false;
+        }
+        int id = NodeFeatureRegistry.getId(nodeFeature.getClass());
+        return id < changes.length && changes[id] != null;
     }
 
     /**
@@ -389,6 +408,23 @@ public class StateNode implements Serializable {
         changes = null;
     }
 
+    /**
+     * Makes this node report its full state in the next collected changes, as
+     * if it had just been attached. The root node reports all its features
+     * without an attach change, since the client side root node is never
+     * created again.
+     */
+    void prepareForResync() {
+        if (getParent() == null && isAttached()) {
+            clearChanges();
+            forEachFeature(NodeFeature::generateChangesFromEmpty);
+        } else {
+            // Reports an attach change if the node is still attached
+            wasAttached = false;
+        }
+        isInitialChanges = true;
+    }
+
     /**
      * Applies the {@code visitor} to this node and all its descendants.
      * <p>
@@ -547,7 +583,7 @@ public class StateNode implements Serializable {
             copy.forEach(Command::execute);
         }
 
-        getFeatures().values().forEach(f -> f.onAttach(initialAttach));
+        forEachFeature(feature -> feature.onAttach(initialAttach));
     }
 
     private void fireDetachListeners() {
@@ -557,7 +593,7 @@ public class StateNode implements Serializable {
             copy.forEach(Command::execute);
         }
 
-        getFeatures().values().forEach(NodeFeature::onDetach);
+        forEachFeature(NodeFeature::onDetach);
     }
 
     /**
@@ -575,12 +611,20 @@ public class StateNode implements Serializable {
     @SuppressWarnings("unchecked")
     public <T extends Serializable> T getChangeTracker(NodeFeature feature,
             Supplier<T> factory) {
+        int id = NodeFeatureRegistry.getId(feature.getClass());
         if (changes == null) {
-            changes = new HashMap<>();
+            changes = new Serializable[Math.max(features.length, id + 1)];
+        } else if (id >= changes.length) {
+            // The feature has not been created through this node
+            changes = Arrays.copyOf(changes, id + 1);
         }
 
-        return (T) changes.computeIfAbsent(feature.getClass(),
-                k -> factory.get());
+        Serializable tracker = changes[id];
+        if (tracker == null) {
+            tracker = factory.get();
+            changes[id] = tracker;
+        }
+        return (T) tracker;
     }
 
     /**
@@ -616,7 +660,11 @@ public class StateNode implements Serializable {
      * @return whether the feature required by the client side
      */
     public boolean isReportedFeature(Class<? extends NodeFeature> featureType) {
-        return reportedFeatures.contains(featureType);
+        return isReportedFeature(NodeFeatureRegistry.getId(featureType));
+    }
+
+    private boolean isReportedFeature(int featureId) {
+        return (reportedFeatures & 1L << featureId) != 0;
     }
 
     /**
@@ -646,8 +694,7 @@ public class StateNode implements Serializable {
     }
 
     private Stream<NodeFeature> getDisalowFeatures() {
-        return getFeatures().values().stream()
-                .filter(feature -> !feature.allowsChanges());
+        return getFeatures().filter(feature -> !feature.allowsChanges());
     }
 
     private void setInactive(boolean inactive) {
@@ -674,24 +721,140 @@ public class StateNode implements Serializable {
     }
 
     private void addFeature(Class<? extends NodeFeature> featureType) {
-        if (!features.containsKey(featureType)) {
-            NodeFeature feature = NodeFeatureRegistry.create(featureType, this);
-            features.put(featureType, feature);
+        int id = NodeFeatureRegistry.getId(featureType);
+        if (features[id] == null) {
+            features[id] = NodeFeatureRegistry.create(featureType, this);
         }
     }
 
-    private Map<Class<? extends NodeFeature>, NodeFeature> getFeatures() {
-        return features;
+    private NodeFeature findFeature(Class<? extends NodeFeature> featureType) {
+        int id = NodeFeatureRegistry.getId(featureType);
+        return id < features.length ? features[id] : null;
+    }
+
+    private Stream<NodeFeature> getFeatures() {
+        return Stream.of(features).filter(Objects::nonNull);
+    }
+
+    private void forEachFeature(Consumer<NodeFeature> action) {
+        for (NodeFeature feature : features) {
+            if (feature != null) {
+                action.accept(feature);
+            }
+        }
+    }
+
+    private List<Class<? extends NodeFeature>> getReportedFeatureTypes() {
+        List<Class<? extends NodeFeature>> types = new ArrayList<>();
+        for (int id = 0; id < features.length; id++) {
+            if (features[id] != null && isReportedFeature(id)) {
+                types.add(NodeFeatureRegistry.getFeature(id));
+            }
+        }
+        return types;
     }
 
     @SuppressWarnings("rawtypes")
     private static Class[] getNonRepeatebleFeatures(StateNode node) {
-        if (node.reportedFeatures.isEmpty()) {
-            Set<Class<? extends NodeFeature>> set = node.features.keySet();
-            return set.toArray(new Class[set.size()]);
+        return node.getFeatures()
+                .filter(feature -> !node.isReportedFeature(
+                        NodeFeatureRegistry.getId(feature.getClass())))
+                .map(NodeFeature::getClass).toArray(Class[]::new);
+    }
+
+    /**
+     * Writes the features of the node by their registry ids instead of their
+     * classes. Features that still have their initial state are not written,
+     * since they can be created again when the node is read.
+     */
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.defaultWriteObject();
+
+        BitSet featureIds = new BitSet();
+        BitSet writtenIds = new BitSet();
+        for (int id = 0; id < features.length; id++) {
+            NodeFeature feature = features[id];
+            if (feature != null) {
+                featureIds.set(id);
+                if (!feature.hasInitialState() || hasChangeTracker(feature)) {
+                    writtenIds.set(id);
+                }
+            }
+        }
+
+        writeFeatureIds(stream, featureIds);
+        writeFeatureIds(stream, writtenIds);
+        for (int id = writtenIds.nextSetBit(0); id >= 0; id = writtenIds
+                .nextSetBit(id + 1)) {
+            stream.writeObject(features[id]);
+        }
+
+        BitSet changedIds = new BitSet();
+        if (changes != null) {
+            for (int id = 0; id < changes.length; id++) {
+                if (changes[id] != null) {
+                    changedIds.set(id);
+                }
+            }
+        }
+        writeFeatureIds(stream, changedIds);
+        for (int id = changedIds.nextSetBit(0); id >= 0; id = changedIds
+                .nextSetBit(id + 1)) {
+            stream.writeObject(changes[id]);
+        }
+    }
+
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+
+        BitSet featureIds = readFeatureIds(stream);
+        BitSet writtenIds = readFeatureIds(stream);
+
+        features = new NodeFeature[featureIds.length()];
+        for (int id = writtenIds.nextSetBit(0); id >= 0; id = writtenIds
+                .nextSetBit(id + 1)) {
+            features[id] = (NodeFeature) stream.readObject();
+        }
+        for (int id = featureIds.nextSetBit(0); id >= 0; id = featureIds
+                .nextSetBit(id + 1)) {
+            addFeature(getFeatureType(id));
+        }
+
+        BitSet changedIds = readFeatureIds(stream);
+        if (!changedIds.isEmpty()) {
+            changes = new Serializable[changedIds.length()];
+            for (int id = changedIds.nextSetBit(0); id >= 0; id = changedIds
+                    .nextSetBit(id + 1)) {
+                changes[id] = (Serializable) stream.readObject();
+            }
+        }
+    }
+
+    private static void writeFeatureIds(ObjectOutputStream stream, BitSet ids)
+            throws IOException {
+        long[] words = ids.toLongArray();
+        stream.writeByte(words.length);
+        for (long word : words) {
+            stream.writeLong(word);
+        }
+    }
+
+    private static BitSet readFeatureIds(ObjectInputStream stream)
+            throws IOException {
+        long[] words = new long[stream.readUnsignedByte()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = stream.readLong();
+        }
+        return BitSet.valueOf(words);
+    }
+
+    private static Class<? extends NodeFeature> getFeatureType(int id)
+            throws InvalidObjectException {
+        Class<? extends NodeFeature> type = NodeFeatureRegistry.getFeature(id);
+        if (type == null) {
+            throw new InvalidObjectException("Unknown node feature id " + id);
         }
-        return node.features.keySet().stream()
-                .filter(clazz -> !node.reportedFeatures.contains(clazz))
-                .toArray(Class[]::new);
+        return type;
     }
 }
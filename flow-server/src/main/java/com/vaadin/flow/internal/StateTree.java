@@ -16,6 +16,9 @@
 
 package com.vaadin.flow.internal;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.lang.ref.WeakReference;
 import java.util.Collections;
 import java.util.HashMap;
@@ -113,7 +116,8 @@ public class StateTree implements NodeOwner {
 
     private Set<StateNode> dirtyNodes = new LinkedHashSet<>();
 
-    private final Map<Integer, StateNode> idToNode = new HashMap<>();
+    // Written as a plain sequence of nodes by writeObject
+    private transient Map<Integer, StateNode> idToNode = new HashMap<>();
 
     private LinkedList<StateNodeOnBeforeClientResponse> executionsToProcessBeforeResponse = new LinkedList<>();
 
@@ -232,6 +236,20 @@ public class StateTree implements NodeOwner {
         dirtyNodes.add(node);
     }
 
+    /**
+     * Makes all the nodes in this tree report their full state in the next
+     * collected changes, as if they had just been attached. Pending changes
+     * of nodes that have been detached are discarded, since the client is
+     * expected to create its state tree again from the collected changes.
+     */
+    public void prepareForResync() {
+        dirtyNodes.forEach(StateNode::prepareForResync);
+        rootNode.visitNodeTree(node -> {
+            node.prepareForResync();
+            markAsDirty(node);
+        });
+    }
+
     /**
      * Gets all the nodes that have been marked as dirty since the last time
      * this method was invoked.
@@ -353,4 +371,23 @@ public class StateTree implements NodeOwner {
         executionsToProcessBeforeResponse = new LinkedList<>();
         return flushed;
     }
+
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.defaultWriteObject();
+        stream.writeInt(idToNode.size());
+        for (StateNode node : idToNode.values()) {
+            stream.writeObject(node);
+        }
+    }
+
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        int size = stream.readInt();
+        idToNode = new HashMap<>(size * 4 / 3 + 1);
+        for (int i = 0; i < size; i++) {
+            StateNode node = (StateNode) stream.readObject();
+            idToNode.put(Integer.valueOf(node.getId()), node);
+        }
+    }
 }
@@ -0,0 +1,396 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache for static resources and webJar files served in production mode,
+ * shared by all the servlets of a servlet context.
+ * <p>
+ * Each entry holds the resolved metadata of a resource: its length,
+ * modification timestamp, MIME type and a strong entity tag. The contents of
+ * small resources are also kept in memory together with a gzip compressed
+ * copy and any precompressed <code>.gz</code> or <code>.br</code> sibling
+ * files, so that those resources are served without looking them up from the
+ * servlet context or the class path. The cache is bounded by the total number
+ * of bytes held in memory and evicts the least recently used entries first.
+ * <p>
+ * Resources are assumed not to change while the application is running, so
+ * the cache should only be used in production mode.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ */
+public class StaticResourceCache implements Serializable {
+
+    /**
+     * The maximum length of a resource for which the contents are kept in
+     * memory.
+     */
+    static final int MAX_IN_MEMORY_LENGTH = 512 * 1024;
+
+    private static final ResponseWriter RESPONSE_WRITER = new ResponseWriter();
+
+    /**
+     * Metadata and possibly the contents of a resource.
+     */
+    public static final class CachedResource implements Serializable {
+        private final String path;
+        private final URL url;
+        private final String mimeType;
+        private final long lastModified;
+        private final long length;
+        private final String eTag;
+        private final byte[] contents;
+        private final byte[] gzipped;
+        private final byte[] brotli;
+
+        private CachedResource(String path, URL url, String mimeType,
+                long lastModified, long length, String eTag, byte[] contents,
+                byte[] gzipped, byte[] brotli) {
+            this.path = path;
+            this.url = url;
+            this.mimeType = mimeType;
+            this.lastModified = lastModified;
+            this.length = length;
+            this.eTag = eTag;
+            this.contents = contents;
+            this.gzipped = gzipped;
+            this.brotli = brotli;
+        }
+
+        /**
+         * Gets the strong entity tag of the resource.
+         *
+         * @return the quoted entity tag
+         */
+        public String getETag() {
+            return eTag;
+        }
+
+        /**
+         * Gets the length of the uncompressed resource.
+         *
+         * @return the length in bytes, or -1 if not known
+         */
+        public long getLength() {
+            return length;
+        }
+
+        /**
+         * Checks whether the contents of the resource are held in memory.
+         *
+         * @return <code>true</code> if the contents are in memory,
+         *         <code>false</code> if they are read for each request
+         */
+        public boolean isInMemory() {
+            return contents != null;
+        }
+
+        private long getSize() {
+            return sizeOf(contents) + sizeOf(gzipped) + sizeOf(brotli);
+        }
+
+        private static long sizeOf(byte[] bytes) {
+            return bytes == null ? 0 : bytes.length;
+        }
+    }
+
+    private final long maxSize;
+
+    private long size;
+
+    private final LinkedHashMap<String, CachedResource> resources = new LinkedHashMap<>(
+            16, 0.75f, true);
+
+    /**
+     * Creates a new cache that holds at most the given number of bytes in
+     * memory.
+     *
+     * @param maxSize
+     *            the maximum total size of the cached contents in bytes
+     */
+    public StaticResourceCache(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the static resource cache for the given servlet context. If the
+     * servlet context has no cache, a new instance with the given maximum size
+     * is created and assigned to the context.
+     *
+     * @param servletContext
+     *            the servlet context for which to get the cache, not
+     *            <code>null</code>
+     * @param maxSize
+     *            the maximum size in bytes to use if a new cache is created
+     * @return the cache for the servlet context, not <code>null</code>
+     */
+    public static StaticResourceCache getInstance(
+            ServletContext servletContext, long maxSize) {
+        assert servletContext != null;
+
+        Object attribute;
+        synchronized (servletContext) {
+            attribute = servletContext
+                    .getAttribute(StaticResourceCache.class.getName());
+
+            if (attribute == null) {
+                attribute = new StaticResourceCache(maxSize);
+                servletContext.setAttribute(
+                        StaticResourceCache.class.getName(), attribute);
+            }
+        }
+
+        if (attribute instanceof StaticResourceCache) {
+            return (StaticResourceCache) attribute;
+        } else {
+            throw new IllegalStateException(
+                    "Unknown servlet context attribute value: " + attribute);
+        }
+    }
+
+    /**
+     * Gets the cached resource for the given path, looking it up from the
+     * servlet context if it is not cached.
+     *
+     * @param servletContext
+     *            the servlet context to look up resources from, not
+     *            <code>null</code>
+     * @param path
+     *            the path of the resource in the servlet context, not
+     *            <code>null</code>
+     * @return the cached resource, or <code>null</code> if there is no
+     *         resource for the path
+     * @throws IOException
+     *             if the resource cannot be read
+     */
+    public CachedResource getResource(ServletContext servletContext,
+            String path) throws IOException {
+        synchronized (resources) {
+            CachedResource resource = resources.get(path);
+            if (resource != null) {
+                return resource;
+            }
+        }
+
+        URL url = servletContext.getResource(path);
+        if (url == null) {
+            // Missing resources are not cached to keep the cache bounded
+            return null;
+        }
+        CachedResource resource = load(servletContext, path, url);
+        put(resource);
+        return resource;
+    }
+
+    /**
+     * Writes a cached resource to the response. Conditional requests with a
+     * matching <code>If-None-Match</code> or <code>If-Modified-Since</code>
+     * header are answered with status 304, and a compressed copy of the
+     * resource is sent if the client accepts it.
+     *
+     * @param resource
+     *            the resource to write, not <code>null</code>
+     * @param request
+     *            the request for the resource, not <code>null</code>
+     * @param response
+     *            the response to write to, not <code>null</code>
+     * @throws IOException
+     *             if the response cannot be written
+     */
+    public void writeResponse(CachedResource resource,
+            HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (resource.mimeType != null) {
+            response.setContentType(resource.mimeType);
+        }
+        response.setHeader("ETag", resource.eTag);
+        if (resource.lastModified > 0) {
+            response.setDateHeader("Last-Modified", resource.lastModified);
+        }
+
+        if (isNotModified(resource, request)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        if (!resource.isInMemory()) {
+            RESPONSE_WRITER.writeResponseContents(resource.path, resource.url,
+                    request, response);
+            return;
+        }
+
+        byte[] bytes = resource.contents;
+        if (resource.gzipped != null || resource.brotli != null) {
+            response.setHeader("Vary", "Accept-Encoding");
+            if (resource.brotli != null
+                    && ResponseWriter.acceptsEncoding(request, "br")) {
+                response.setHeader("Content-Encoding", "br");
+                bytes = resource.brotli;
+            } else if (resource.gzipped != null
+                    && ResponseWriter.acceptsEncoding(request, "gzip")) {
+                response.setHeader("Content-Encoding", "gzip");
+                bytes = resource.gzipped;
+            }
+        }
+        response.setContentLengthLong(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+
+    /**
+     * Gets the total size of the contents currently held in memory.
+     *
+     * @return the number of cached bytes
+     */
+    public long getSize() {
+        synchronized (resources) {
+            return size;
+        }
+    }
+
+    private static boolean isNotModified(CachedResource resource,
+            HttpServletRequest request) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            for (String tag : ifNoneMatch.split(",")) {
+                tag = tag.trim();
+                if ("*".equals(tag) || resource.eTag.equals(tag)
+                        || ("W/" + resource.eTag).equals(tag)) {
+                    return true;
+                }
+            }
+            // If-Modified-Since is ignored when If-None-Match is present
+            return false;
+        }
+        if (resource.lastModified <= 0) {
+            return false;
+        }
+        try {
+            long ifModifiedSince = request.getDateHeader("If-Modified-Since");
+            return ifModifiedSince >= resource.lastModified;
+        } catch (IllegalArgumentException e) {
+            getLogger().trace("Unable to parse If-Modified-Since", e);
+            return false;
+        }
+    }
+
+    private static CachedResource load(ServletContext servletContext,
+            String path, URL url) throws IOException {
+        URLConnection connection = url.openConnection();
+        long lastModified = connection.getLastModified();
+        // Browsers send If-Modified-Since with second precision
+        lastModified = lastModified - lastModified % 1000;
+        long length = connection.getContentLengthLong();
+        String mimeType = servletContext.getMimeType(path);
+
+        try (InputStream stream = connection.getInputStream()) {
+            if (length < 0 || length > MAX_IN_MEMORY_LENGTH) {
+                String eTag = '"' + Long.toHexString(lastModified) + '-'
+                        + Long.toHexString(length) + '"';
+                return new CachedResource(path, url, mimeType, lastModified,
+                        length, eTag, null, null, null);
+            }
+
+            byte[] contents = readAll(stream);
+            String eTag = '"' + Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(MessageDigestUtil.sha256(contents))
+                    + '"';
+            byte[] gzipped = readResource(servletContext, path + ".gz");
+            if (gzipped == null) {
+                gzipped = gzip(contents);
+            }
+            byte[] brotli = readResource(servletContext, path + ".br");
+            return new CachedResource(path, url, mimeType, lastModified,
+                    contents.length, eTag, contents, gzipped, brotli);
+        }
+    }
+
+    private static byte[] readResource(ServletContext servletContext,
+            String path) throws IOException {
+        try (InputStream stream = servletContext.getResourceAsStream(path)) {
+            return stream == null ? null : readAll(stream);
+        }
+    }
+
+    private static byte[] readAll(InputStream stream) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Compresses the contents, returning <code>null</code> if compression does
+     * not make the contents smaller.
+     */
+    private static byte[] gzip(byte[] contents) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(contents);
+        }
+        return out.size() < contents.length ? out.toByteArray() : null;
+    }
+
+    private void put(CachedResource resource) {
+        long resourceSize = resource.getSize();
+        if (resourceSize > maxSize) {
+            // Would evict everything else without ever being reused
+            return;
+        }
+        synchronized (resources) {
+            CachedResource old = resources.remove(resource.path);
+            if (old != null) {
+                size -= old.getSize();
+            }
+
+            Iterator<CachedResource> iterator = resources.values().iterator();
+            while (size + resourceSize > maxSize && iterator.hasNext()) {
+                size -= iterator.next().getSize();
+                iterator.remove();
+            }
+
+            resources.put(resource.path, resource);
+            size += resourceSize;
+        }
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(StaticResourceCache.class.getName());
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.vaadin.flow.theme.AbstractTheme;
+
+/**
+ * Theme url translations shared by all the UIs of a servlet.
+ * <p>
+ * The available servlet resources are indexed once by their reversed paths so
+ * that checking whether any resource ends with a given path is a binary search
+ * instead of a scan over all the resources. Translated urls are remembered per
+ * theme class, so each url is translated only once for the whole application.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ */
+public class ThemeUrlTranslations implements Serializable {
+
+    private final String[] reversedPaths;
+
+    private final Map<Class<? extends AbstractTheme>, Map<String, String>> translations = new ConcurrentHashMap<>();
+
+    /**
+     * Creates translations for the given resources.
+     *
+     * @param resourcePaths
+     *            the paths of the available servlet resources, not
+     *            <code>null</code>
+     */
+    public ThemeUrlTranslations(Collection<String> resourcePaths) {
+        reversedPaths = resourcePaths.stream().map(ThemeUrlTranslations::reverse)
+                .sorted().toArray(String[]::new);
+    }
+
+    /**
+     * Gets the translated url for the given theme.
+     *
+     * @param theme
+     *            the theme to translate with, not <code>null</code>
+     * @param url
+     *            the url to translate, not <code>null</code>
+     * @return the translated url, or the given url if there is no translation
+     * @see AbstractTheme#getTranslatedUrl(String, java.util.function.Predicate)
+     */
+    public String getTranslatedUrl(AbstractTheme theme, String url) {
+        Map<String, String> themeTranslations = translations.computeIfAbsent(
+                theme.getClass(), themeClass -> new ConcurrentHashMap<>());
+        return themeTranslations.computeIfAbsent(url,
+                key -> theme.getTranslatedUrl(key, this::hasPathEndingWith));
+    }
+
+    /**
+     * Checks whether any of the resources has a path ending with the given
+     * suffix.
+     *
+     * @param suffix
+     *            the suffix to check, not <code>null</code>
+     * @return <code>true</code> if there is a resource ending with the suffix,
+     *         <code>false</code> otherwise
+     */
+    public boolean hasPathEndingWith(String suffix) {
+        String reversedSuffix = reverse(suffix);
+        int index = Arrays.binarySearch(reversedPaths, reversedSuffix);
+        if (index >= 0) {
+            return true;
+        }
+        // The first path that is greater than the suffix is the only
+        // candidate for starting with it
+        int insertionPoint = -index - 1;
+        return insertionPoint < reversedPaths.length
+                && reversedPaths[insertionPoint].startsWith(reversedSuffix);
+    }
+
+    private static String reverse(String string) {
+        return new StringBuilder(string).reverse().toString();
+    }
+}
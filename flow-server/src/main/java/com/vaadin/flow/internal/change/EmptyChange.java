@@ -16,6 +16,7 @@
 package com.vaadin.flow.internal.change;
 
 import com.vaadin.flow.internal.ConstantPool;
+import com.vaadin.flow.internal.JsonStreamWriter;
 import com.vaadin.flow.internal.nodefeature.NodeFeature;
 import com.vaadin.flow.internal.nodefeature.NodeList;
 import com.vaadin.flow.shared.JsonConstants;
@@ -52,4 +53,14 @@ public class EmptyChange extends NodeFeatureChange {
         super.populateJson(json, constantPool);
     }
 
+
+    @Override
+    protected void writeMembers(JsonStreamWriter writer,
+            ConstantPool constantPool) {
+        writer.name(JsonConstants.CHANGE_TYPE)
+                .value(JsonConstants.CHANGE_TYPE_NOOP);
+        writer.name(JsonConstants.CHANGE_FEATURE_TYPE)
+                .value(NodeList.class.isAssignableFrom(getFeature()));
+        super.writeMembers(writer, constantPool);
+    }
 }
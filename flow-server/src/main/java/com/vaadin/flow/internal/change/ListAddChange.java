@@ -22,6 +22,7 @@ import java.util.function.Function;
 
 import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.JsonCodec;
+import com.vaadin.flow.internal.JsonStreamWriter;
 import com.vaadin.flow.internal.JsonUtils;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.nodefeature.NodeList;
@@ -126,4 +127,27 @@ public class ListAddChange<T extends Serializable>
         json.put(addKey, newItemsJson);
     }
 
+
+    @Override
+    protected void writeMembers(JsonStreamWriter writer,
+            ConstantPool constantPool) {
+        writer.name(JsonConstants.CHANGE_TYPE)
+                .value(JsonConstants.CHANGE_TYPE_SPLICE);
+        super.writeMembers(writer, constantPool);
+        writer.name(JsonConstants.CHANGE_SPLICE_INDEX).value(getIndex());
+
+        if (nodeValues) {
+            writer.name(JsonConstants.CHANGE_SPLICE_ADD_NODES).beginArray();
+            for (Object item : newItems) {
+                writer.value(((StateNode) item).getId());
+            }
+        } else {
+            writer.name(JsonConstants.CHANGE_SPLICE_ADD).beginArray();
+            for (Object item : newItems) {
+                writer.value(JsonCodec.encodeWithConstantPool(item,
+                        constantPool));
+            }
+        }
+        writer.endArray();
+    }
 }
@@ -18,6 +18,7 @@ package com.vaadin.flow.internal.change;
 import java.io.Serializable;
 
 import com.vaadin.flow.internal.ConstantPool;
+import com.vaadin.flow.internal.JsonStreamWriter;
 import com.vaadin.flow.internal.nodefeature.NodeList;
 import com.vaadin.flow.shared.JsonConstants;
 
@@ -77,4 +78,14 @@ public class ListRemoveChange<T extends Serializable>
         json.put(JsonConstants.CHANGE_SPLICE_INDEX, getIndex());
         json.put(JsonConstants.CHANGE_SPLICE_REMOVE, 1);
     }
+
+    @Override
+    protected void writeMembers(JsonStreamWriter writer,
+            ConstantPool constantPool) {
+        writer.name(JsonConstants.CHANGE_TYPE)
+                .value(JsonConstants.CHANGE_TYPE_SPLICE);
+        super.writeMembers(writer, constantPool);
+        writer.name(JsonConstants.CHANGE_SPLICE_INDEX).value(getIndex());
+        writer.name(JsonConstants.CHANGE_SPLICE_REMOVE).value(1);
+    }
 }
@@ -18,6 +18,7 @@ package com.vaadin.flow.internal.change;
 
 import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.JsonCodec;
+import com.vaadin.flow.internal.JsonStreamWriter;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.nodefeature.NodeFeature;
 import com.vaadin.flow.shared.JsonConstants;
@@ -90,4 +91,22 @@ public class MapPutChange extends NodeFeatureChange {
                     JsonCodec.encodeWithConstantPool(value, constantPool));
         }
     }
+
+    @Override
+    protected void writeMembers(JsonStreamWriter writer,
+            ConstantPool constantPool) {
+        writer.name(JsonConstants.CHANGE_TYPE)
+                .value(JsonConstants.CHANGE_TYPE_PUT);
+        writer.name(JsonConstants.CHANGE_MAP_KEY).value(key);
+
+        super.writeMembers(writer, constantPool);
+
+        if (value instanceof StateNode) {
+            writer.name(JsonConstants.CHANGE_PUT_NODE_VALUE)
+                    .value(((StateNode) value).getId());
+        } else {
+            writer.name(JsonConstants.CHANGE_PUT_VALUE).value(
+                    JsonCodec.encodeWithConstantPool(value, constantPool));
+        }
+    }
 }
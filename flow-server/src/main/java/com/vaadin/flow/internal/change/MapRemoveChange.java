@@ -17,6 +17,7 @@
 package com.vaadin.flow.internal.change;
 
 import com.vaadin.flow.internal.ConstantPool;
+import com.vaadin.flow.internal.JsonStreamWriter;
 import com.vaadin.flow.internal.nodefeature.NodeMap;
 import com.vaadin.flow.shared.JsonConstants;
 
@@ -64,4 +65,13 @@ public class MapRemoveChange extends NodeFeatureChange {
 
         json.put(JsonConstants.CHANGE_MAP_KEY, key);
     }
+
+    @Override
+    protected void writeMembers(JsonStreamWriter writer,
+            ConstantPool constantPool) {
+        writer.name(JsonConstants.CHANGE_TYPE)
+                .value(JsonConstants.CHANGE_TYPE_REMOVE);
+        super.writeMembers(writer, constantPool);
+        writer.name(JsonConstants.CHANGE_MAP_KEY).value(key);
+    }
 }
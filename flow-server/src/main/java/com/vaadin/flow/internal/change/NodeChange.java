@@ -19,11 +19,13 @@ package com.vaadin.flow.internal.change;
 import java.io.Serializable;
 
 import com.vaadin.flow.internal.ConstantPool;
+import com.vaadin.flow.internal.JsonStreamWriter;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
 import elemental.json.JsonObject;
+import elemental.json.JsonValue;
 
 /**
  * Base class describing a change to a state node.
@@ -71,6 +73,46 @@ public abstract class NodeChange implements Serializable {
         return json;
     }
 
+    /**
+     * Writes this change as a JSON object to the given stream writer. The
+     * output is equivalent to the result of {@link #toJson(ConstantPool)}.
+     *
+     * @param writer
+     *            the stream writer to write to
+     * @param constantPool
+     *            the constant pool to use for serializing constant pool
+     *            references
+     */
+    public void writeJson(JsonStreamWriter writer, ConstantPool constantPool) {
+        writer.beginObject();
+        writer.name(JsonConstants.CHANGE_NODE).value(node.getId());
+
+        writeMembers(writer, constantPool);
+
+        writer.endObject();
+    }
+
+    /**
+     * Writes the members of this change to the given stream writer. The
+     * default implementation populates a JSON object using
+     * {@link #populateJson(JsonObject, ConstantPool)} and writes its contents.
+     * Subclasses may override this method to write the members directly.
+     *
+     * @param writer
+     *            the stream writer to write to
+     * @param constantPool
+     *            the constant pool to use for serializing constant pool
+     *            references
+     */
+    protected void writeMembers(JsonStreamWriter writer,
+            ConstantPool constantPool) {
+        JsonObject json = Json.createObject();
+        populateJson(json, constantPool);
+        for (String key : json.keys()) {
+            writer.name(key).value(json.<JsonValue> get(key));
+        }
+    }
+
     /**
      * Overridden by subclasses to populate a JSON object when serializing.
      *
@@ -123,4 +123,9 @@ public class AttachExistingElementFeature extends ServerSideFeature {
         callbacks.keySet().stream().forEach(action::accept);
     }
 
+    @Override
+    public boolean hasInitialState() {
+        return callbacks.isEmpty() && parentNodes.isEmpty()
+                && siblings.isEmpty();
+    }
 }
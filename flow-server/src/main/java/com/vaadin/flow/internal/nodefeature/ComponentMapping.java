@@ -89,4 +89,8 @@ public class ComponentMapping extends ServerSideFeature {
         getComponent().ifPresent(ComponentUtil::onComponentDetach);
     }
 
+    @Override
+    public boolean hasInitialState() {
+        return component == null;
+    }
 }
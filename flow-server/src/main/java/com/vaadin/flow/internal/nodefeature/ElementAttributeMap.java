@@ -205,4 +205,12 @@ public class ElementAttributeMap extends NodeMap {
         return ((StateTree) owner).getUI().getSession();
     }
 
+    @Override
+    public boolean hasInitialState() {
+        return super.hasInitialState()
+                && (resourceRegistrations == null
+                        || resourceRegistrations.isEmpty())
+                && (pendingRegistrations == null
+                        || pendingRegistrations.isEmpty());
+    }
 }
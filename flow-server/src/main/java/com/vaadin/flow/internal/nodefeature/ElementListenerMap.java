@@ -27,12 +27,9 @@ import java.util.Set;
 import com.vaadin.flow.dom.DomEvent;
 import com.vaadin.flow.dom.DomEventListener;
 import com.vaadin.flow.internal.ConstantPoolKey;
-import com.vaadin.flow.internal.JsonUtils;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.shared.Registration;
 
-import elemental.json.Json;
-
 /**
  * Map of DOM events with server-side listeners. The key set of this map
  * describes the event types for which listeners are present. The values
@@ -98,7 +95,7 @@ public class ElementListenerMap extends NodeMap {
             // mutated
             assert emptyHashSet.isEmpty();
             typeToExpressions.put(eventType, emptyHashSet);
-            put(eventType, createConstantPoolKey(emptyHashSet));
+            put(eventType, ConstantPoolKey.forStringArray(emptyHashSet));
         }
 
         listeners.get(eventType).add(listener);
@@ -109,7 +106,7 @@ public class ElementListenerMap extends NodeMap {
 
             if (eventData.addAll(Arrays.asList(eventDataExpressions))) {
                 // Update the constant pool reference if the value has changed
-                put(eventType, createConstantPoolKey(eventData));
+                put(eventType, ConstantPoolKey.forStringArray(eventData));
 
                 // Remember value for server-side use
                 typeToExpressions.put(eventType, eventData);
@@ -119,12 +116,6 @@ public class ElementListenerMap extends NodeMap {
         return () -> removeListener(eventType, listener);
     }
 
-    private static ConstantPoolKey createConstantPoolKey(
-            Set<String> eventData) {
-        return new ConstantPoolKey(eventData.stream().map(Json::create)
-                .collect(JsonUtils.asArray()));
-    }
-
     private void removeListener(String eventType, DomEventListener listener) {
         if (listeners == null) {
             return;
@@ -188,4 +179,11 @@ public class ElementListenerMap extends NodeMap {
             return Collections.unmodifiableSet(typeToExpressions.get(name));
         }
     }
+
+    @Override
+    public boolean hasInitialState() {
+        return super.hasInitialState()
+                && (listeners == null || listeners.isEmpty())
+                && (typeToExpressions == null || typeToExpressions.isEmpty());
+    }
 }
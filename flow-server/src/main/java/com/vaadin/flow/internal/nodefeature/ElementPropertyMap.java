@@ -287,4 +287,9 @@ public class ElementPropertyMap extends AbstractPropertyMap {
     private boolean hasElement() {
         return getNode().hasFeature(ElementData.class);
     }
+
+    @Override
+    public boolean hasInitialState() {
+        return super.hasInitialState() && listeners.isEmpty();
+    }
 }
@@ -72,6 +72,11 @@ public class ModelList extends StateNodeNodeList {
         super.addAll(items);
     }
 
+    @Override
+    public void addAll(int index, Collection<? extends StateNode> items) {
+        super.addAll(index, items);
+    }
+
     /**
      * Returns <tt>true</tt> if this list contains the specified node. More
      *
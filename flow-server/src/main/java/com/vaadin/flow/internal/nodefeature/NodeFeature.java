@@ -140,4 +140,19 @@ public abstract class NodeFeature implements Serializable {
     public boolean allowsChanges() {
         return true;
     }
+
+    /**
+     * Checks whether this feature still has the state it was created with. A
+     * feature in its initial state is not serialized together with its node,
+     * but a new feature is created in its place when the node is deserialized.
+     * <p>
+     * Features that keep state of their own in addition to the state of their
+     * super class should override this method to also check that state.
+     *
+     * @return <code>true</code> if the feature has its initial state,
+     *         <code>false</code> if it has to be serialized
+     */
+    public boolean hasInitialState() {
+        return false;
+    }
 }
@@ -99,6 +99,13 @@ public class NodeFeatureRegistry {
     private static <T extends NodeFeature> void registerFeature(Class<T> type,
             Function<StateNode, T> factory) {
         NodeFeatureData featureData = new NodeFeatureData(factory);
+        // StateNode keeps the reported features of a node in a bit mask
+        if (featureData.id >= Long.SIZE) {
+            throw new IllegalStateException("Cannot register "
+                    + type.getName() + " with id " + featureData.id
+                    + ", at most " + Long.SIZE
+                    + " node features are supported");
+        }
         nodeFeatures.put(type, featureData);
         idToFeature.put(featureData.id, type);
     }
@@ -381,4 +381,9 @@ public abstract class NodeMap extends NodeFeature {
         return false;
     }
 
+    @Override
+    public boolean hasInitialState() {
+        return (values == null || values.isEmpty())
+                && isPopulated == !getNode().isReportedFeature(getClass());
+    }
 }
@@ -127,4 +127,9 @@ public abstract class NodeValue<T extends Serializable> extends NodeFeature {
         }
     }
 
+    @Override
+    public boolean hasInitialState() {
+        return value == null
+                && isPopulated == !getNode().isReportedFeature(getClass());
+    }
 }
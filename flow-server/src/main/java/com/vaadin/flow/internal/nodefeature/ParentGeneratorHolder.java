@@ -62,4 +62,8 @@ public class ParentGeneratorHolder extends ServerSideFeature {
         return Optional.ofNullable(parentTemplate);
     }
 
+    @Override
+    public boolean hasInitialState() {
+        return parentTemplate == null;
+    }
 }
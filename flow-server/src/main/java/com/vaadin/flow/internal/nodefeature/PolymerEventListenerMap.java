@@ -22,12 +22,9 @@ import java.util.List;
 import java.util.Map;
 
 import com.vaadin.flow.internal.ConstantPoolKey;
-import com.vaadin.flow.internal.JsonUtils;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.shared.Registration;
 
-import elemental.json.Json;
-
 /**
  * Map of PolymerTemplate events with server-side listeners. The key set of this
  * map describes the event types for which event date is present.
@@ -81,7 +78,7 @@ public class PolymerEventListenerMap extends NodeMap {
             // mutated
             assert emptyArrayList.isEmpty();
             typeToExpressions.put(methodName, emptyArrayList);
-            put(methodName, createConstantPoolKey(emptyArrayList));
+            put(methodName, ConstantPoolKey.forStringArray(emptyArrayList));
         }
 
         if (eventDataExpressions.length != 0) {
@@ -90,7 +87,7 @@ public class PolymerEventListenerMap extends NodeMap {
 
             if (eventData.addAll(Arrays.asList(eventDataExpressions))) {
                 // Update the constant pool reference if the value has changed
-                put(methodName, createConstantPoolKey(eventData));
+                put(methodName, ConstantPoolKey.forStringArray(eventData));
 
                 // Remember value for server-side use
                 typeToExpressions.put(methodName, eventData);
@@ -100,15 +97,14 @@ public class PolymerEventListenerMap extends NodeMap {
         return () -> removeListener(methodName);
     }
 
-    private static ConstantPoolKey createConstantPoolKey(
-            List<String> eventData) {
-        return new ConstantPoolKey(eventData.stream().map(Json::create)
-                .collect(JsonUtils.asArray()));
-    }
-
     private void removeListener(String eventType) {
         typeToExpressions.remove(eventType);
         remove(eventType);
     }
 
+    @Override
+    public boolean hasInitialState() {
+        return super.hasInitialState()
+                && (typeToExpressions == null || typeToExpressions.isEmpty());
+    }
 }
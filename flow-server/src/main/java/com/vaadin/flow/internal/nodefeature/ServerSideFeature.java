@@ -52,4 +52,9 @@ public abstract class ServerSideFeature extends NodeFeature {
     public void forEachChild(Consumer<StateNode> action) {
         // Server side only feature -> can't have child nodes
     }
+
+    @Override
+    public boolean hasInitialState() {
+        return true;
+    }
 }
@@ -56,6 +56,12 @@ public abstract class StateNodeNodeList extends NodeList<StateNode> {
         items.stream().forEach(this::attachPotentialChild);
     }
 
+    @Override
+    protected void addAll(int index, Collection<? extends StateNode> items) {
+        super.addAll(index, items);
+        items.stream().forEach(this::attachPotentialChild);
+    }
+
     @Override
     protected StateNode remove(int index) {
         StateNode removed = super.remove(index);
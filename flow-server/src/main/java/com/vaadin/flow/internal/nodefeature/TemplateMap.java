@@ -151,4 +151,8 @@ public class TemplateMap extends NodeMap {
         return Optional.ofNullable((StateNode) get(CHILD_SLOT_CONTENT));
     }
 
+    @Override
+    public boolean hasInitialState() {
+        return super.hasInitialState() && modelDescriptor == null;
+    }
 }
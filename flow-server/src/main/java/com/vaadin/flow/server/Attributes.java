@@ -16,7 +16,8 @@
 package com.vaadin.flow.server;
 
 import java.io.Serializable;
-import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The {@link Attributes} class represents a set of attributes.
@@ -26,7 +27,8 @@ import java.util.HashMap;
  */
 public class Attributes implements Serializable {
 
-    private final HashMap<String, Object> attributes = new HashMap<>();
+    // Concurrent since attributes may be used while only holding a UI lock
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
 
     /**
      * Stores a value in this set.
@@ -22,23 +22,28 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
+import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import org.jsoup.Jsoup;
+import org.jsoup.nodes.Attribute;
 import org.jsoup.nodes.DataNode;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.DocumentType;
 import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
 import org.jsoup.parser.Parser;
 import org.jsoup.parser.Tag;
 import org.jsoup.select.Elements;
@@ -52,6 +57,7 @@ import com.vaadin.flow.component.page.TargetElement;
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.AnnotationReader;
 import com.vaadin.flow.internal.ReflectTools;
+import com.vaadin.flow.server.BootstrapPageTemplate.Slot;
 import com.vaadin.flow.server.communication.AtmospherePushConnection;
 import com.vaadin.flow.server.communication.UidlWriter;
 import com.vaadin.flow.shared.ApplicationConstants;
@@ -104,8 +110,16 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
     private static final String MESSAGE = "message";
     private static final String URL = "url";
 
+    /**
+     * Maximum number of cached page templates. Pages that would need more
+     * templates are rendered without a template.
+     */
+    private static final int MAX_PAGE_TEMPLATES = 256;
+
     static String clientEngineFile = readClientEngine();
 
+    private final Map<PageTemplateKey, BootstrapPageTemplate> pageTemplates = new ConcurrentHashMap<>();
+
     private static Logger getLogger() {
         return LoggerFactory.getLogger(BootstrapHandler.class.getName());
     }
@@ -264,6 +278,60 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
 
     }
 
+    /**
+     * Identifies the request independent parts of a bootstrap page, i.e. all
+     * the properties that affect the parts of the page that are stored in a
+     * {@link BootstrapPageTemplate}.
+     */
+    private static final class PageTemplateKey implements Serializable {
+        private final Class<? extends UI> uiClass;
+        private final Class<?> pageSettingsClass;
+        private final boolean es6Supported;
+        private final boolean pushEnabled;
+        private final String serviceUrl;
+        private final String contextRootUrl;
+        private final String characterEncoding;
+
+        private PageTemplateKey(BootstrapContext context) {
+            VaadinRequest request = context.getRequest();
+            uiClass = context.getUI().getClass();
+            pageSettingsClass = BootstrapUtils.getPageSettingsClass(context)
+                    .orElse(null);
+            es6Supported = context.getSession().getBrowser().isEs6Supported();
+            pushEnabled = context.getPushMode().isEnabled();
+            serviceUrl = getServiceUrl(context);
+            contextRootUrl = ServletHelper.getContextRootRelativePath(request);
+            characterEncoding = request.getCharacterEncoding();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof PageTemplateKey)) {
+                return false;
+            }
+            PageTemplateKey other = (PageTemplateKey) obj;
+            return uiClass.equals(other.uiClass)
+                    && Objects.equals(pageSettingsClass,
+                            other.pageSettingsClass)
+                    && es6Supported == other.es6Supported
+                    && pushEnabled == other.pushEnabled
+                    && serviceUrl.equals(other.serviceUrl)
+                    && contextRootUrl.equals(other.contextRootUrl)
+                    && Objects.equals(characterEncoding,
+                            other.characterEncoding);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(uiClass, pageSettingsClass, es6Supported,
+                    pushEnabled, serviceUrl, contextRootUrl,
+                    characterEncoding);
+        }
+    }
+
     /**
      * The URI resolver used in the bootstrap process.
      */
@@ -334,12 +402,134 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
         ServletHelper.setResponseNoCacheHeaders(response::setHeader,
                 response::setDateHeader);
 
-        Document document = getBootstrapPage(context);
-        writeBootstrapPage(response, document.outerHtml());
+        writeBootstrapPage(response, getBootstrapHtml(context));
 
         return true;
     }
 
+    /**
+     * Renders the bootstrap page for the given context. In production mode, a
+     * cached page template is used when the page is not modified by any
+     * {@link BootstrapListener} or {@link PageConfigurator}.
+     *
+     * @param context
+     *            the bootstrap context
+     * @return the HTML of the bootstrap page
+     */
+    String getBootstrapHtml(BootstrapContext context) {
+        BootstrapPageTemplate template = getPageTemplate(context);
+        if (template == null) {
+            return getBootstrapPage(context).outerHtml();
+        }
+        return renderPageTemplate(template, context);
+    }
+
+    /**
+     * Gets the page template to use for the given context. A cached template
+     * is returned if there is one for the request independent parts of the
+     * page, otherwise a new template is created and cached.
+     *
+     * @param context
+     *            the bootstrap context
+     * @return the page template, or <code>null</code> if the page cannot be
+     *         rendered from a template
+     */
+    BootstrapPageTemplate getPageTemplate(BootstrapContext context) {
+        if (!canUsePageTemplate(context)) {
+            return null;
+        }
+
+        PageTemplateKey key = new PageTemplateKey(context);
+        BootstrapPageTemplate template = pageTemplates.get(key);
+        if (template == null) {
+            template = createPageTemplate(context);
+            if (pageTemplates.size() < MAX_PAGE_TEMPLATES) {
+                BootstrapPageTemplate existing = pageTemplates
+                        .putIfAbsent(key, template);
+                if (existing != null) {
+                    template = existing;
+                }
+            }
+        }
+        return template;
+    }
+
+    private static boolean canUsePageTemplate(BootstrapContext context) {
+        return context.isProductionMode()
+                && !context.getSession().getService().hasBootstrapListeners()
+                && context.getUI().getChildren()
+                        .noneMatch(PageConfigurator.class::isInstance);
+    }
+
+    private static BootstrapPageTemplate createPageTemplate(
+            BootstrapContext context) {
+        Document document = new Document("");
+        DocumentType doctype = new DocumentType("html", "", "",
+                document.baseUri());
+        document.appendChild(doctype);
+        Element html = document.appendElement("html");
+        html.attr("lang", BootstrapPageTemplate.getLangMarker());
+        Element head = html.appendElement("head");
+        html.appendElement("body");
+
+        setupMeta(head, context);
+        head.appendChild(BootstrapPageTemplate.createSlotNode(Slot.TITLE));
+        setupCss(head, context);
+        setupFrameworkLibraries(head,
+                BootstrapPageTemplate.createSlotNode(Slot.BOOTSTRAP_SCRIPT),
+                context);
+        head.appendChild(
+                BootstrapPageTemplate.createSlotNode(Slot.HEAD_DEPENDENCIES));
+
+        document.body().appendChild(
+                BootstrapPageTemplate.createSlotNode(Slot.BODY_DEPENDENCIES));
+        setupDocumentBody(document);
+
+        document.outputSettings().prettyPrint(false);
+
+        BootstrapUtils.getInlineTargets(context)
+                .ifPresent(targets -> handleInlineTargets(context, head,
+                        document.body(), targets));
+
+        handleThemeContents(context, document);
+
+        return BootstrapPageTemplate.create(document.outerHtml());
+    }
+
+    private static String renderPageTemplate(BootstrapPageTemplate template,
+            BootstrapContext context) {
+        // Same order as in getBootstrapPage since the title affects the UIDL
+        Optional<Element> title = createTitleElement(context);
+        JsonObject initialUIDL = getInitialUidl(context.getUI());
+        Map<LoadMode, JsonArray> dependenciesToProcessOnServer = popDependenciesToProcessOnServer(
+                initialUIDL);
+        Element bootstrapScript = getBootstrapScript(initialUIDL, context);
+
+        // Render the fragments with the same settings as the page itself
+        Document fragments = new Document("");
+        fragments.outputSettings().prettyPrint(false);
+        Element head = fragments.appendElement("head");
+        Element body = fragments.appendElement("body");
+        applyUserDependencies(head, context, dependenciesToProcessOnServer)
+                .forEach(body::appendChild);
+        fragments.appendChild(bootstrapScript);
+
+        Map<Slot, String> slotContents = new EnumMap<>(Slot.class);
+        String lang = new Attribute("lang",
+                context.getUI().getLocale().getLanguage()).html();
+        slotContents.put(Slot.LANG,
+                lang.substring("lang=\"".length(), lang.length() - 1));
+        slotContents.put(Slot.TITLE, title.map(element -> {
+            fragments.appendChild(element);
+            return element.outerHtml();
+        }).orElse(""));
+        slotContents.put(Slot.BOOTSTRAP_SCRIPT, bootstrapScript.outerHtml());
+        slotContents.put(Slot.HEAD_DEPENDENCIES, head.html());
+        slotContents.put(Slot.BODY_DEPENDENCIES, body.html());
+
+        return template.render(slotContents);
+    }
+
     static Document getBootstrapPage(BootstrapContext context) {
         Document document = new Document("");
         DocumentType doctype = new DocumentType("html", "", "",
@@ -474,13 +664,15 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
 
     private static List<Element> setupDocumentHead(Element head,
             BootstrapContext context) {
-        setupMetaAndTitle(head, context);
+        setupMeta(head, context);
+        createTitleElement(context).ifPresent(head::appendChild);
         setupCss(head, context);
 
         JsonObject initialUIDL = getInitialUidl(context.getUI());
         Map<LoadMode, JsonArray> dependenciesToProcessOnServer = popDependenciesToProcessOnServer(
                 initialUIDL);
-        setupFrameworkLibraries(head, initialUIDL, context);
+        setupFrameworkLibraries(head,
+                getBootstrapScript(initialUIDL, context), context);
         return applyUserDependencies(head, context,
                 dependenciesToProcessOnServer);
     }
@@ -533,7 +725,7 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
     }
 
     private static void setupFrameworkLibraries(Element head,
-            JsonObject initialUIDL, BootstrapContext context) {
+            Node bootstrapScript, BootstrapContext context) {
         inlineEs6Collections(head, context);
         appendWebComponentsPolyfills(head, context);
 
@@ -541,7 +733,7 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
             head.appendChild(getPushScript(context));
         }
 
-        head.appendChild(getBootstrapScript(initialUIDL, context));
+        head.appendChild(bootstrapScript);
         head.appendChild(createJavaScriptElement(getClientEngineUrl(context)));
     }
 
@@ -584,8 +776,7 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
                 + "}");
     }
 
-    private static void setupMetaAndTitle(Element head,
-            BootstrapContext context) {
+    private static void setupMeta(Element head, BootstrapContext context) {
         head.appendElement(META_TAG).attr("http-equiv", "Content-Type").attr(
                 CONTENT_ATTRIBUTE,
                 ApplicationConstants.CONTENT_TYPE_TEXT_HTML_UTF_8);
@@ -599,12 +790,13 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
                 .ifPresent(content -> head.appendElement(META_TAG)
                         .attr("name", VIEWPORT)
                         .attr(CONTENT_ATTRIBUTE, content));
+    }
 
-        resolvePageTitle(context).ifPresent(title -> {
-            if (!title.isEmpty()) {
-                head.appendElement("title").appendText(title);
-            }
-        });
+    private static Optional<Element> createTitleElement(
+            BootstrapContext context) {
+        return resolvePageTitle(context).filter(title -> !title.isEmpty())
+                .map(title -> new Element(Tag.valueOf("title"), "")
+                        .appendText(title));
     }
 
     private static void appendWebComponentsPolyfills(Element head,
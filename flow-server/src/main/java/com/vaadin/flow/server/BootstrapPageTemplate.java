@@ -0,0 +1,172 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.jsoup.nodes.Comment;
+import org.jsoup.nodes.Node;
+
+/**
+ * A pre-rendered bootstrap page where the parts that are different for each
+ * request are represented by slots.
+ * <p>
+ * A template is created by rendering a bootstrap page where the request
+ * specific parts have been replaced by {@link #createSlotNode(Slot) slot
+ * nodes} and the value of the <code>lang</code> attribute of the root element
+ * by {@link #getLangMarker()}. The resulting HTML is split at the slots so
+ * that a page can be produced by concatenating the static parts with the
+ * rendered slot contents.
+ *
+ * @author Vaadin Ltd
+ */
+final class BootstrapPageTemplate implements Serializable {
+
+    /**
+     * The request specific parts of a bootstrap page.
+     */
+    enum Slot {
+        /**
+         * The escaped value of the <code>lang</code> attribute of the root
+         * element.
+         */
+        LANG,
+        /**
+         * The title element, if any.
+         */
+        TITLE,
+        /**
+         * The script element containing the initial UIDL and the application
+         * parameters.
+         */
+        BOOTSTRAP_SCRIPT,
+        /**
+         * The dependencies added to the end of the head element.
+         */
+        HEAD_DEPENDENCIES,
+        /**
+         * The dependencies inlined in the beginning of the body element.
+         */
+        BODY_DEPENDENCIES;
+
+        private String getMarker() {
+            return MARKER_PREFIX + name();
+        }
+    }
+
+    /*
+     * Random part makes sure that markers cannot clash with actual page
+     * contents.
+     */
+    private static final String MARKER_PREFIX = "flow-bootstrap-slot-"
+            + UUID.randomUUID() + "-";
+
+    private static final String COMMENT_START = "<!--";
+    private static final String COMMENT_END = "-->";
+
+    private final String[] segments;
+    private final Slot[] slots;
+
+    private BootstrapPageTemplate(List<String> segments, List<Slot> slots) {
+        assert segments.size() == slots.size() + 1;
+        this.segments = segments.toArray(new String[segments.size()]);
+        this.slots = slots.toArray(new Slot[slots.size()]);
+    }
+
+    /**
+     * Creates a node that marks the location of the given slot in a rendered
+     * page.
+     *
+     * @param slot
+     *            the slot to mark, not <code>null</code>
+     * @return a new node marking the slot
+     */
+    static Node createSlotNode(Slot slot) {
+        assert slot != Slot.LANG;
+        return new Comment(slot.getMarker(), "");
+    }
+
+    /**
+     * Gets the attribute value that marks the location of the
+     * {@link Slot#LANG} slot in a rendered page.
+     *
+     * @return the lang attribute marker value
+     */
+    static String getLangMarker() {
+        return Slot.LANG.getMarker();
+    }
+
+    /**
+     * Creates a template from a rendered page containing slot markers.
+     *
+     * @param html
+     *            the rendered page, not <code>null</code>
+     * @return the page template
+     */
+    static BootstrapPageTemplate create(String html) {
+        List<String> segments = new ArrayList<>();
+        List<Slot> slots = new ArrayList<>();
+
+        // Slots are declared in the order they appear in the page
+        int start = 0;
+        for (Slot slot : Slot.values()) {
+            String marker = slot == Slot.LANG ? slot.getMarker()
+                    : COMMENT_START + slot.getMarker() + COMMENT_END;
+            int index = html.indexOf(marker, start);
+            if (index < 0) {
+                throw new IllegalArgumentException(
+                        "No marker found for the slot " + slot);
+            }
+            segments.add(html.substring(start, index));
+            slots.add(slot);
+            start = index + marker.length();
+        }
+        segments.add(html.substring(start));
+
+        return new BootstrapPageTemplate(segments, slots);
+    }
+
+    /**
+     * Renders a page using the given slot contents.
+     *
+     * @param slotContents
+     *            the rendered contents of each slot, not <code>null</code>
+     * @return the rendered page
+     */
+    String render(Map<Slot, String> slotContents) {
+        int length = 0;
+        for (String segment : segments) {
+            length += segment.length();
+        }
+        for (String contents : slotContents.values()) {
+            length += contents.length();
+        }
+
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < slots.length; i++) {
+            builder.append(segments[i]);
+            String contents = slotContents.get(slots[i]);
+            assert contents != null : "No contents for slot " + slots[i];
+            builder.append(contents);
+        }
+        builder.append(segments[segments.length - 1]);
+        return builder.toString();
+    }
+}
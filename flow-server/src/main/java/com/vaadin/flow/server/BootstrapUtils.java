@@ -360,6 +360,30 @@ class BootstrapUtils {
         return AnnotationReader.getAnnotationFor(parentLayout, Theme.class);
     }
 
+    /**
+     * Returns the class that defines the page settings such as {@link Theme},
+     * {@link Viewport} and {@link Inline} for the target route chain that was
+     * navigated to. This is the top {@link ParentLayout} of the route if there
+     * is one and otherwise the {@link Route} annotated class.
+     *
+     * @param context
+     *            the bootstrap context
+     * @return the class defining the page settings or an empty optional if no
+     *         route was resolved
+     */
+    static Optional<Class<?>> getPageSettingsClass(
+            BootstrapHandler.BootstrapContext context) {
+        return getNavigationState(context).map(state -> {
+            Class<? extends RouterLayout> parentLayout = RouterUtil
+                    .getTopParentLayout(state.getNavigationTarget(),
+                            state.getResolvedPath());
+            if (parentLayout == null) {
+                return state.getNavigationTarget();
+            }
+            return parentLayout;
+        });
+    }
+
     private static Optional<NavigationState> getNavigationState(
             BootstrapHandler.BootstrapContext context) {
         UI ui = context.getUI();
@@ -94,6 +94,56 @@ public final class Constants implements Serializable {
      */
     public static final String I18N_PROVIDER = "i18n.provider";
 
+    /**
+     * Configuration name for the parameter that determines if UIDL responses
+     * should be streamed directly to the output instead of first being built
+     * as a JSON tree.
+     */
+    public static final String STREAMING_UIDL = "streaming.uidl";
+
+    /**
+     * Configuration name for the parameter that determines if each UI should
+     * be locked separately when handling requests instead of locking the whole
+     * session.
+     */
+    public static final String PER_UI_LOCKING = "per.ui.locking";
+
+    /**
+     * Configuration name for the time in milliseconds during which broadcast
+     * updates to the same UI are collected into a single push.
+     */
+    public static final String BROADCAST_COALESCE_WINDOW = "broadcast.coalesce.window";
+
+    /**
+     * Configuration name for the maximum number of UIs that are updated and
+     * pushed concurrently by a broadcast.
+     */
+    public static final String BROADCAST_MAX_CONCURRENCY = "broadcast.max.concurrency";
+
+    /**
+     * Configuration name for the minimum time in milliseconds between two
+     * asynchronous push messages sent to the same UI.
+     */
+    public static final String PUSH_MIN_INTERVAL = "push.min.interval";
+
+    /**
+     * Configuration name for the maximum number of bytes of static resource
+     * contents to keep in memory in production mode.
+     */
+    public static final String STATIC_RESOURCE_CACHE_SIZE = "static.resource.cache.size";
+
+    /**
+     * Configuration name for the interval in seconds between background runs
+     * closing inactive UIs and sessions.
+     */
+    public static final String SESSION_REAPER_INTERVAL = "session.reaper.interval";
+
+    /**
+     * Configuration name for the maximum number of bytes of the last response
+     * of a UI to keep for sending again if the client did not receive it.
+     */
+    public static final String RESPONSE_REPLAY_CACHE_SIZE = "response.replay.cache.size";
+
     private Constants() {
         // prevent instantiation constants class only
     }
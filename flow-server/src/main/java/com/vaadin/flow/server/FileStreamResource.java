@@ -0,0 +1,157 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@link StreamResource} that serves the contents of a file.
+ * <p>
+ * Unlike a stream resource created from an {@link InputStreamFactory}, the
+ * contents of a file resource are transferred without locking the session.
+ * Responses advertise the length of the file and an entity tag derived from
+ * its length and modification time, and requests for a byte range of the file
+ * or conditional requests for an unchanged file are answered accordingly.
+ *
+ * @author Vaadin Ltd
+ */
+public class FileStreamResource extends StreamResource {
+
+    private final File file;
+
+    private static class FileWriter implements StreamResourceWriter {
+        private final File file;
+
+        private FileWriter(File file) {
+            this.file = file;
+        }
+
+        @Override
+        public void accept(OutputStream stream, VaadinSession session)
+                throws IOException {
+            transfer(file, stream, 0, file.length());
+        }
+    }
+
+    /**
+     * Creates a new resource for the given file. The name of the file is used
+     * as the resource file name.
+     *
+     * @param file
+     *            the file to serve, not <code>null</code>
+     */
+    public FileStreamResource(File file) {
+        this(file.getName(), file);
+    }
+
+    /**
+     * Creates a new resource for the given file.
+     * <p>
+     * {@code name} parameter value will be used in URI (generated when resource
+     * is registered) in a way that the {@code name} is the last segment of the
+     * path. So this is synthetic file name (not real one).
+     *
+     * @param name
+     *            resource file name. May not be null.
+     * @param file
+     *            the file to serve, not <code>null</code>
+     */
+    public FileStreamResource(String name, File file) {
+        super(name, new FileWriter(file));
+        this.file = file;
+    }
+
+    /**
+     * Creates a new resource for the file at the given path.
+     * <p>
+     * {@code name} parameter value will be used in URI (generated when resource
+     * is registered) in a way that the {@code name} is the last segment of the
+     * path. So this is synthetic file name (not real one).
+     *
+     * @param name
+     *            resource file name. May not be null.
+     * @param path
+     *            the path of the file to serve, not <code>null</code>
+     */
+    public FileStreamResource(String name, Path path) {
+        this(name, path.toFile());
+    }
+
+    /**
+     * Gets the file served by this resource.
+     *
+     * @return the file, not <code>null</code>
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Gets the entity tag of the current contents of the file. The tag changes
+     * whenever the length or the modification time of the file changes.
+     *
+     * @return the quoted entity tag
+     */
+    public String getETag() {
+        return "\"" + Long.toHexString(file.lastModified()) + '-'
+                + Long.toHexString(file.length()) + '"';
+    }
+
+    /**
+     * Writes a range of the file to the given stream. The bytes are
+     * transferred by the file channel directly to the stream without an
+     * intermediate copy where the platform supports it.
+     *
+     * @param stream
+     *            the stream to write to, not <code>null</code>
+     * @param position
+     *            the position of the first byte to write
+     * @param count
+     *            the number of bytes to write
+     * @throws IOException
+     *             if the file cannot be read or the stream cannot be written
+     */
+    public void writeRange(OutputStream stream, long position, long count)
+            throws IOException {
+        transfer(file, stream, position, count);
+    }
+
+    private static void transfer(File file, OutputStream stream,
+            long position, long count) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(stream);
+            long end = Math.min(position + count, channel.size());
+            long offset = position;
+            while (offset < end) {
+                long transferred = channel.transferTo(offset, end - offset,
+                        target);
+                if (transferred <= 0) {
+                    // File was truncated during the transfer
+                    break;
+                }
+                offset += transferred;
+            }
+        }
+    }
+}
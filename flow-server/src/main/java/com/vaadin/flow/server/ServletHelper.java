@@ -15,10 +15,17 @@
  */
 package com.vaadin.flow.server;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.Serializable;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
 import java.util.Locale;
 import java.util.function.BiConsumer;
 
+import javax.servlet.ServletContext;
+
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.shared.ApplicationConstants;
 
@@ -193,4 +200,39 @@ public class ServletHelper implements Serializable {
         return ServletHelper.getCancelingRelativePath(servletPath);
     }
 
+    /**
+     * Gets the last modification time of a resource available through the
+     * servlet context.
+     *
+     * @param servletContext
+     *            the servlet context to get the resource from, not
+     *            <code>null</code>
+     * @param path
+     *            the servlet context path of the resource
+     * @return the last modification time in milliseconds, or <code>0</code>
+     *         if the resource is not available or its modification time is
+     *         not known
+     */
+    public static long getLastModified(ServletContext servletContext,
+            String path) {
+        try {
+            URL resource = servletContext.getResource(path);
+            if (resource == null) {
+                return 0;
+            }
+            if ("file".equals(resource.getProtocol())) {
+                /*
+                 * A file connection opens a stream for reading its headers, so
+                 * the file is checked directly instead.
+                 */
+                return new File(resource.toURI()).lastModified();
+            }
+            URLConnection connection = resource.openConnection();
+            return connection.getLastModified();
+        } catch (IOException | URISyntaxException
+                | IllegalArgumentException e) {
+            return 0;
+        }
+    }
+
 }
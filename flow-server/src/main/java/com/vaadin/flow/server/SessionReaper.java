@@ -0,0 +1,218 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.internal.CurrentInstance;
+
+/**
+ * Periodically closes inactive UIs and sessions in the background.
+ * <p>
+ * Without the reaper, UIs whose heartbeat has expired are only closed and
+ * removed at the end of a later request to the same session, so the state of a
+ * session whose browser tabs have been closed stays in memory until the
+ * servlet container expires the HTTP session. The reaper runs the same cleanup
+ * for all sessions that have handled requests through the service, which lets
+ * the memory be reclaimed once the heartbeat timeout has passed.
+ * <p>
+ * A session that is locked by another thread when the reaper runs is skipped
+ * and handled by a later run.
+ *
+ * @author Vaadin Ltd
+ * @see DeploymentConfiguration#getSessionReaperInterval()
+ * @see VaadinService#getSessionReaper()
+ */
+public class SessionReaper {
+
+    private final VaadinService service;
+
+    private final ScheduledExecutorService executor;
+
+    // Sessions that are collected are not interesting anymore
+    private final Set<VaadinSession> sessions = Collections
+            .synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private final LongAdder runCount = new LongAdder();
+    private final LongAdder reclaimedUICount = new LongAdder();
+    private final LongAdder closedSessionCount = new LongAdder();
+    private final LongAdder skippedSessionCount = new LongAdder();
+
+    /**
+     * Creates a new reaper for the given service.
+     *
+     * @param service
+     *            the service whose sessions to clean up, not <code>null</code>
+     * @param interval
+     *            the interval between runs in seconds, at least 1
+     */
+    SessionReaper(VaadinService service, int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException(
+                    "Interval must be at least 1: " + interval);
+        }
+        this.service = service;
+        executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "vaadin-session-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::reap, interval, interval,
+                TimeUnit.SECONDS);
+    }
+
+    /**
+     * Registers a session to be cleaned up by this reaper. Registering an
+     * already registered session does nothing.
+     *
+     * @param session
+     *            the session to register, not <code>null</code>
+     */
+    void register(VaadinSession session) {
+        sessions.add(session);
+    }
+
+    /**
+     * Stops cleaning up the given session.
+     *
+     * @param session
+     *            the session to unregister, not <code>null</code>
+     */
+    void unregister(VaadinSession session) {
+        sessions.remove(session);
+    }
+
+    /**
+     * Closes inactive UIs and sessions and removes closed UIs from all the
+     * registered sessions that are not currently locked.
+     */
+    void reap() {
+        runCount.increment();
+        List<VaadinSession> snapshot;
+        synchronized (sessions) {
+            snapshot = new ArrayList<>(sessions);
+        }
+        snapshot.forEach(this::reap);
+    }
+
+    private void reap(VaadinSession session) {
+        Lock lock = session.getLockInstance();
+        if (lock == null || !lock.tryLock()) {
+            skippedSessionCount.increment();
+            return;
+        }
+        Map<Class<?>, CurrentInstance> old = CurrentInstance
+                .setCurrent(session);
+        try {
+            if (session.getState() == VaadinSessionState.CLOSED) {
+                unregister(session);
+                return;
+            }
+            int uiCount = session.getUIs().size();
+            service.cleanupSession(session);
+            // Closing a session queues its destruction as an access task
+            service.runPendingAccessTasks(session);
+            reclaimedUICount.add(uiCount - session.getUIs().size());
+            if (session.getState() == VaadinSessionState.CLOSED) {
+                closedSessionCount.increment();
+                unregister(session);
+            }
+        } catch (RuntimeException e) {
+            // E.g. the HTTP session has been invalidated concurrently
+            getLogger().debug("Unable to clean up session", e);
+        } finally {
+            try {
+                session.unlock();
+            } finally {
+                CurrentInstance.restoreInstances(old);
+            }
+        }
+    }
+
+    /**
+     * Stops the background runs. Called when the service is destroyed.
+     */
+    void shutdown() {
+        executor.shutdownNow();
+        sessions.clear();
+    }
+
+    /**
+     * Gets the number of sessions currently registered with this reaper.
+     *
+     * @return the number of registered sessions
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Gets the number of times the reaper has run.
+     *
+     * @return the number of runs
+     */
+    public long getRunCount() {
+        return runCount.sum();
+    }
+
+    /**
+     * Gets the number of UIs that have been removed from their sessions by
+     * the reaper, including the UIs of closed sessions.
+     *
+     * @return the number of reclaimed UIs
+     */
+    public long getReclaimedUICount() {
+        return reclaimedUICount.sum();
+    }
+
+    /**
+     * Gets the number of inactive sessions that have been closed by the
+     * reaper.
+     *
+     * @return the number of closed sessions
+     */
+    public long getClosedSessionCount() {
+        return closedSessionCount.sum();
+    }
+
+    /**
+     * Gets the number of times a session has been skipped because it was
+     * locked by another thread.
+     *
+     * @return the number of skipped sessions
+     */
+    public long getSkippedSessionCount() {
+        return skippedSessionCount.sum();
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(SessionReaper.class.getName());
+    }
+}
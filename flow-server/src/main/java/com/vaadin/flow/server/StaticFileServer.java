@@ -24,10 +24,14 @@ import java.net.URLConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.ResponseWriter;
+import com.vaadin.flow.internal.StaticResourceCache;
+import com.vaadin.flow.internal.StaticResourceCache.CachedResource;
 import com.vaadin.flow.shared.ApplicationConstants;
 
 /**
@@ -45,6 +49,7 @@ import com.vaadin.flow.shared.ApplicationConstants;
 public class StaticFileServer implements Serializable {
     private final ResponseWriter responseWriter = new ResponseWriter();
     private final VaadinService service;
+    private transient StaticResourceCache resourceCache;
 
     /**
      * Constructs a file server.
@@ -80,9 +85,18 @@ public class StaticFileServer implements Serializable {
                 // We rather serve 404 than let it fall through
                 return true;
             }
+            StaticResourceCache cache = getResourceCache(
+                    request.getServletContext());
+            if (cache != null) {
+                return cache.getResource(request.getServletContext(),
+                        requestFilename) != null;
+            }
             resource = request.getServletContext().getResource(requestFilename);
         } catch (MalformedURLException e) {
             return false;
+        } catch (IOException e) {
+            getLogger().debug("Unable to read static resource", e);
+            return false;
         }
         return resource != null;
     }
@@ -104,6 +118,21 @@ public class StaticFileServer implements Serializable {
     public boolean serveStaticResource(HttpServletRequest request,
             HttpServletResponse response) throws IOException {
         String filenameWithPath = getRequestFilename(request);
+        StaticResourceCache cache = getResourceCache(
+                request.getServletContext());
+        if (cache != null) {
+            CachedResource resource = cache.getResource(
+                    request.getServletContext(), filenameWithPath);
+            if (resource == null) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return true;
+            }
+            // Intentionally writing cache headers also for 304 responses
+            writeCacheHeaders(filenameWithPath, response);
+            cache.writeResponse(resource, request, response);
+            return true;
+        }
+
         URL resourceUrl = request.getServletContext()
                 .getResource(filenameWithPath);
 
@@ -131,6 +160,25 @@ public class StaticFileServer implements Serializable {
         return true;
     }
 
+    /**
+     * Gets the resource cache to use, or <code>null</code> if resources should
+     * not be cached.
+     */
+    private StaticResourceCache getResourceCache(
+            ServletContext servletContext) {
+        DeploymentConfiguration configuration = service
+                .getDeploymentConfiguration();
+        if (!configuration.isProductionMode()
+                || configuration.getStaticResourceCacheSize() <= 0) {
+            return null;
+        }
+        if (resourceCache == null) {
+            resourceCache = StaticResourceCache.getInstance(servletContext,
+                    configuration.getStaticResourceCacheSize());
+        }
+        return resourceCache;
+    }
+
     /**
      * Writes the modification timestamp info for the file into the response.
      *
@@ -54,7 +54,8 @@ public class StreamResourceRegistry implements Serializable {
 
         @Override
         public void unregister() {
-            registry.res.remove(getResourceUri());
+            registry.session.runLocked(
+                    () -> registry.res.remove(getResourceUri()));
         }
 
         @Override
@@ -85,6 +86,10 @@ public class StreamResourceRegistry implements Serializable {
      * needed anymore. Note that it is the developer's responsibility to
      * unregister resources. Otherwise resources won't be garbage collected
      * until the session expires which causes memory leak.
+     * <p>
+     * The session is locked while the resource is registered, so this may
+     * also be used while only holding the lock of a UI when per UI locking is
+     * enabled.
      * 
      * @param resource
      *            stream resource to register
@@ -92,11 +97,10 @@ public class StreamResourceRegistry implements Serializable {
      */
     public StreamRegistration registerResource(
             AbstractStreamResource resource) {
-        assert session
-                .hasLock() : "Session needs to be locked when registering stream resources.";
         StreamRegistration registration = new Registration(this,
                 resource.getId(), resource.getName());
-        res.put(registration.getResourceUri(), resource);
+        session.runLocked(
+                () -> res.put(registration.getResourceUri(), resource));
         return registration;
     }
 
@@ -107,7 +111,7 @@ public class StreamResourceRegistry implements Serializable {
      *            stream receiver resource to unregister
      */
     public void unregisterResource(StreamReceiver resource) {
-        res.remove(getURI(resource));
+        session.runLocked(() -> res.remove(getURI(resource)));
     }
 
     /**
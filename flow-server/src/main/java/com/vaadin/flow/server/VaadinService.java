@@ -39,6 +39,8 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -53,6 +55,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.di.DefaultInstantiator;
 import com.vaadin.flow.di.Instantiator;
 import com.vaadin.flow.function.DeploymentConfiguration;
@@ -69,6 +72,7 @@ import com.vaadin.flow.server.communication.FaviconHandler;
 import com.vaadin.flow.server.communication.HeartbeatHandler;
 import com.vaadin.flow.server.communication.SessionRequestHandler;
 import com.vaadin.flow.server.communication.StreamRequestHandler;
+import com.vaadin.flow.server.communication.UIBroadcaster;
 import com.vaadin.flow.server.communication.UidlRequestHandler;
 import com.vaadin.flow.server.startup.RouteRegistry;
 import com.vaadin.flow.shared.ApplicationConstants;
@@ -189,6 +193,12 @@ public abstract class VaadinService implements Serializable {
 
     private Instantiator instantiator;
 
+    private transient UIBroadcaster uiBroadcaster;
+
+    private transient SessionReaper sessionReaper;
+
+    private transient ScheduledExecutorService pushScheduler;
+
     /**
      * Creates a new vaadin service based on a deployment configuration.
      *
@@ -280,6 +290,11 @@ public abstract class VaadinService implements Serializable {
             }
         }
 
+        int reaperInterval = deploymentConf.getSessionReaperInterval();
+        if (reaperInterval > 0) {
+            sessionReaper = new SessionReaper(this, reaperInterval);
+        }
+
         initialized = true;
     }
 
@@ -583,6 +598,18 @@ public abstract class VaadinService implements Serializable {
                 .forEach(listener -> listener.modifyBootstrapPage(response));
     }
 
+    /**
+     * Checks whether any {@link BootstrapListener} has been registered for
+     * this service.
+     *
+     * @return <code>true</code> if there are bootstrap listeners,
+     *         <code>false</code> otherwise
+     */
+    boolean hasBootstrapListeners() {
+        return bootstrapListeners != null
+                && bootstrapListeners.iterator().hasNext();
+    }
+
     /**
      * Handles destruction of the given session. Internally ensures proper
      * locking is done.
@@ -601,7 +628,7 @@ public abstract class VaadinService implements Serializable {
             }
             List<UI> uis = new ArrayList<>(session.getUIs());
             for (final UI ui : uis) {
-                ui.accessSynchronously(() -> {
+                Command removeUI = () -> {
                     /*
                      * close() called here for consistency so that it is always
                      * called before a UI is removed. UI.isClosing() is thus
@@ -612,7 +639,16 @@ public abstract class VaadinService implements Serializable {
                         ui.close();
                     }
                     session.removeUI(ui);
-                });
+                };
+                if (!accessUIForCleanup(ui, removeUI)) {
+                    /*
+                     * The thread holding the UI lock may be waiting for the
+                     * session lock held here. Let it remove the UI when it
+                     * releases the UI lock, taking the locks in the same
+                     * order.
+                     */
+                    ui.access(() -> session.runLocked(removeUI));
+                }
             }
             SessionDestroyEvent event = new SessionDestroyEvent(
                     VaadinService.this, session);
@@ -630,6 +666,9 @@ public abstract class VaadinService implements Serializable {
             }
 
             session.setState(VaadinSessionState.CLOSED);
+            if (sessionReaper != null) {
+                sessionReaper.unregister(session);
+            }
         });
     }
 
@@ -1143,6 +1182,45 @@ public abstract class VaadinService implements Serializable {
         return ui;
     }
 
+    /**
+     * Finds the UI of the given request and acquires its lock. Used when per UI
+     * locking is enabled: the session lock is only held while looking up the
+     * UI, after which only the UI lock is held. The returned UI is also set as
+     * the current UI ({@link UI#setCurrent(UI)}).
+     * <p>
+     * The caller is responsible for releasing the lock using
+     * {@link UIInternals#unlock()} if a UI is returned.
+     *
+     * @param session
+     *            the session of the request, not <code>null</code>
+     * @param request
+     *            the request for which a UI is desired
+     * @return the locked UI belonging to the request or null if no UI is found
+     * @see DeploymentConfiguration#isPerUILockingEnabled()
+     */
+    public UI findAndLockUI(VaadinSession session, VaadinRequest request) {
+        UI ui;
+        session.lock();
+        try {
+            ui = findUI(request);
+        } finally {
+            session.unlock();
+        }
+        if (ui == null) {
+            return null;
+        }
+
+        ui.getInternals().lock();
+        if (ui.getSession() != session) {
+            // UI was removed before we acquired the lock
+            ui.getInternals().unlock();
+            UI.setCurrent(null);
+            return null;
+        }
+        UI.setCurrent(ui);
+        return ui;
+    }
+
     /**
      * Discards the current session and creates a new session with the same
      * contents. The purpose of this is to introduce a new session key in order
@@ -1281,7 +1359,7 @@ public abstract class VaadinService implements Serializable {
         List<UI> uis = new ArrayList<>(session.getUIs());
         for (final UI ui : uis) {
             if (ui.isClosing()) {
-                ui.accessSynchronously(() -> {
+                accessUIForCleanup(ui, () -> {
                     getLogger().debug("Removing closed UI {}", ui.getUIId());
                     session.removeUI(ui);
                 });
@@ -1299,7 +1377,7 @@ public abstract class VaadinService implements Serializable {
         final String sessionId = session.getSession().getId();
         for (final UI ui : session.getUIs()) {
             if (!isUIActive(ui) && !ui.isClosing()) {
-                ui.accessSynchronously(() -> {
+                accessUIForCleanup(ui, () -> {
                     getLogger().debug("Closing inactive UI #{} in session {}",
                             ui.getUIId(), sessionId);
                     ui.close();
@@ -1308,6 +1386,34 @@ public abstract class VaadinService implements Serializable {
         }
     }
 
+    /**
+     * Runs the given cleanup command for a UI while holding the session lock.
+     * With per UI locking, the UI is skipped if another thread is currently
+     * holding its lock, since waiting for it while holding the session lock
+     * could cause a deadlock. The UI will then be handled by a later cleanup.
+     *
+     * @return <code>true</code> if the command was run, <code>false</code> if
+     *         the UI was skipped
+     */
+    private static boolean accessUIForCleanup(UI ui, Command command) {
+        if (!ui.getSession().isPerUILockingEnabled()) {
+            ui.accessSynchronously(command);
+            return true;
+        }
+        UIInternals internals = ui.getInternals();
+        if (!internals.tryLock()) {
+            return false;
+        }
+        Map<Class<?>, CurrentInstance> old = CurrentInstance.setCurrent(ui);
+        try {
+            command.execute();
+        } finally {
+            internals.unlock();
+            CurrentInstance.restoreInstances(old);
+        }
+        return true;
+    }
+
     /**
      * Returns the number of seconds that must pass without a valid heartbeat or
      * UIDL request being received from a UI before that UI is removed from its
@@ -1442,6 +1548,9 @@ public abstract class VaadinService implements Serializable {
             VaadinSession session) {
         if (session != null) {
             assert VaadinSession.getCurrent() == session;
+            if (sessionReaper != null) {
+                sessionReaper.register(session);
+            }
             session.lock();
             try {
                 cleanupSession(session);
@@ -1999,6 +2108,81 @@ public abstract class VaadinService implements Serializable {
         ServiceDestroyEvent event = new ServiceDestroyEvent(this);
         serviceDestroyListeners
                 .forEach(listener -> listener.serviceDestroy(event));
+
+        synchronized (this) {
+            if (uiBroadcaster != null) {
+                uiBroadcaster.shutdown();
+                uiBroadcaster = null;
+            }
+            if (pushScheduler != null) {
+                pushScheduler.shutdownNow();
+                pushScheduler = null;
+            }
+        }
+        if (sessionReaper != null) {
+            sessionReaper.shutdown();
+        }
+    }
+
+    /**
+     * Gets the broadcaster used for applying the same update to many UIs of
+     * this service and pushing the changes to their clients. The broadcaster is
+     * created on first use based on the
+     * {@link DeploymentConfiguration#getBroadcastCoalesceWindow() coalescing
+     * window} and the
+     * {@link DeploymentConfiguration#getBroadcastMaxConcurrency() maximum
+     * concurrency} of the deployment configuration, and it is shut down when
+     * this service is destroyed.
+     *
+     * @return the UI broadcaster of this service, not <code>null</code>
+     */
+    public synchronized UIBroadcaster getUIBroadcaster() {
+        if (uiBroadcaster == null) {
+            DeploymentConfiguration configuration = getDeploymentConfiguration();
+            uiBroadcaster = new UIBroadcaster(
+                    configuration.getBroadcastCoalesceWindow(),
+                    configuration.getBroadcastMaxConcurrency());
+        }
+        return uiBroadcaster;
+    }
+
+    /**
+     * Gets the executor that runs the delayed pushes of the push connections
+     * of this service when a
+     * {@link DeploymentConfiguration#getPushMinInterval() minimum push
+     * interval} is configured. The scheduled tasks only enqueue an access to
+     * the UI, so a single thread is used. The executor is created on first use
+     * and it is shut down when this service is destroyed.
+     *
+     * @return the push scheduler of this service, not <code>null</code>
+     */
+    public synchronized ScheduledExecutorService getPushScheduler() {
+        if (pushScheduler == null) {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(
+                    1, runnable -> {
+                        Thread thread = new Thread(runnable,
+                                "vaadin-push-scheduler");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            // Cancelled pushes are replaced by newer ones, don't keep them
+            executor.setRemoveOnCancelPolicy(true);
+            pushScheduler = executor;
+        }
+        return pushScheduler;
+    }
+
+    /**
+     * Gets the reaper that closes inactive UIs and sessions of this service in
+     * the background. The reaper is only available if a positive
+     * {@link DeploymentConfiguration#getSessionReaperInterval() interval} is
+     * configured when the service is initialized.
+     *
+     * @return the session reaper, or an empty optional if inactive UIs are
+     *         only closed during requests
+     */
+    public Optional<SessionReaper> getSessionReaper() {
+        return Optional.ofNullable(sessionReaper);
     }
 
     /**
@@ -38,6 +38,7 @@ import com.vaadin.flow.component.UI;
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.AnnotationReader;
 import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.internal.ThemeUrlTranslations;
 import com.vaadin.flow.router.legacy.RouterConfigurator;
 import com.vaadin.flow.server.ServletHelper.RequestType;
 import com.vaadin.flow.server.VaadinServletConfiguration.InitParameterName;
@@ -63,6 +64,7 @@ public class VaadinServlet extends HttpServlet {
     private WebJarServer webJarServer;
 
     private Set<String> resourcePaths;
+    private ThemeUrlTranslations themeUrlTranslations;
 
     /**
      * Called by the servlet container to indicate to a servlet that the servlet
@@ -96,6 +98,7 @@ public class VaadinServlet extends HttpServlet {
         // Sets current service even though there are no request and response
         servletService.setCurrentInstances(null, null);
         resourcePaths = traverseResourcePaths("/");
+        themeUrlTranslations = new ThemeUrlTranslations(resourcePaths);
 
         servletInitialized();
         CurrentInstance.clearAll();
@@ -635,6 +638,15 @@ public class VaadinServlet extends HttpServlet {
         return resourcePaths;
     }
 
+    /**
+     * Gets the theme url translations shared by all UIs of this servlet.
+     *
+     * @return the theme url translations for the servlet resources
+     */
+    public ThemeUrlTranslations getThemeUrlTranslations() {
+        return themeUrlTranslations;
+    }
+
     private Set<String> traverseResourcePaths(String path) {
         Set<String> resources = new HashSet<>();
         Set<String> servletResourcePaths = getServletContext()
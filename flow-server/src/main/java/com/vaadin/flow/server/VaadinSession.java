@@ -18,11 +18,11 @@ package com.vaadin.flow.server;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.Locale;
@@ -30,6 +30,7 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.locks.Lock;
@@ -71,32 +72,36 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
     /**
      * Configuration for the session.
      */
-    private DeploymentConfiguration configuration;
+    private volatile DeploymentConfiguration configuration;
 
     /**
      * Default locale of the session.
      */
-    private Locale locale = Locale.getDefault();
+    private volatile Locale locale = Locale.getDefault();
 
     /**
      * Session wide error handler which is used by default if an error is left
      * unhandled.
      */
-    private ErrorHandler errorHandler = new DefaultErrorHandler();
+    private volatile ErrorHandler errorHandler = new DefaultErrorHandler();
     private LinkedList<RequestHandler> requestHandlers = new LinkedList<>();
 
     private int nextUIId = 0;
-    private Map<Integer, UI> uIs = new HashMap<>();
+    /*
+     * Concurrent map since the UIs may be read while only holding the lock of
+     * one UI when per UI locking is enabled.
+     */
+    private Map<Integer, UI> uIs = new ConcurrentHashMap<>();
 
     protected WebBrowser browser = new WebBrowser();
 
-    private long cumulativeRequestDuration = 0;
+    private volatile long cumulativeRequestDuration = 0;
 
-    private long lastRequestDuration = -1;
+    private volatile long lastRequestDuration = -1;
 
-    private long lastRequestTimestamp = System.currentTimeMillis();
+    private volatile long lastRequestTimestamp = System.currentTimeMillis();
 
-    private VaadinSessionState state = VaadinSessionState.OPEN;
+    private volatile VaadinSessionState state = VaadinSessionState.OPEN;
 
     private transient WrappedSession session;
 
@@ -186,7 +191,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return the web browser object
      */
     public WebBrowser getBrowser() {
-        assert hasLock();
+        assert hasReadAccess();
         return browser;
     }
 
@@ -195,7 +200,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      *         milliseconds.
      */
     public long getCumulativeRequestDuration() {
-        assert hasLock();
+        assert hasReadAccess();
         return cumulativeRequestDuration;
     }
 
@@ -217,7 +222,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      *         milliseconds.
      */
     public long getLastRequestDuration() {
-        assert hasLock();
+        assert hasReadAccess();
         return lastRequestDuration;
     }
 
@@ -241,7 +246,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      *         the epoch.
      */
     public long getLastRequestTimestamp() {
-        assert hasLock();
+        assert hasReadAccess();
         return lastRequestTimestamp;
     }
 
@@ -311,7 +316,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return the deployment configuration
      */
     public DeploymentConfiguration getConfiguration() {
-        assert hasLock();
+        assert hasReadAccess();
         return configuration;
     }
 
@@ -324,7 +329,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return the locale of this session.
      */
     public Locale getLocale() {
-        assert hasLock();
+        assert hasReadAccess();
         return locale;
     }
 
@@ -349,7 +354,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return the current error handler
      */
     public ErrorHandler getErrorHandler() {
-        assert hasLock();
+        assert hasReadAccess();
         return errorHandler;
     }
 
@@ -469,7 +474,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @since 7.0
      */
     public Collection<UI> getUIs() {
-        assert hasLock();
+        assert hasReadAccess();
         return Collections.unmodifiableCollection(uIs.values());
     }
 
@@ -483,7 +488,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return The UI with the given id or null if not found
      */
     public UI getUIById(int uiId) {
-        assert hasLock();
+        assert hasReadAccess();
         return uIs.get(uiId);
     }
 
@@ -498,6 +503,70 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         return l.isHeldByCurrentThread();
     }
 
+    /*
+     * With per UI locking, a thread holding only the lock of the current UI is
+     * allowed to read the session state. Changing it requires the session lock
+     * in any case.
+     */
+    private boolean hasReadAccess() {
+        if (hasLock()) {
+            return true;
+        }
+        UI ui = UI.getCurrent();
+        return ui != null && ui.getSession() == this
+                && ui.getInternals().hasLock();
+    }
+
+    /**
+     * Runs the given command while holding the lock of this session. Unlike
+     * {@link #accessSynchronously(Command)}, releasing the lock does not run
+     * pending access tasks or push changes to the UIs of the session.
+     * <p>
+     * This is used for briefly changing the state of the session while only
+     * holding the lock of a UI when per UI locking is enabled. Pending access
+     * tasks of the session are run when the UI lock is released.
+     * <p>
+     * This is meant for framework internal use.
+     *
+     * @param command
+     *            the command to run, not <code>null</code>
+     * @see #isPerUILockingEnabled()
+     */
+    public void runLocked(Command command) {
+        if (hasLock()) {
+            command.execute();
+            return;
+        }
+        Lock l = getLockInstance();
+        l.lock();
+        try {
+            command.execute();
+        } finally {
+            l.unlock();
+        }
+    }
+
+    /**
+     * Checks whether requests targeting a UI in this session lock only that UI
+     * instead of the whole session. Holding only the lock of a UI allows
+     * reading the state of the session, but changing it, e.g. setting session
+     * attributes, still requires the session lock.
+     *
+     * @return <code>true</code> if per UI locking is enabled,
+     *         <code>false</code> otherwise
+     * @see DeploymentConfiguration#isPerUILockingEnabled()
+     */
+    public boolean isPerUILockingEnabled() {
+        VaadinService vaadinService = getService();
+        if (vaadinService == null) {
+            return false;
+        }
+        DeploymentConfiguration deploymentConfiguration = vaadinService
+                .getDeploymentConfiguration();
+        return deploymentConfiguration != null
+                && deploymentConfiguration.isPerUILockingEnabled();
+    }
+
     /**
      * Checks if the current thread has exclusive access to the given
      * WrappedSession.
@@ -613,7 +682,14 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
                 ultimateRelease = true;
                 getService().runPendingAccessTasks(this);
 
-                for (UI ui : getUIs()) {
+                /*
+                 * With per UI locking, UIs are pushed when their own lock is
+                 * released.
+                 */
+                Collection<UI> uisToPush = isPerUILockingEnabled()
+                        ? Collections.emptyList()
+                        : getUIs();
+                for (UI ui : uisToPush) {
                     if (ui.getPushConfiguration()
                             .getPushMode() == PushMode.AUTOMATIC) {
                         Map<Class<?>, CurrentInstance> oldCurrent = CurrentInstance
@@ -701,7 +777,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      *         it has been set to null.
      */
     public Object getAttribute(String name) {
-        assert hasLock();
+        assert hasReadAccess();
         return attributes.getAttribute(name);
     }
 
@@ -725,7 +801,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      *         it has been set to null.
      */
     public <T> T getAttribute(Class<T> type) {
-        assert hasLock();
+        assert hasReadAccess();
         return attributes.getAttribute(type);
     }
 
@@ -788,7 +864,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return the current state
      */
     public VaadinSessionState getState() {
-        assert hasLock();
+        assert hasReadAccess();
         return state;
     }
 
@@ -934,7 +1010,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return the csrf token string
      */
     public String getCsrfToken() {
-        assert hasLock();
+        assert hasReadAccess();
         return csrfToken;
     }
 
@@ -945,10 +1021,29 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return the push connection identifier string
      */
     public String getPushId() {
-        assert hasLock();
+        assert hasReadAccess();
         return pushId;
     }
 
+    /**
+     * Writes the session with this session set as the current session, so that
+     * custom serialization logic in the UIs and components of the session can
+     * access it in the same way as during deserialization.
+     *
+     * @param stream
+     *            the stream to write to
+     * @throws IOException
+     *             if an IO error occurred
+     */
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        Map<Class<?>, CurrentInstance> old = CurrentInstance.setCurrent(this);
+        try {
+            stream.defaultWriteObject();
+        } finally {
+            CurrentInstance.restoreInstances(old);
+        }
+    }
+
     /**
      * Override default deserialization logic to account for transient
      * {@link #pendingAccessQueue}.
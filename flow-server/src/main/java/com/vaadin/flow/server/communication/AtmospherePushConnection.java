@@ -24,6 +24,7 @@ import java.io.StringReader;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,6 +33,8 @@ import org.atmosphere.cpr.AtmosphereResource.TRANSPORT;
 import org.atmosphere.util.Version;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.internal.JsonStreamWriter;
 import com.vaadin.flow.shared.communication.PushConstants;
 
 import elemental.json.JsonObject;
@@ -50,6 +53,16 @@ public class AtmospherePushConnection implements PushConnection {
     private transient AtmosphereResource resource;
     private transient FragmentedMessage incomingMessage;
     private transient Future<Object> outgoingMessage;
+    private transient volatile Future<?> scheduledPush;
+    private transient volatile long lastPushTime;
+    private transient AtomicLong pushCount = new AtomicLong();
+    private transient AtomicLong suppressedPushCount = new AtomicLong();
+
+    /**
+     * The delay before checking again whether the previous message has been
+     * written, used when the minimum push interval has already passed.
+     */
+    private static final long IN_FLIGHT_RETRY_DELAY = 10;
 
     /**
      * Represents a message that can arrive as multiple fragments.
@@ -169,10 +182,26 @@ public class AtmospherePushConnection implements PushConnection {
         push(true);
     }
 
+    @Override
+    public void pushImmediately() {
+        if (isConnected()) {
+            sendPush(true);
+        } else {
+            push(true);
+        }
+    }
+
     /**
      * Pushes pending state changes and client RPC calls to the client. If
-     * {@code isConnected()} is false, defers the push until a connection is
+     * {@code isConnected()} is false, defers the push until a connection is
      * established.
+     * <p>
+     * If a
+     * {@link com.vaadin.flow.function.DeploymentConfiguration#getPushMinInterval()
+     * minimum push interval} is configured, an asynchronous push is delayed
+     * when the previous message was sent less than the interval ago or is
+     * still being written. All changes made before the delayed push is sent
+     * are merged into the same message.
      *
      * @param async
      *            True if this push asynchronously originates from the server,
@@ -185,14 +214,124 @@ public class AtmospherePushConnection implements PushConnection {
             } else {
                 state = State.RESPONSE_PENDING;
             }
+        } else if (async && isThrottled()) {
+            schedulePush();
         } else {
-            try {
+            sendPush(async);
+        }
+    }
+
+    /**
+     * Gets the number of push messages sent through this connection.
+     *
+     * @return the number of sent messages
+     */
+    public long getPushCount() {
+        return pushCount.get();
+    }
+
+    /**
+     * Gets the number of pushes that were not sent right away because of the
+     * minimum push interval but merged into a later message instead.
+     *
+     * @return the number of suppressed pushes
+     */
+    public long getSuppressedPushCount() {
+        return suppressedPushCount.get();
+    }
+
+    private void sendPush(boolean async) {
+        assert isConnected();
+        if (scheduledPush != null) {
+            // The changes of the scheduled push are included in this message
+            scheduledPush.cancel(false);
+            scheduledPush = null;
+        }
+        lastPushTime = System.currentTimeMillis();
+        pushCount.incrementAndGet();
+        try {
+            if (getUI().getSession().getService().getDeploymentConfiguration()
+                    .isUidlStreamingEnabled()) {
+                sendMessage(createStreamedMessage(async));
+            } else {
                 JsonObject response = new UidlWriter().createUidl(getUI(),
                         async);
                 sendMessage("for(;;);[" + response.toJson() + "]");
-            } catch (Exception e) {
-                throw new RuntimeException("Push failed", e);
             }
+        } catch (Exception e) {
+            throw new RuntimeException("Push failed", e);
+        }
+    }
+
+    private boolean isThrottled() {
+        if (scheduledPush != null) {
+            // Merged into the already scheduled push
+            return true;
+        }
+        int minInterval = getMinPushInterval();
+        if (minInterval <= 0) {
+            return false;
+        }
+        return isMessageInFlight()
+                || System.currentTimeMillis() - lastPushTime < minInterval;
+    }
+
+    private int getMinPushInterval() {
+        return getUI().getSession().getService().getDeploymentConfiguration()
+                .getPushMinInterval();
+    }
+
+    private boolean isMessageInFlight() {
+        return outgoingMessage != null && !outgoingMessage.isDone();
+    }
+
+    private void schedulePush() {
+        suppressedPushCount.incrementAndGet();
+        if (scheduledPush == null) {
+            scheduleDelayedPush();
+        }
+    }
+
+    private void scheduleDelayedPush() {
+        long delay = Math.max(IN_FLIGHT_RETRY_DELAY, getMinPushInterval()
+                - (System.currentTimeMillis() - lastPushTime));
+        UI pushUI = getUI();
+        scheduledPush = pushUI.getSession().getService().getPushScheduler()
+                .schedule(() -> {
+                    try {
+                        pushUI.access(this::runScheduledPush);
+                    } catch (UIDetachedException e) {
+                        getLogger().debug(
+                                "Dropping scheduled push for a detached UI",
+                                e);
+                    }
+                }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void runScheduledPush() {
+        scheduledPush = null;
+        if (!getUI().getInternals().getStateTree().hasDirtyNodes()) {
+            // Already sent with another message
+            return;
+        }
+        if (!isConnected()) {
+            push(true);
+        } else if (isMessageInFlight()) {
+            // The minimum interval has passed, but the previous message is
+            // still being written
+            scheduleDelayedPush();
+        } else {
+            sendPush(true);
+        }
+    }
+
+    private String createStreamedMessage(boolean async) {
+        JsonStreamWriter writer = JsonStreamWriter.obtain();
+        try {
+            new UidlWriter().writeUidlMessage(getUI(), async, writer);
+            return writer.toString();
+        } finally {
+            writer.release();
         }
     }
 
@@ -386,6 +525,8 @@ public class AtmospherePushConnection implements PushConnection {
             throws IOException, ClassNotFoundException {
         stream.defaultReadObject();
         state = State.DISCONNECTED;
+        pushCount = new AtomicLong();
+        suppressedPushCount = new AtomicLong();
     }
 
     private static Logger getLogger() {
@@ -50,6 +50,27 @@ public class HeartbeatHandler extends SynchronizedRequestHandler
         return ServletHelper.isRequestType(request, RequestType.HEARTBEAT);
     }
 
+    @Override
+    public boolean handleRequest(VaadinSession session, VaadinRequest request,
+            VaadinResponse response) throws IOException {
+        if (!session.isPerUILockingEnabled()) {
+            return super.handleRequest(session, request, response);
+        }
+        if (!canHandleRequest(request)) {
+            return false;
+        }
+
+        // Only the target UI is locked so other UIs can be served in parallel
+        UI ui = session.getService().findAndLockUI(session, request);
+        try {
+            return handleHeartbeat(ui, response);
+        } finally {
+            if (ui != null) {
+                ui.getInternals().unlock();
+            }
+        }
+    }
+
     /**
      * Handles a heartbeat request for the given session. Reads the GET
      * parameter named {@link ApplicationConstants#UI_ID_PARAMETER} to identify
@@ -61,7 +82,11 @@ public class HeartbeatHandler extends SynchronizedRequestHandler
     @Override
     public boolean synchronizedHandleRequest(VaadinSession session,
             VaadinRequest request, VaadinResponse response) throws IOException {
-        UI ui = session.getService().findUI(request);
+        return handleHeartbeat(session.getService().findUI(request), response);
+    }
+
+    private boolean handleHeartbeat(UI ui, VaadinResponse response)
+            throws IOException {
         if (ui != null) {
             ui.getInternals()
                     .setLastHeartbeatTimestamp(System.currentTimeMillis());
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.servlet.ServletContext;
+
+/**
+ * Cache for the contents of {@link com.vaadin.flow.shared.ui.LoadMode#INLINE
+ * inline} dependencies, shared by all the services of a servlet context.
+ * <p>
+ * Entries are keyed by the resolved path and charset of the resource. The
+ * cache is bounded by the total number of cached characters and evicts the
+ * least recently used entries first. Each entry remembers the modification
+ * timestamp of the resource it was read from so that changed resources can be
+ * reloaded in development mode.
+ *
+ * @author Vaadin Ltd
+ */
+final class InlineResourceCache {
+
+    /**
+     * Last modification value to use when cached contents should be used
+     * regardless of the state of the underlying resource, e.g. in production
+     * mode.
+     */
+    static final long NOT_CHECKED = -1;
+
+    /**
+     * Last modification value to use when the modification timestamp of the
+     * resource is not known. Such contents are never cached.
+     */
+    static final long UNKNOWN = 0;
+
+    /**
+     * The default maximum number of characters to keep in the cache.
+     */
+    static final long DEFAULT_MAX_SIZE = 4 * 1024 * 1024;
+
+    private static final class Entry {
+        private final String contents;
+        private final long lastModified;
+
+        private Entry(String contents, long lastModified) {
+            this.contents = contents;
+            this.lastModified = lastModified;
+        }
+    }
+
+    private final long maxSize;
+
+    private long size;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(
+            16, 0.75f, true);
+
+    /**
+     * Creates a new cache that holds at most the given number of characters.
+     *
+     * @param maxSize
+     *            the maximum total length of the cached contents
+     */
+    InlineResourceCache(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the inline resource cache for the given servlet context. If the
+     * servlet context has no cache, a new instance is created and assigned to
+     * the context.
+     *
+     * @param servletContext
+     *            the servlet context for which to get the cache, not
+     *            <code>null</code>
+     * @return the cache for the servlet context, not <code>null</code>
+     */
+    static InlineResourceCache getInstance(ServletContext servletContext) {
+        assert servletContext != null;
+
+        Object attribute;
+        synchronized (servletContext) {
+            attribute = servletContext
+                    .getAttribute(InlineResourceCache.class.getName());
+
+            if (attribute == null) {
+                attribute = new InlineResourceCache(DEFAULT_MAX_SIZE);
+                servletContext.setAttribute(
+                        InlineResourceCache.class.getName(), attribute);
+            }
+        }
+
+        if (attribute instanceof InlineResourceCache) {
+            return (InlineResourceCache) attribute;
+        } else {
+            throw new IllegalStateException(
+                    "Unknown servlet context attribute value: " + attribute);
+        }
+    }
+
+    /**
+     * Gets the contents of a resource, reading them using the given loader if
+     * there are no valid cached contents.
+     * <p>
+     * The loader is run without holding any lock, so the same resource might
+     * occasionally be read concurrently by multiple threads.
+     *
+     * @param resolvedPath
+     *            the resolved path of the resource, not <code>null</code>
+     * @param charset
+     *            the charset used for reading the resource, not
+     *            <code>null</code>
+     * @param lastModified
+     *            the current modification timestamp of the resource,
+     *            {@link #NOT_CHECKED} to use any cached contents or
+     *            {@link #UNKNOWN} to bypass the cache
+     * @param loader
+     *            the loader that reads the resource contents, not
+     *            <code>null</code>
+     * @return the contents of the resource
+     */
+    String get(String resolvedPath, Charset charset, long lastModified,
+            Supplier<String> loader) {
+        if (lastModified == UNKNOWN) {
+            return loader.get();
+        }
+
+        String key = charset.name() + ':' + resolvedPath;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && (lastModified == NOT_CHECKED
+                    || entry.lastModified == lastModified)) {
+                return entry.contents;
+            }
+        }
+
+        String contents = loader.get();
+        put(key, new Entry(contents, lastModified));
+        return contents;
+    }
+
+    /**
+     * Gets the total length of the currently cached contents.
+     *
+     * @return the number of cached characters
+     */
+    long getSize() {
+        synchronized (entries) {
+            return size;
+        }
+    }
+
+    private void put(String key, Entry entry) {
+        int length = entry.contents.length();
+        synchronized (entries) {
+            Entry old = entries.remove(key);
+            if (old != null) {
+                size -= old.contents.length();
+            }
+            if (length > maxSize) {
+                // Would evict everything else without ever being reused
+                return;
+            }
+
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet()
+                    .iterator();
+            while (size + length > maxSize && iterator.hasNext()) {
+                size -= iterator.next().getValue().contents.length();
+                iterator.remove();
+            }
+
+            entries.put(key, entry);
+            size += length;
+        }
+    }
+}
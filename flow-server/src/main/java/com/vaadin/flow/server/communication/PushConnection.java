@@ -44,6 +44,19 @@ public interface PushConnection extends Serializable {
      */
     void push();
 
+    /**
+     * Pushes pending state changes and client RPC calls to the client right
+     * away, even if the connection would otherwise delay the push to limit
+     * the rate of push messages. Can be called even if {@link #isConnected()}
+     * is false; the push will be deferred until a connection is available. It
+     * is NOT safe to invoke this method if not holding the session lock.
+     * <p>
+     * This is internal API; please use {@link UI#pushImmediately()} instead.
+     */
+    default void pushImmediately() {
+        push();
+    }
+
     /**
      * Closes the connection. Cannot be called if {@link #isConnected()} is
      * false.
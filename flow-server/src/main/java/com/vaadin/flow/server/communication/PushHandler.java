@@ -40,6 +40,7 @@ import com.vaadin.flow.server.VaadinServletRequest;
 import com.vaadin.flow.server.VaadinServletService;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.communication.ServerRpcHandler.InvalidUIDLSecurityKeyException;
+import com.vaadin.flow.server.communication.ServerRpcHandler.RpcResult;
 import com.vaadin.flow.shared.ApplicationConstants;
 import com.vaadin.flow.shared.communication.PushMode;
 
@@ -139,7 +140,12 @@ public class PushHandler {
         assert vaadinRequest != null;
 
         try {
-            new ServerRpcHandler().handleRpc(ui, reader, vaadinRequest);
+            RpcResult result = new ServerRpcHandler().handleRpc(ui, reader,
+                    vaadinRequest);
+            if (result == RpcResult.DUPLICATE) {
+                // Pushed messages are not kept, send the full state instead
+                ui.getInternals().setResynchronizationRequested(true);
+            }
             connection.push(false);
         } catch (JsonException e) {
             getLogger().error("Error writing JSON to response", e);
@@ -220,9 +226,17 @@ public class PushHandler {
             }
 
             UI ui = null;
-            session.lock();
+            boolean perUILocking = session.isPerUILockingEnabled();
+            if (perUILocking) {
+                // Only the target UI is locked, the session stays available
+                ui = service.findAndLockUI(session, vaadinRequest);
+            } else {
+                session.lock();
+            }
             try {
-                ui = service.findUI(vaadinRequest);
+                if (!perUILocking) {
+                    ui = service.findUI(vaadinRequest);
+                }
                 assert UI.getCurrent() == ui;
 
                 if (ui == null) {
@@ -257,7 +271,11 @@ public class PushHandler {
                 callErrorHandler(session, e);
             } finally {
                 try {
-                    session.unlock();
+                    if (!perUILocking) {
+                        session.unlock();
+                    } else if (ui != null) {
+                        ui.getInternals().unlock();
+                    }
                 } catch (Exception e) {
                     getLogger().warn(
                             "Error while unlocking session", e);
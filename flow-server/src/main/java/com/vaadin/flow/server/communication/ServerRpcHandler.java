@@ -33,8 +33,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.UIInternals;
+import com.vaadin.flow.internal.JsonStreamReader;
+import com.vaadin.flow.internal.ReflectionCache;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.communication.rpc.AttachExistingElementRpcHandler;
 import com.vaadin.flow.server.communication.rpc.AttachTemplateChildRpcHandler;
 import com.vaadin.flow.server.communication.rpc.EventRpcHandler;
@@ -46,7 +50,9 @@ import com.vaadin.flow.shared.ApplicationConstants;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.JsonArray;
+import elemental.json.JsonException;
 import elemental.json.JsonObject;
+import elemental.json.JsonType;
 import elemental.json.JsonValue;
 import elemental.json.impl.JsonUtil;
 
@@ -92,7 +98,20 @@ public class ServerRpcHandler implements Serializable {
          *            the request through which the JSON was received
          */
         public RpcRequest(String jsonString, VaadinRequest request) {
-            json = JsonUtil.parse(jsonString);
+            this((JsonObject) JsonUtil.parse(jsonString), request);
+        }
+
+        /**
+         * Creates an instance based on the given JSON received through the
+         * given request.
+         *
+         * @param json
+         *            the JSON object containing the RPC invocations
+         * @param request
+         *            the request through which the JSON was received
+         */
+        public RpcRequest(JsonObject json, VaadinRequest request) {
+            this.json = json;
 
             JsonValue token = json.get(ApplicationConstants.CSRF_TOKEN);
             if (token == null) {
@@ -197,6 +216,10 @@ public class ServerRpcHandler implements Serializable {
 
     private static final int MAX_BUFFER_SIZE = 64 * 1024;
 
+    // Subclasses overriding getMessage get the message as a string
+    private static final ReflectionCache<ServerRpcHandler, Boolean> GET_MESSAGE_OVERRIDDEN = new ReflectionCache<>(
+            ServerRpcHandler::overridesGetMessage);
+
     /**
      * Exception thrown then the security key sent by the client does not match
      * the expected one.
@@ -214,6 +237,26 @@ public class ServerRpcHandler implements Serializable {
         }
     }
 
+    /**
+     * The outcome of handling a message received from the client.
+     *
+     * @see ServerRpcHandler#handleRpc(UI, Reader, VaadinRequest)
+     */
+    public enum RpcResult {
+        /**
+         * The message has been handled and a new response should be written.
+         */
+        HANDLED,
+        /**
+         * The client sent the last processed message again, typically because
+         * the response to it was lost. The message has not been processed
+         * again, but the response to it should be sent again instead.
+         *
+         * @see UIInternals#getLastResponse()
+         */
+        DUPLICATE;
+    }
+
     /**
      * Reads JSON containing zero or more serialized RPC calls (including legacy
      * variable changes) and executes the calls.
@@ -224,21 +267,33 @@ public class ServerRpcHandler implements Serializable {
      *            The {@link Reader} used to read the JSON.
      * @param request
      *            The request through which the RPC was received
+     * @return {@link RpcResult#DUPLICATE} if the message has already been
+     *         processed and its response should be sent again,
+     *         {@link RpcResult#HANDLED} otherwise
      * @throws IOException
      *             If reading the message fails.
      * @throws InvalidUIDLSecurityKeyException
      *             If the received security key does not match the one stored in
      *             the session.
      */
-    public void handleRpc(UI ui, Reader reader, VaadinRequest request)
+    public RpcResult handleRpc(UI ui, Reader reader, VaadinRequest request)
             throws IOException, InvalidUIDLSecurityKeyException {
-        ui.getSession().setLastRequestTimestamp(System.currentTimeMillis());
-
-        String changeMessage = getMessage(reader);
+        VaadinSession session = ui.getSession();
+        session.runLocked(() -> session
+                .setLastRequestTimestamp(System.currentTimeMillis()));
+
+        JsonObject changeMessage;
+        if (GET_MESSAGE_OVERRIDDEN.get(getClass()).booleanValue()) {
+            String message = getMessage(reader);
+            changeMessage = message == null || message.isEmpty() ? null
+                    : (JsonObject) JsonUtil.parse(message);
+        } else {
+            changeMessage = readMessage(reader);
+        }
 
-        if (changeMessage == null || changeMessage.equals("")) {
+        if (changeMessage == null) {
             // The client sometimes sends empty messages, this is probably a bug
-            return;
+            return RpcResult.HANDLED;
         }
 
         RpcRequest rpcRequest = new RpcRequest(changeMessage, request);
@@ -258,15 +313,20 @@ public class ServerRpcHandler implements Serializable {
             // re-synchronization of the client as it might have not received
             // the previous response (e.g. due to a bad connection)
 
-            // Must resync also for duplicate messages because the server might
-            // have generated a response for the first message but the response
+            // A duplicate of the latest message means that the server has
+            // generated a response for the first message but the response
             // did not reach the client. When the client re-sends the message,
             // it would only get an empty response (because the dirty flags have
-            // been cleared on the server) and would be out of sync
-
-            // FIXME Implement resync
-
-            if (rpcRequest.getClientToServerId() < expectedId) {
+            // been cleared on the server) and would be out of sync, so the
+            // previous response is sent again if it is still available
+
+            if (rpcRequest.getClientToServerId() == expectedId - 1) {
+                // The response to the latest message might still be available
+                getLogger().debug(
+                        "Received the last processed message {} again",
+                        rpcRequest.getClientToServerId());
+                return RpcResult.DUPLICATE;
+            } else if (rpcRequest.getClientToServerId() < expectedId) {
                 // Just a duplicate message due to a bad connection or similar
                 // It has already been handled by the server so it is safe to
                 // ignore
@@ -280,8 +340,7 @@ public class ServerRpcHandler implements Serializable {
                                 rpcRequest.getClientToServerId());
             }
 
-            throw new UnsupportedOperationException(
-                    "FIXME: Implement resync and call it above");
+            ui.getInternals().setResynchronizationRequested(true);
         } else {
             // Message id ok, process RPCs
             ui.getInternals().setLastProcessedClientToServerId(expectedId);
@@ -289,10 +348,9 @@ public class ServerRpcHandler implements Serializable {
         }
 
         if (rpcRequest.isResynchronize()) {
-            // FIXME Implement
-            throw new UnsupportedOperationException("FIXME: Implement resync");
+            ui.getInternals().setResynchronizationRequested(true);
         }
-
+        return RpcResult.HANDLED;
     }
 
     /**
@@ -359,6 +417,51 @@ public class ServerRpcHandler implements Serializable {
                 + " returned a Runnable even though it shouldn't";
     }
 
+    /**
+     * Parses the message directly from the reader without reading it into a
+     * string first.
+     */
+    private static JsonObject readMessage(Reader reader) throws IOException {
+        JsonStreamReader jsonReader = JsonStreamReader.obtain();
+        try {
+            JsonValue message = jsonReader.read(reader);
+            if (message != null && message.getType() != JsonType.OBJECT) {
+                throw new JsonException(
+                        "Expected a JSON object but got " + message.getType());
+            }
+            return (JsonObject) message;
+        } finally {
+            jsonReader.release();
+        }
+    }
+
+    private static boolean overridesGetMessage(
+            Class<? extends ServerRpcHandler> type) {
+        for (Class<?> current = type; current != ServerRpcHandler.class; current = current
+                .getSuperclass()) {
+            try {
+                current.getDeclaredMethod("getMessage", Reader.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // Check the superclass
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the whole message from the reader into a string.
+     * <p>
+     * {@link #handleRpc(UI, Reader, VaadinRequest)} parses the message directly
+     * from the reader unless a subclass overrides this method, in which case
+     * the message returned by this method is parsed instead.
+     *
+     * @param reader
+     *            the reader to read from
+     * @return the message
+     * @throws IOException
+     *             if reading fails
+     */
     protected String getMessage(Reader reader) throws IOException {
 
         StringBuilder sb = new StringBuilder(MAX_BUFFER_SIZE);
@@ -16,7 +16,9 @@
 package com.vaadin.flow.server.communication;
 
 import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletResponse;
 
+import com.vaadin.flow.server.FileStreamResource;
 import com.vaadin.flow.server.StreamResource;
 import com.vaadin.flow.server.StreamResourceWriter;
 import com.vaadin.flow.server.VaadinRequest;
@@ -24,6 +26,7 @@ import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinServletRequest;
 import com.vaadin.flow.server.VaadinSession;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Serializable;
@@ -71,9 +74,158 @@ public class StreamResourceHandler implements Serializable {
         } finally {
             session.unlock();
         }
+        if (streamResource instanceof FileStreamResource) {
+            writeFile(request, response, (FileStreamResource) streamResource);
+            return;
+        }
         try (OutputStream outputStream = response.getOutputStream()) {
             writer.accept(outputStream, session);
         }
     }
 
+    /**
+     * Writes the requested part of a file resource, or only the headers if
+     * the client already has the current contents. The session is not locked.
+     */
+    private void writeFile(VaadinRequest request, VaadinResponse response,
+            FileStreamResource resource) throws IOException {
+        File file = resource.getFile();
+        if (!file.isFile()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND,
+                    "File for the resource " + resource.getName()
+                            + " is not found");
+            return;
+        }
+        long length = file.length();
+        // Browsers send If-Modified-Since with second precision
+        long lastModified = file.lastModified()
+                - file.lastModified() % 1000;
+        String eTag = resource.getETag();
+
+        response.setHeader("ETag", eTag);
+        response.setDateHeader("Last-Modified", lastModified);
+        response.setHeader("Accept-Ranges", "bytes");
+
+        if (isNotModified(request, eTag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long count = length;
+        String range = request.getHeader("Range");
+        if (range != null && isRangeApplicable(request, eTag, lastModified)) {
+            long[] bounds = parseRange(range, length);
+            if (bounds != null && bounds.length == 0) {
+                response.setHeader("Content-Range", "bytes */" + length);
+                response.sendError(
+                        HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE,
+                        "Requested range not satisfiable");
+                return;
+            } else if (bounds != null) {
+                start = bounds[0];
+                count = bounds[1] - bounds[0] + 1;
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader("Content-Range", "bytes " + bounds[0] + '-'
+                        + bounds[1] + '/' + length);
+            }
+        }
+        response.setHeader("Content-Length", Long.toString(count));
+
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+        try (OutputStream outputStream = response.getOutputStream()) {
+            resource.writeRange(outputStream, start, count);
+        }
+    }
+
+    private static boolean isNotModified(VaadinRequest request, String eTag,
+            long lastModified) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            for (String tag : ifNoneMatch.split(",")) {
+                tag = tag.trim();
+                if (tag.startsWith("W/")) {
+                    // Weak comparison is used for If-None-Match
+                    tag = tag.substring(2);
+                }
+                if ("*".equals(tag) || eTag.equals(tag)) {
+                    return true;
+                }
+            }
+            // If-Modified-Since is ignored when If-None-Match is present
+            return false;
+        }
+        try {
+            long ifModifiedSince = request.getDateHeader("If-Modified-Since");
+            return ifModifiedSince != -1 && lastModified <= ifModifiedSince;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean isRangeApplicable(VaadinRequest request,
+            String eTag, long lastModified) {
+        String ifRange = request.getHeader("If-Range");
+        if (ifRange == null) {
+            return true;
+        }
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // Strong comparison, so a weak tag never matches
+            return eTag.equals(ifRange);
+        }
+        try {
+            return request.getDateHeader("If-Range") == lastModified;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Parses a single byte range. Returns the first and last byte position of
+     * the range, an empty array if the range cannot be satisfied, or
+     * <code>null</code> if the header should be ignored because it is
+     * malformed or requests multiple ranges.
+     */
+    private static long[] parseRange(String header, long length) {
+        String prefix = "bytes=";
+        if (!header.startsWith(prefix) || header.indexOf(',') != -1) {
+            return null;
+        }
+        String spec = header.substring(prefix.length());
+        int dash = spec.indexOf('-');
+        if (dash == -1) {
+            return null;
+        }
+        String first = spec.substring(0, dash).trim();
+        String last = spec.substring(dash + 1).trim();
+        try {
+            if (first.isEmpty()) {
+                long suffixLength = Long.parseLong(last);
+                if (suffixLength <= 0 || length == 0) {
+                    return new long[0];
+                }
+                return new long[] { Math.max(0, length - suffixLength),
+                        length - 1 };
+            }
+            long start = Long.parseLong(first);
+            if (last.isEmpty()) {
+                return start < length ? new long[] { start, length - 1 }
+                        : new long[0];
+            }
+            long end = Long.parseLong(last);
+            if (end < start) {
+                return null;
+            }
+            if (start >= length) {
+                return new long[0];
+            }
+            return new long[] { start, Math.min(end, length - 1) };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
 }
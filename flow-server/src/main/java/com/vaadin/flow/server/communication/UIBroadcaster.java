@@ -0,0 +1,406 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.function.SerializableBiConsumer;
+import com.vaadin.flow.function.SerializableSupplier;
+import com.vaadin.flow.server.Command;
+import com.vaadin.flow.server.ErrorEvent;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.shared.communication.PushMode;
+
+/**
+ * Applies the same update to a set of UIs and pushes the changes to their
+ * clients.
+ * <p>
+ * Each broadcast computes its shared snapshot once and then applies it to
+ * every target UI while holding the lock of that UI. Updates broadcast to the
+ * same UI within the coalescing window are applied together so that the client
+ * receives a single push message for all of them. The number of UIs that are
+ * updated and pushed concurrently is bounded, which keeps a broadcast to
+ * thousands of UIs from occupying more than a fixed number of threads.
+ * <p>
+ * UIs with {@link PushMode#AUTOMATIC automatic push} are pushed when their
+ * lock is released and UIs with {@link PushMode#MANUAL manual push} are pushed
+ * explicitly after the updates have been applied. Updates to UIs without push
+ * are sent to the client with the next response to that UI.
+ *
+ * @author Vaadin Ltd
+ * @see com.vaadin.flow.server.VaadinService#getUIBroadcaster()
+ */
+public class UIBroadcaster {
+
+    private static final class Broadcast<T> {
+        private final SerializableSupplier<T> snapshotSupplier;
+        private final SerializableBiConsumer<UI, T> update;
+        private final AtomicInteger remaining;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private boolean snapshotCreated;
+        private T snapshot;
+        private RuntimeException snapshotFailure;
+
+        private Broadcast(SerializableSupplier<T> snapshotSupplier,
+                SerializableBiConsumer<UI, T> update, int uiCount) {
+            this.snapshotSupplier = snapshotSupplier;
+            this.update = update;
+            remaining = new AtomicInteger(uiCount);
+            if (uiCount == 0) {
+                future.complete(null);
+            }
+        }
+
+        private synchronized T getSnapshot() {
+            if (!snapshotCreated) {
+                snapshotCreated = true;
+                try {
+                    snapshot = snapshotSupplier.get();
+                } catch (RuntimeException e) {
+                    snapshotFailure = e;
+                }
+            }
+            if (snapshotFailure != null) {
+                throw snapshotFailure;
+            }
+            return snapshot;
+        }
+
+        private void prepareSnapshot() {
+            try {
+                getSnapshot();
+            } catch (RuntimeException e) {
+                // Passed to the error handler when applied
+            }
+        }
+
+        private void apply(UI ui) {
+            update.accept(ui, getSnapshot());
+        }
+
+        private void uiDone() {
+            if (remaining.decrementAndGet() == 0) {
+                future.complete(null);
+            }
+        }
+    }
+
+    private static final class PendingUpdates {
+        private List<Broadcast<?>> broadcasts = new ArrayList<>();
+        private boolean delivering;
+    }
+
+    private final ScheduledExecutorService executor;
+
+    private final int coalesceWindow;
+
+    // All access is synchronized on the map
+    private final Map<UI, PendingUpdates> pendingUpdates = new HashMap<>();
+    private boolean flushScheduled;
+
+    private final LongAdder broadcastCount = new LongAdder();
+    private final LongAdder updateCount = new LongAdder();
+    private final LongAdder deliveryCount = new LongAdder();
+    private final LongAdder failedUpdateCount = new LongAdder();
+    private final LongAdder deliveryNanos = new LongAdder();
+
+    /**
+     * Creates a new broadcaster.
+     *
+     * @param coalesceWindow
+     *            the time in milliseconds during which updates to the same UI
+     *            are collected into a single push, not negative
+     * @param maxConcurrency
+     *            the maximum number of UIs to update concurrently, at least 1
+     */
+    public UIBroadcaster(int coalesceWindow, int maxConcurrency) {
+        this(coalesceWindow, createExecutor(maxConcurrency));
+    }
+
+    /**
+     * Creates a new broadcaster running the flushes and deliveries using the
+     * given executor.
+     * <p>
+     * Package private for testing purposes.
+     *
+     * @param coalesceWindow
+     *            the time in milliseconds during which updates to the same UI
+     *            are collected into a single push, not negative
+     * @param executor
+     *            the executor to schedule flushes and run deliveries with, not
+     *            <code>null</code>
+     */
+    UIBroadcaster(int coalesceWindow, ScheduledExecutorService executor) {
+        if (coalesceWindow < 0) {
+            throw new IllegalArgumentException(
+                    "Coalesce window cannot be negative: " + coalesceWindow);
+        }
+        this.coalesceWindow = coalesceWindow;
+        this.executor = Objects.requireNonNull(executor,
+                "Executor cannot be null");
+    }
+
+    private static ScheduledExecutorService createExecutor(
+            int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException(
+                    "Max concurrency must be at least 1: " + maxConcurrency);
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ScheduledThreadPoolExecutor(maxConcurrency, runnable -> {
+            Thread thread = new Thread(runnable,
+                    "vaadin-broadcast-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs the given command for each of the given UIs and pushes the
+     * resulting changes.
+     * <p>
+     * The command is run while holding the lock of the UI, with
+     * {@link UI#getCurrent()} returning the UI being updated.
+     *
+     * @param uis
+     *            the UIs to update, not <code>null</code>
+     * @param command
+     *            the command to run for each UI, not <code>null</code>
+     * @return a future that is completed when all the UIs have been updated
+     */
+    public Future<Void> broadcast(Collection<UI> uis, Command command) {
+        Objects.requireNonNull(command, "Command cannot be null");
+        return broadcast(uis, () -> null,
+                (ui, snapshot) -> command.execute());
+    }
+
+    /**
+     * Applies a shared snapshot to each of the given UIs and pushes the
+     * resulting changes.
+     * <p>
+     * The snapshot supplier is run once, on a broadcast thread without holding
+     * any UI lock, before the snapshot is applied to the first UI. The same
+     * snapshot instance is passed to all the UIs, so it should be immutable or
+     * at least not modified by the update. The update is run while holding the
+     * lock of the UI, with {@link UI#getCurrent()} returning the UI being
+     * updated.
+     * <p>
+     * UIs that are detached by the time they would be updated are skipped.
+     * Exceptions thrown by the update are passed to the error handler of the
+     * session of the UI.
+     *
+     * @param <T>
+     *            the snapshot type
+     * @param uis
+     *            the UIs to update, not <code>null</code>
+     * @param snapshotSupplier
+     *            the supplier of the snapshot to apply, not <code>null</code>
+     * @param update
+     *            the update that applies the snapshot to a UI, not
+     *            <code>null</code>
+     * @return a future that is completed when all the UIs have been updated
+     */
+    public <T> Future<Void> broadcast(Collection<UI> uis,
+            SerializableSupplier<T> snapshotSupplier,
+            SerializableBiConsumer<UI, T> update) {
+        Objects.requireNonNull(uis, "UIs cannot be null");
+        Objects.requireNonNull(snapshotSupplier,
+                "Snapshot supplier cannot be null");
+        Objects.requireNonNull(update, "Update cannot be null");
+
+        Broadcast<T> broadcast = new Broadcast<>(snapshotSupplier, update,
+                uis.size());
+        broadcastCount.increment();
+        if (uis.isEmpty()) {
+            return broadcast.future;
+        }
+
+        synchronized (pendingUpdates) {
+            for (UI ui : uis) {
+                pendingUpdates.computeIfAbsent(ui, key -> new PendingUpdates())
+                        .broadcasts.add(broadcast);
+            }
+            scheduleFlush();
+        }
+        return broadcast.future;
+    }
+
+    /**
+     * Stops updating UIs. Pending updates are discarded.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        synchronized (pendingUpdates) {
+            pendingUpdates.clear();
+        }
+    }
+
+    /**
+     * Gets the number of broadcasts that have been made.
+     *
+     * @return the number of broadcasts
+     */
+    public long getBroadcastCount() {
+        return broadcastCount.sum();
+    }
+
+    /**
+     * Gets the number of broadcast updates that have been successfully applied
+     * to a UI. A broadcast to a thousand UIs counts as a thousand updates.
+     *
+     * @return the number of applied updates
+     */
+    public long getUpdateCount() {
+        return updateCount.sum();
+    }
+
+    /**
+     * Gets the number of times the pending updates of a UI have been applied
+     * and pushed. This is never more than the number of updates, and the
+     * difference is the number of updates that shared a push with another
+     * update.
+     *
+     * @return the number of UI deliveries
+     */
+    public long getDeliveryCount() {
+        return deliveryCount.sum();
+    }
+
+    /**
+     * Gets the number of broadcast updates that could not be applied because
+     * the UI had been detached or the update threw an exception.
+     *
+     * @return the number of failed updates
+     */
+    public long getFailedUpdateCount() {
+        return failedUpdateCount.sum();
+    }
+
+    /**
+     * Gets the total time in milliseconds spent applying and pushing updates,
+     * including the time spent waiting for UI locks. Together with
+     * {@link #getUpdateCount()} this gives the broadcast throughput.
+     *
+     * @return the total delivery time in milliseconds
+     */
+    public long getTotalDeliveryTime() {
+        return TimeUnit.NANOSECONDS.toMillis(deliveryNanos.sum());
+    }
+
+    private void scheduleFlush() {
+        assert Thread.holdsLock(pendingUpdates);
+        if (flushScheduled) {
+            return;
+        }
+        try {
+            executor.schedule(this::flush, coalesceWindow,
+                    TimeUnit.MILLISECONDS);
+            flushScheduled = true;
+        } catch (RejectedExecutionException e) {
+            getLogger().debug("Ignoring broadcast after shutdown", e);
+        }
+    }
+
+    private void flush() {
+        synchronized (pendingUpdates) {
+            flushScheduled = false;
+            pendingUpdates.forEach((ui, pending) -> {
+                if (pending.delivering || pending.broadcasts.isEmpty()) {
+                    // Rescheduled once the ongoing delivery is done
+                    return;
+                }
+                List<Broadcast<?>> broadcasts = pending.broadcasts;
+                pending.broadcasts = new ArrayList<>();
+                pending.delivering = true;
+                executor.execute(() -> deliver(ui, broadcasts));
+            });
+        }
+    }
+
+    private void deliver(UI ui, List<Broadcast<?>> broadcasts) {
+        long start = System.nanoTime();
+        try {
+            VaadinSession session = ui.getSession();
+            if (session == null) {
+                throw new UIDetachedException();
+            }
+            // Snapshots are created before locking the UI
+            broadcasts.forEach(Broadcast::prepareSnapshot);
+            ui.accessSynchronously(() -> {
+                broadcasts.forEach(broadcast -> apply(ui, broadcast));
+                if (ui.getPushConfiguration()
+                        .getPushMode() == PushMode.MANUAL) {
+                    try {
+                        ui.push();
+                    } catch (Exception e) {
+                        session.getErrorHandler().error(new ErrorEvent(e));
+                    }
+                }
+            });
+            deliveryCount.increment();
+        } catch (UIDetachedException e) {
+            getLogger().debug("Skipping broadcast to a detached UI", e);
+            failedUpdateCount.add(broadcasts.size());
+        } finally {
+            deliveryNanos.add(System.nanoTime() - start);
+            broadcasts.forEach(Broadcast::uiDone);
+            synchronized (pendingUpdates) {
+                PendingUpdates pending = pendingUpdates.get(ui);
+                if (pending != null) {
+                    pending.delivering = false;
+                    if (pending.broadcasts.isEmpty()) {
+                        pendingUpdates.remove(ui);
+                    } else {
+                        scheduleFlush();
+                    }
+                }
+            }
+        }
+    }
+
+    private void apply(UI ui, Broadcast<?> broadcast) {
+        try {
+            broadcast.apply(ui);
+            updateCount.increment();
+        } catch (Exception e) {
+            failedUpdateCount.increment();
+            ui.getSession().getErrorHandler().error(new ErrorEvent(e));
+        }
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(UIBroadcaster.class.getName());
+    }
+}
@@ -26,6 +26,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.JsonStreamWriter;
 import com.vaadin.flow.server.ServletHelper;
 import com.vaadin.flow.server.SessionExpiredHandler;
 import com.vaadin.flow.server.SynchronizedRequestHandler;
@@ -35,6 +36,7 @@ import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.ServletHelper.RequestType;
 import com.vaadin.flow.server.communication.ServerRpcHandler.InvalidUIDLSecurityKeyException;
+import com.vaadin.flow.server.communication.ServerRpcHandler.RpcResult;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.JsonException;
@@ -71,6 +73,29 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         return new ServerRpcHandler();
     }
 
+    @Override
+    public boolean handleRequest(VaadinSession session, VaadinRequest request,
+            VaadinResponse response) throws IOException {
+        if (!session.isPerUILockingEnabled()) {
+            return super.handleRequest(session, request, response);
+        }
+        if (!canHandleRequest(request)) {
+            return false;
+        }
+
+        // Only the target UI is locked so other UIs can be served in parallel
+        UI uI = session.getService().findAndLockUI(session, request);
+        if (uI == null) {
+            commitJsonResponse(response, VaadinService.createUINotFoundJSON());
+            return true;
+        }
+        try {
+            return handleRequest(session, uI, request, response);
+        } finally {
+            uI.getInternals().unlock();
+        }
+    }
+
     @Override
     public boolean synchronizedHandleRequest(VaadinSession session,
             VaadinRequest request, VaadinResponse response) throws IOException {
@@ -81,11 +106,24 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
             commitJsonResponse(response, VaadinService.createUINotFoundJSON());
             return true;
         }
+        return handleRequest(session, uI, request, response);
+    }
+
+    private boolean handleRequest(VaadinSession session, UI uI,
+            VaadinRequest request, VaadinResponse response) throws IOException {
+        if (session.getService().getDeploymentConfiguration()
+                .isUidlStreamingEnabled()) {
+            return handleStreamingRequest(session, uI, request, response);
+        }
 
         StringWriter stringWriter = new StringWriter();
 
         try {
-            getRpcHandler(session).handleRpc(uI, request.getReader(), request);
+            byte[] lastResponse = handleRpc(session, uI, request);
+            if (lastResponse != null) {
+                commitJsonResponse(response, lastResponse);
+                return true;
+            }
 
             writeUidl(uI, stringWriter);
         } catch (JsonException e) {
@@ -104,10 +142,79 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
             stringWriter.close();
         }
 
-        commitJsonResponse(response, stringWriter.toString());
+        byte[] b = stringWriter.toString().getBytes(UTF_8);
+        uI.getInternals()
+                .setLastResponse(isReplayable(session, b.length) ? b : null);
+        commitJsonResponse(response, b);
         return true;
     }
 
+    private boolean handleStreamingRequest(VaadinSession session, UI uI,
+            VaadinRequest request, VaadinResponse response)
+            throws IOException {
+        JsonStreamWriter jsonWriter = JsonStreamWriter.obtain();
+        try {
+            try {
+                byte[] lastResponse = handleRpc(session, uI, request);
+                if (lastResponse != null) {
+                    commitJsonResponse(response, lastResponse);
+                    return true;
+                }
+
+                new UidlWriter().writeUidlMessage(uI, false, jsonWriter);
+            } catch (JsonException e) {
+                getLogger().error("Error writing JSON to response", e);
+                // Refresh on client side
+                writeRefresh(response);
+                return true;
+            } catch (InvalidUIDLSecurityKeyException e) {
+                getLogger().warn("Invalid security key received from {}",
+                        request.getRemoteHost());
+                // Refresh on client side
+                writeRefresh(response);
+                return true;
+            }
+
+            uI.getInternals().setLastResponse(
+                    isReplayable(session, jsonWriter.size())
+                            ? jsonWriter.toByteArray()
+                            : null);
+            commitJsonResponse(response, jsonWriter);
+            return true;
+        } finally {
+            jsonWriter.release();
+        }
+    }
+
+    /**
+     * Handles the RPC invocations in the request.
+     *
+     * @return the previous response to send again if the request is a
+     *         duplicate of the last processed message, or <code>null</code> if
+     *         a new response should be written
+     */
+    private byte[] handleRpc(VaadinSession session, UI uI,
+            VaadinRequest request)
+            throws IOException, InvalidUIDLSecurityKeyException {
+        RpcResult result = getRpcHandler().handleRpc(uI, request.getReader(),
+                request);
+        if (result != RpcResult.DUPLICATE) {
+            return null;
+        }
+        byte[] lastResponse = uI.getInternals().getLastResponse();
+        if (lastResponse == null) {
+            // The response is no longer available, send the full state so
+            // that the client gets back in sync
+            uI.getInternals().setResynchronizationRequested(true);
+        }
+        return lastResponse;
+    }
+
+    private static boolean isReplayable(VaadinSession session, int size) {
+        return size <= session.getService().getDeploymentConfiguration()
+                .getResponseReplayCacheSize();
+    }
+
     private void writeRefresh(VaadinResponse response) throws IOException {
         String json = VaadinService.createCriticalNotificationJSON(null, null,
                 null, null);
@@ -146,8 +253,8 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         return true;
     }
 
-    private ServerRpcHandler getRpcHandler(VaadinSession session) {
-        assert session.hasLock();
+    // Synchronized since only a UI lock is held with per UI locking
+    private synchronized ServerRpcHandler getRpcHandler() {
         if (rpcHandler == null) {
             rpcHandler = createRpcHandler();
         }
@@ -168,17 +275,58 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
      */
     public static void commitJsonResponse(VaadinResponse response, String json)
             throws IOException {
+        commitJsonResponse(response, json.getBytes(UTF_8));
+    }
+
+    /**
+     * Commit the UTF-8 encoded JSON response.
+     *
+     * @param response
+     *            The response to write to
+     * @param json
+     *            The UTF-8 encoded JSON to write
+     * @throws IOException
+     *             If there was an exception while writing to the output
+     */
+    public static void commitJsonResponse(VaadinResponse response, byte[] json)
+            throws IOException {
+        response.setContentType(JsonConstants.JSON_CONTENT_TYPE);
+
+        // Ensure that the browser does not cache UIDL responses.
+        // iOS 6 Safari requires this (#9732)
+        response.setHeader("Cache-Control", "no-cache");
+
+        response.setContentLength(json.length);
+
+        OutputStream outputStream = response.getOutputStream();
+        outputStream.write(json);
+        // NOTE GateIn requires the buffers to be flushed to work
+        outputStream.flush();
+    }
+
+    /**
+     * Commit the JSON response written to the given stream writer. The
+     * contents of the writer are copied to the response as is.
+     *
+     * @param response
+     *            The response to write to
+     * @param jsonWriter
+     *            The stream writer containing the UTF-8 encoded JSON to write
+     * @throws IOException
+     *             If there was an exception while writing to the output
+     */
+    public static void commitJsonResponse(VaadinResponse response,
+            JsonStreamWriter jsonWriter) throws IOException {
         response.setContentType(JsonConstants.JSON_CONTENT_TYPE);
 
         // Ensure that the browser does not cache UIDL responses.
         // iOS 6 Safari requires this (#9732)
         response.setHeader("Cache-Control", "no-cache");
 
-        byte[] b = json.getBytes(UTF_8);
-        response.setContentLength(b.length);
+        response.setContentLength(jsonWriter.size());
 
         OutputStream outputStream = response.getOutputStream();
-        outputStream.write(b);
+        jsonWriter.writeTo(outputStream);
         // NOTE GateIn requires the buffers to be flushed to work
         outputStream.flush();
     }
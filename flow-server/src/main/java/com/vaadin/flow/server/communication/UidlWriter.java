@@ -38,6 +38,7 @@ import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletRequest;
 
 import org.slf4j.Logger;
@@ -49,6 +50,7 @@ import com.vaadin.flow.component.internal.DependencyList;
 import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.component.internal.UIInternals.JavaScriptInvocation;
 import com.vaadin.flow.internal.JsonCodec;
+import com.vaadin.flow.internal.JsonStreamWriter;
 import com.vaadin.flow.internal.JsonUtils;
 import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.internal.change.MapPutChange;
@@ -61,6 +63,7 @@ import com.vaadin.flow.router.legacy.HasChildView;
 import com.vaadin.flow.router.legacy.View;
 import com.vaadin.flow.server.DependencyFilter;
 import com.vaadin.flow.server.DependencyFilter.FilterContext;
+import com.vaadin.flow.server.ServletHelper;
 import com.vaadin.flow.server.SystemMessages;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinServletRequest;
@@ -108,7 +111,7 @@ public class UidlWriter implements Serializable {
 
         // Purge pending access calls as they might produce additional changes
         // to write out
-        service.runPendingAccessTasks(session);
+        uiInternals.runPendingAccessTasks();
 
         // Paints components
         getLogger().debug("* Creating response to client");
@@ -122,6 +125,9 @@ public class UidlWriter implements Serializable {
                 .getLastProcessedClientToServerId() + 1;
         response.put(ApplicationConstants.CLIENT_TO_SERVER_ID,
                 nextClientToServerMessageId);
+        if (prepareForResync(uiInternals)) {
+            response.put(ApplicationConstants.RESYNCHRONIZE_ID, true);
+        }
 
         SystemMessages messages = ui.getSession().getService()
                 .getSystemMessages(ui.getLocale(), null);
@@ -135,10 +141,12 @@ public class UidlWriter implements Serializable {
         JsonArray stateChanges = Json.createArray();
         JsonObject templates = Json.createObject();
 
-        encodeChanges(ui, stateChanges, templates);
+        encodeChanges(ui, change -> stateChanges.set(stateChanges.length(),
+                change.toJson(uiInternals.getConstantPool())), templates);
 
-        populateDependencies(response, session,
-                uiInternals.getDependencyList());
+        collectDependencies(session, uiInternals.getDependencyList())
+                .forEach((loadMode, dependencies) -> response
+                        .put(loadMode.name(), dependencies));
 
         if (uiInternals.getConstantPool().hasNewConstants()) {
             response.put("constants",
@@ -165,7 +173,136 @@ public class UidlWriter implements Serializable {
         return response;
     }
 
-    private static void populateDependencies(JsonObject response,
+    /**
+     * Writes all pending changes to the given UI as a JSON object to the given
+     * stream writer. The written JSON contains the same data as the object
+     * returned by {@link #createUidl(UI, boolean)}, but state changes are
+     * serialized directly to the writer instead of first being collected into
+     * a JSON tree.
+     *
+     * @param ui
+     *            The {@link UI} whose changes to write
+     * @param async
+     *            True if this message is sent by the server asynchronously,
+     *            false if it is a response to a client message.
+     * @param writer
+     *            the stream writer to write the UIDL response to
+     */
+    public void writeUidl(UI ui, boolean async, JsonStreamWriter writer) {
+        UIInternals uiInternals = ui.getInternals();
+
+        VaadinSession session = ui.getSession();
+        VaadinService service = session.getService();
+
+        // Purge pending access calls as they might produce additional changes
+        // to write out
+        uiInternals.runPendingAccessTasks();
+
+        getLogger().debug("* Streaming response to client");
+
+        writer.beginObject();
+
+        int syncId = service.getDeploymentConfiguration().isSyncIdCheckEnabled()
+                ? uiInternals.getServerSyncId()
+                : -1;
+
+        writer.name(ApplicationConstants.SERVER_SYNC_ID).value(syncId);
+        writer.name(ApplicationConstants.CLIENT_TO_SERVER_ID)
+                .value(uiInternals.getLastProcessedClientToServerId() + 1);
+        if (prepareForResync(uiInternals)) {
+            writer.name(ApplicationConstants.RESYNCHRONIZE_ID).value(true);
+        }
+
+        SystemMessages messages = service.getSystemMessages(ui.getLocale(),
+                null);
+
+        JsonObject meta = new MetadataWriter().createMetadata(ui, false, async,
+                messages);
+        if (meta.keys().length > 0) {
+            writer.name("meta").value(meta);
+        }
+
+        JsonObject templates = Json.createObject();
+
+        // The changes array is opened lazily to omit it when there are none
+        boolean[] changesStarted = new boolean[1];
+        encodeChanges(ui, change -> {
+            if (!changesStarted[0]) {
+                writer.name("changes").beginArray();
+                changesStarted[0] = true;
+            }
+            change.writeJson(writer, uiInternals.getConstantPool());
+        }, templates);
+        if (changesStarted[0]) {
+            writer.endArray();
+        }
+
+        // Dependencies and constants are only known after encoding changes
+        collectDependencies(session, uiInternals.getDependencyList())
+                .forEach((loadMode, dependencies) -> writer
+                        .name(loadMode.name()).value(dependencies));
+
+        if (uiInternals.getConstantPool().hasNewConstants()) {
+            writer.name("constants")
+                    .value(uiInternals.getConstantPool().dumpConstants());
+        }
+        if (templates.keys().length > 0) {
+            writer.name("templates").value(templates);
+        }
+
+        List<JavaScriptInvocation> executeJavaScriptList = uiInternals
+                .dumpPendingJavaScriptInvocations();
+        if (!executeJavaScriptList.isEmpty()) {
+            writer.name(JsonConstants.UIDL_KEY_EXECUTE).value(
+                    encodeExecuteJavaScriptList(executeJavaScriptList));
+        }
+        if (!service.getDeploymentConfiguration().isProductionMode()) {
+            writer.name("timings").value(createPerformanceData(ui));
+        }
+
+        writer.endObject();
+
+        uiInternals.incrementServerId();
+    }
+
+    /**
+     * Writes a complete UIDL message for the given UI to the given stream
+     * writer, including the wrapping that prevents the response from being
+     * evaluated as a script by a third party site.
+     *
+     * @param ui
+     *            The {@link UI} whose changes to write
+     * @param async
+     *            True if this message is sent by the server asynchronously,
+     *            false if it is a response to a client message.
+     * @param writer
+     *            the stream writer to write the UIDL message to
+     */
+    public void writeUidlMessage(UI ui, boolean async,
+            JsonStreamWriter writer) {
+        // some dirt to prevent cross site scripting
+        writer.raw("for(;;);[");
+        writeUidl(ui, async, writer);
+        writer.raw("]");
+    }
+
+    /**
+     * Makes the state tree report its full state if resynchronization has been
+     * requested for the UI.
+     *
+     * @return <code>true</code> if the message should make the client
+     *         resynchronize, <code>false</code> otherwise
+     */
+    private static boolean prepareForResync(UIInternals uiInternals) {
+        if (!uiInternals.isResynchronizationRequested()) {
+            return false;
+        }
+        uiInternals.setResynchronizationRequested(false);
+        uiInternals.getStateTree().prepareForResync();
+        return true;
+    }
+
+    private static Map<LoadMode, JsonArray> collectDependencies(
             VaadinSession session, DependencyList dependencyList) {
         Collection<Dependency> pendingSendToClient = dependencyList
                 .getPendingSendToClient();
@@ -178,12 +315,10 @@ public class UidlWriter implements Serializable {
                     .filter(new ArrayList<>(pendingSendToClient), context);
         }
 
-        if (!pendingSendToClient.isEmpty()) {
-            groupDependenciesByLoadMode(pendingSendToClient)
-                    .forEach((loadMode, dependencies) -> response
-                            .put(loadMode.name(), dependencies));
-        }
+        Map<LoadMode, JsonArray> dependenciesByLoadMode = groupDependenciesByLoadMode(
+                pendingSendToClient);
         dependencyList.clearPendingSendToClient();
+        return dependenciesByLoadMode;
     }
 
     private static Map<LoadMode, JsonArray> groupDependenciesByLoadMode(
@@ -214,11 +349,35 @@ public class UidlWriter implements Serializable {
                 .filter(string -> !string.isEmpty()).map(Charset::forName)
                 .orElse(StandardCharsets.UTF_8);
 
+        VaadinSession session = VaadinSession.getCurrent();
+        VaadinUriResolverFactory uriResolverFactory = session
+                .getAttribute(VaadinUriResolverFactory.class);
+
+        assert uriResolverFactory != null;
+
+        String resolvedPath = uriResolverFactory
+                .toServletContextPath(VaadinService.getCurrentRequest(), url);
+        ServletContext servletContext = currentRequest.getServletContext();
+
+        // Inline resources don't change in production mode
+        long lastModified = session.getService().getDeploymentConfiguration()
+                .isProductionMode() ? InlineResourceCache.NOT_CHECKED
+                : ServletHelper.getLastModified(servletContext,
+                        resolvedPath);
+
+        return InlineResourceCache.getInstance(servletContext).get(
+                resolvedPath, requestCharset, lastModified,
+                () -> readDependencyContents(url, resolvedPath, servletContext,
+                        requestCharset));
+    }
+
+    private static String readDependencyContents(String url,
+            String resolvedPath, ServletContext servletContext,
+            Charset charset) {
         try (InputStream inlineResourceStream = getInlineResourceStream(url,
-                currentRequest);
+                resolvedPath, servletContext);
                 BufferedReader bufferedReader = new BufferedReader(
-                        new InputStreamReader(inlineResourceStream,
-                                requestCharset))) {
+                        new InputStreamReader(inlineResourceStream, charset))) {
             return bufferedReader.lines()
                     .collect(Collectors.joining(System.lineSeparator()));
         } catch (IOException e) {
@@ -228,16 +387,8 @@ public class UidlWriter implements Serializable {
     }
 
     private static InputStream getInlineResourceStream(String url,
-            HttpServletRequest currentRequest) {
-        VaadinUriResolverFactory uriResolverFactory = VaadinSession.getCurrent()
-                .getAttribute(VaadinUriResolverFactory.class);
-
-        assert uriResolverFactory != null;
-
-        String resolvedPath = uriResolverFactory
-                .toServletContextPath(VaadinService.getCurrentRequest(), url);
-        InputStream stream = currentRequest.getServletContext()
-                .getResourceAsStream(resolvedPath);
+            String resolvedPath, ServletContext servletContext) {
+        InputStream stream = servletContext.getResourceAsStream(resolvedPath);
 
         if (stream == null) {
             getLogger().warn("The path '{}' for inline resource "
@@ -293,13 +444,13 @@ public class UidlWriter implements Serializable {
      *
      * @param ui
      *            the UI
-     * @param stateChanges
-     *            a JSON array to put state changes into
+     * @param changeEncoder
+     *            a consumer encoding each state change
      * @param templates
      *            a JSON object to put new template nodes into
      * @see StateTree#runExecutionsBeforeClientResponse()
      */
-    private void encodeChanges(UI ui, JsonArray stateChanges,
+    private void encodeChanges(UI ui, Consumer<NodeChange> changeEncoder,
             JsonObject templates) {
         UIInternals uiInternals = ui.getInternals();
         StateTree stateTree = uiInternals.getStateTree();
@@ -331,8 +482,7 @@ public class UidlWriter implements Serializable {
             }
 
             // Encode the actual change
-            stateChanges.set(stateChanges.length(),
-                    change.toJson(uiInternals.getConstantPool()));
+            changeEncoder.accept(change);
         });
 
         componentsWithDependencies
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.startup;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.vaadin.flow.component.Component;
+
+/**
+ * The registered route and navigation target matching a path.
+ *
+ * @see RouteRegistry#getRouteMatch(List)
+ * @author Vaadin Ltd
+ */
+public final class RouteMatch implements Serializable {
+    private final String path;
+    private final List<String> parameterSegments;
+    private final Class<? extends Component> navigationTarget;
+
+    RouteMatch(String path, List<String> parameterSegments,
+            Class<? extends Component> navigationTarget) {
+        this.path = path;
+        this.parameterSegments = parameterSegments;
+        this.navigationTarget = navigationTarget;
+    }
+
+    /**
+     * Gets the matching registered route.
+     *
+     * @return the route path, not <code>null</code>
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the path segments following the matching route.
+     *
+     * @return the remaining path segments, not <code>null</code>
+     */
+    public List<String> getParameterSegments() {
+        return parameterSegments;
+    }
+
+    /**
+     * Gets the navigation target for the route and the remaining segments.
+     *
+     * @return the navigation target, not <code>null</code>
+     */
+    public Class<? extends Component> getNavigationTarget() {
+        return navigationTarget;
+    }
+}
@@ -58,6 +58,7 @@ import com.vaadin.flow.server.InvalidRouteLayoutConfigurationException;
 public class RouteRegistry implements Serializable {
 
     private final AtomicReference<Map<String, RouteTarget>> routes = new AtomicReference<>();
+    private final AtomicReference<RouteTrie> routeTrie = new AtomicReference<>();
     private final AtomicReference<Map<Class<? extends Component>, String>> targetRoutes = new AtomicReference<>();
     private final AtomicReference<Map<Class<?>, Class<? extends Component>>> exceptionTargets = new AtomicReference<>();
     private final AtomicReference<List<RouteData>> routeData = new AtomicReference<>();
@@ -337,6 +338,27 @@ public class RouteRegistry implements Serializable {
         return Optional.empty();
     }
 
+    /**
+     * Gets the longest registered route matching the beginning of the given
+     * path segments for which there is a navigation target accepting the rest
+     * of the segments. The empty route is tried for all the segments as the
+     * last option.
+     *
+     * @param pathSegments
+     *            the segments of the path to match, not {@code null}
+     * @return the matching route and its navigation target, or an empty
+     *         optional if no route matches the path
+     */
+    public Optional<RouteMatch> getRouteMatch(List<String> pathSegments) {
+        Objects.requireNonNull(pathSegments,
+                "pathSegments must not be null.");
+        RouteTrie trie = routeTrie.get();
+        if (trie == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(trie.match(pathSegments));
+    }
+
     /**
      * Checks if the registry contains a route to the given path.
      *
@@ -450,6 +472,9 @@ public class RouteRegistry implements Serializable {
             throw new IllegalStateException(
                     "Route registry has been already initialized");
         }
+        RouteTrie trie = new RouteTrie();
+        routesMap.forEach(trie::add);
+        routeTrie.set(trie);
         if (!targetRoutes.compareAndSet(null,
                 Collections.unmodifiableMap(targetRoutesMap))) {
             throw new IllegalStateException(
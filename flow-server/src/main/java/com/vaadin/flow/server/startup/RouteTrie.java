@@ -0,0 +1,111 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.startup;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.vaadin.flow.component.Component;
+
+/**
+ * Route targets organized by the segments of their routes so that the longest
+ * route matching the beginning of a path can be found in one pass over the
+ * path segments.
+ *
+ * @author Vaadin Ltd
+ */
+final class RouteTrie implements Serializable {
+
+    private static final class Node implements Serializable {
+        private final Map<String, Node> children = new HashMap<>();
+        private String path;
+        private RouteTarget target;
+    }
+
+    private final Node root = new Node();
+
+    /**
+     * Adds a route target to the trie.
+     *
+     * @param path
+     *            the route of the target, not <code>null</code>
+     * @param target
+     *            the route target, not <code>null</code>
+     */
+    void add(String path, RouteTarget target) {
+        Node node = root;
+        for (String segment : path.split("/", -1)) {
+            node = node.children.computeIfAbsent(segment, key -> new Node());
+        }
+        node.path = path;
+        node.target = target;
+    }
+
+    /**
+     * Finds the longest route that matches the beginning of the given path
+     * segments and has a navigation target for the rest of the segments.
+     * <p>
+     * The empty route is also tried for all the segments as the last option,
+     * unless the first segment is empty.
+     *
+     * @param segments
+     *            the path segments, not <code>null</code>
+     * @return the match, or <code>null</code> if no route matches
+     */
+    RouteMatch match(List<String> segments) {
+        Node[] nodes = new Node[segments.size() + 1];
+        int depth = 0;
+        Node node = root;
+        while (depth < segments.size()) {
+            node = node.children.get(segments.get(depth));
+            if (node == null) {
+                break;
+            }
+            nodes[++depth] = node;
+        }
+
+        for (int i = depth; i > 0; i--) {
+            RouteMatch match = match(nodes[i], segments, i);
+            if (match != null) {
+                return match;
+            }
+        }
+        if (!segments.isEmpty() && !segments.get(0).isEmpty()) {
+            Node emptyRoute = root.children.get("");
+            if (emptyRoute != null) {
+                return match(emptyRoute, segments, 0);
+            }
+        }
+        return null;
+    }
+
+    private static RouteMatch match(Node node, List<String> segments,
+            int routeLength) {
+        if (node.target == null) {
+            return null;
+        }
+        List<String> parameterSegments = segments.subList(routeLength,
+                segments.size());
+        Class<? extends Component> navigationTarget = node.target
+                .getTarget(parameterSegments);
+        if (navigationTarget == null) {
+            return null;
+        }
+        return new RouteMatch(node.path, parameterSegments, navigationTarget);
+    }
+}
@@ -33,6 +33,8 @@ import org.webjars.WebJarAssetLocator;
 
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.ResponseWriter;
+import com.vaadin.flow.internal.StaticResourceCache;
+import com.vaadin.flow.internal.StaticResourceCache.CachedResource;
 import com.vaadin.flow.server.Constants;
 import com.vaadin.flow.shared.ApplicationConstants;
 
@@ -44,7 +46,9 @@ import elemental.json.Json;
  * <p>
  * By default, webJars are enabled for development mode and disabled for
  * production mode. There is a way to override this behavior by setting
- * {@link Constants#DISABLE_WEBJARS} param.
+ * {@link Constants#DISABLE_WEBJARS} param. If webJars are enabled in
+ * production mode, the served files are kept in a
+ * {@link StaticResourceCache}.
  *
  * @author Vaadin Ltd.
  */
@@ -52,8 +56,10 @@ public class WebJarServer implements Serializable {
     private final transient WebJarAssetLocator locator = new WebJarAssetLocator();
     private final transient Map<String, WebJarBowerDependency> bowerModuleToDependencyName = new HashMap<>();
     private final ResponseWriter responseWriter = new ResponseWriter();
+    private transient StaticResourceCache resourceCache;
 
     private final String prefix;
+    private final long resourceCacheSize;
 
     /**
      * Creates a webJar server that is able to search webJars for files and
@@ -66,6 +72,10 @@ public class WebJarServer implements Serializable {
     public WebJarServer(DeploymentConfiguration deploymentConfiguration) {
         assert deploymentConfiguration != null;
 
+        resourceCacheSize = deploymentConfiguration.isProductionMode()
+                ? deploymentConfiguration.getStaticResourceCacheSize()
+                : 0;
+
         String frontendPrefix = deploymentConfiguration
                 .getDevelopmentFrontendPrefix();
         if (!frontendPrefix.endsWith("/")) {
@@ -151,6 +161,20 @@ public class WebJarServer implements Serializable {
             return false;
         }
 
+        if (resourceCacheSize > 0) {
+            if (resourceCache == null) {
+                resourceCache = StaticResourceCache.getInstance(
+                        request.getServletContext(), resourceCacheSize);
+            }
+            CachedResource resource = resourceCache
+                    .getResource(request.getServletContext(), webJarPath);
+            if (resource == null) {
+                return false;
+            }
+            resourceCache.writeResponse(resource, request, response);
+            return true;
+        }
+
         URL resourceUrl = request.getServletContext().getResource(webJarPath);
         if (resourceUrl == null) {
             return false;
@@ -410,6 +410,39 @@ public class BeanModelType<T> implements ComplexModelType<T> {
         });
     }
 
+    /**
+     * Gets the model value of a single property of a bean.
+     *
+     * @param bean
+     *            the bean to get the value from
+     * @param propertyName
+     *            the name of the property in this model type
+     * @param propertyFilter
+     *            the filter of the properties of this model type
+     * @return the model value of the bean property
+     */
+    Serializable getModelValue(Object bean, String propertyName,
+            PropertyFilter propertyFilter) {
+        assert isBean(bean.getClass());
+
+        Method getter = beanPropertyCache.get(bean.getClass())
+                .get(propertyName);
+        if (getter == null) {
+            throw new IllegalArgumentException(
+                    "Cannot access bean property " + propertyName);
+        }
+
+        Object value;
+        try {
+            value = getter.invoke(bean);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(
+                    "Cannot access bean property " + propertyName, e);
+        }
+        return getPropertyType(propertyName).applicationToModel(value,
+                new PropertyFilter(propertyFilter, propertyName));
+    }
+
     /**
      * Finds the model type denoted by the given model path.
      *
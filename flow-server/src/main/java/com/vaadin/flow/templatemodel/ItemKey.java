@@ -0,0 +1,49 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.templatemodel;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Defines a bean property that identifies the items of a list of beans in a
+ * template model.
+ * <p>
+ * Use this annotation on setters in your {@link TemplateModel} class for
+ * properties of type {@code List<Bean>}. When a new list is set for the
+ * property, the items in the existing model list are matched with the new
+ * beans by the value of the key property. Matching items keep their model
+ * nodes and only send the properties that have changed, instead of replacing
+ * the whole list.
+ *
+ * @author Vaadin Ltd
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Documented
+public @interface ItemKey {
+
+    /**
+     * The name of the bean property used as the key of the list items. The
+     * property values should be unique within a list.
+     *
+     * @return the name of the key property
+     */
+    String value();
+}
@@ -19,7 +19,12 @@ import java.io.Serializable;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import com.googlecode.gentyref.GenericTypeReflector;
 import com.vaadin.flow.dom.impl.TemplateElementStateProvider;
@@ -42,6 +47,8 @@ public class ListModelType<T> implements ComplexModelType<T> {
 
     private ComplexModelType<T> itemType;
 
+    private final String itemKey;
+
     /**
      * Creates a new list model type with the given bean model type.
      *
@@ -49,8 +56,26 @@ public class ListModelType<T> implements ComplexModelType<T> {
      *            the model type of the list items
      */
     public ListModelType(ComplexModelType<T> itemType) {
+        this(itemType, null);
+    }
+
+    /**
+     * Creates a new list model type with the given bean model type and item
+     * key property. Beans imported into an existing model list are matched
+     * with the existing items using the key property.
+     *
+     * @param itemType
+     *            the model type of the list items
+     * @param itemKey
+     *            the name of the item property to use as a key, or
+     *            <code>null</code> to always replace all the items
+     * @see ItemKey
+     */
+    public ListModelType(ComplexModelType<T> itemType, String itemKey) {
         assert itemType != null;
+        assert itemKey == null || itemType instanceof BeanModelType<?>;
         this.itemType = itemType;
+        this.itemKey = itemKey;
     }
 
     /**
@@ -62,6 +87,17 @@ public class ListModelType<T> implements ComplexModelType<T> {
         return itemType;
     }
 
+    /**
+     * Gets the name of the item property used to match imported beans with
+     * existing list items.
+     *
+     * @return the item key property name, or <code>null</code> if the items
+     *         are always replaced
+     */
+    public String getItemKey() {
+        return itemKey;
+    }
+
     @Override
     public List<T> modelToApplication(Serializable modelValue) {
         if (modelValue instanceof StateNode) {
@@ -119,6 +155,10 @@ public class ListModelType<T> implements ComplexModelType<T> {
     /**
      * Imports beans into a model list based on the properties in the item type
      * of this model type.
+     * <p>
+     * If this type has an item key, existing items with the same key as an
+     * imported bean are updated in place and moved to their new position,
+     * instead of being replaced by new items.
      *
      * @param modelList
      *            the model list to import beans into
@@ -129,6 +169,12 @@ public class ListModelType<T> implements ComplexModelType<T> {
      */
     public void importBeans(ModelList modelList, List<T> beans,
             PropertyFilter propertyFilter) {
+        if (itemKey != null && propertyFilter.test(itemKey)
+                && modelList.size() > 0) {
+            updateBeans(modelList, beans, propertyFilter);
+            return;
+        }
+
         // Collect all child nodes before clearing anything
         List<StateNode> childNodes = new ArrayList<>();
         for (Object bean : beans) {
@@ -142,6 +188,130 @@ public class ListModelType<T> implements ComplexModelType<T> {
         modelList.addAll(childNodes);
     }
 
+    private void updateBeans(ModelList modelList, List<T> beans,
+            PropertyFilter propertyFilter) {
+        BeanModelType<?> beanType = (BeanModelType<?>) itemType;
+
+        // The first item wins if the existing items have duplicate keys
+        Map<Serializable, StateNode> itemsByKey = new HashMap<>();
+        for (int i = 0; i < modelList.size(); i++) {
+            StateNode item = modelList.get(i);
+            itemsByKey.putIfAbsent(
+                    ElementPropertyMap.getModel(item).getProperty(itemKey),
+                    item);
+        }
+
+        // Create all new items before changing anything
+        List<StateNode> items = new ArrayList<>(beans.size());
+        Set<StateNode> reusedItems = Collections
+                .newSetFromMap(new IdentityHashMap<>());
+        for (T bean : beans) {
+            StateNode item = itemsByKey.remove(
+                    beanType.getModelValue(bean, itemKey, propertyFilter));
+            if (item == null) {
+                item = itemType.applicationToModel(bean, propertyFilter);
+            } else {
+                reusedItems.add(item);
+            }
+            items.add(item);
+        }
+
+        // Unchanged properties are not sent again
+        for (int i = 0; i < items.size(); i++) {
+            StateNode item = items.get(i);
+            if (reusedItems.contains(item)) {
+                beanType.importProperties(ElementPropertyMap.getModel(item),
+                        beans.get(i), propertyFilter);
+            }
+        }
+
+        /*
+         * Reused items that are already in the right order relative to each
+         * other stay in place. All other items are removed and then inserted
+         * at their new positions, so that the number of moved items is as
+         * small as possible.
+         */
+        Map<StateNode, Integer> oldIndices = new IdentityHashMap<>();
+        for (int i = 0; i < modelList.size(); i++) {
+            StateNode item = modelList.get(i);
+            if (reusedItems.contains(item)) {
+                oldIndices.put(item, Integer.valueOf(i));
+            }
+        }
+        Set<StateNode> keptItems = findLongestOrderedRun(items, oldIndices);
+
+        for (int i = modelList.size() - 1; i >= 0; i--) {
+            if (!keptItems.contains(modelList.get(i))) {
+                modelList.remove(i);
+            }
+        }
+
+        int index = 0;
+        while (index < items.size()) {
+            if (keptItems.contains(items.get(index))) {
+                assert modelList.get(index) == items.get(index);
+                index++;
+            } else {
+                // Insert consecutive new and moved items at once
+                int end = index + 1;
+                while (end < items.size()
+                        && !keptItems.contains(items.get(end))) {
+                    end++;
+                }
+                modelList.addAll(index, items.subList(index, end));
+                index = end;
+            }
+        }
+    }
+
+    /**
+     * Finds the longest sequence of reused items in the new item order whose
+     * old indices are increasing.
+     */
+    private static Set<StateNode> findLongestOrderedRun(List<StateNode> items,
+            Map<StateNode, Integer> oldIndices) {
+        List<StateNode> reused = new ArrayList<>(oldIndices.size());
+        for (StateNode item : items) {
+            if (oldIndices.containsKey(item)) {
+                reused.add(item);
+            }
+        }
+
+        // tails[length - 1] is the position in reused of the smallest end of
+        // an increasing sequence of that length
+        int[] tails = new int[reused.size()];
+        int[] previous = new int[reused.size()];
+        int length = 0;
+        for (int i = 0; i < reused.size(); i++) {
+            int oldIndex = oldIndices.get(reused.get(i)).intValue();
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (oldIndices.get(reused.get(tails[middle]))
+                        .intValue() < oldIndex) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            previous[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+
+        Set<StateNode> run = Collections
+                .newSetFromMap(new IdentityHashMap<>());
+        int i = length > 0 ? tails[length - 1] : -1;
+        while (i >= 0) {
+            run.add(reused.get(i));
+            i = previous[i];
+        }
+        return run;
+    }
+
     @Override
     public boolean accepts(Type applicationType) {
         return isList(applicationType);
@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -66,14 +67,55 @@ class PropertyMapBuilder {
             ModelConverterProvider newConverterProvider = new ModelConverterProvider(
                     converterProvider, getModelConverters(), innerFilter);
 
+            ModelType modelType;
             if (newConverterProvider.apply(innerFilter).isPresent()) {
-                return BeanModelType.getConvertedModelType(propertyType,
+                modelType = BeanModelType.getConvertedModelType(propertyType,
                         innerFilter, propertyName, declaringClass,
                         newConverterProvider);
             } else {
-                return BeanModelType.getModelType(propertyType, innerFilter,
-                        propertyName, declaringClass, newConverterProvider);
+                modelType = BeanModelType.getModelType(propertyType,
+                        innerFilter, propertyName, declaringClass,
+                        newConverterProvider);
+            }
+
+            String itemKey = getItemKey();
+            if (itemKey != null) {
+                return createKeyedListType(modelType, itemKey);
+            }
+            return modelType;
+        }
+
+        private String getItemKey() {
+            Set<String> itemKeys = accessors.stream()
+                    .map(method -> method.getAnnotation(ItemKey.class))
+                    .filter(Objects::nonNull).map(ItemKey::value)
+                    .collect(Collectors.toSet());
+            if (itemKeys.size() > 1) {
+                throw new InvalidTemplateModelException(
+                        "A template model property cannot have different "
+                                + "item keys. Affected methods: " + accessors
+                                + ".");
+            }
+            return itemKeys.isEmpty() ? null : itemKeys.iterator().next();
+        }
+
+        private ModelType createKeyedListType(ModelType modelType,
+                String itemKey) {
+            if (modelType instanceof ListModelType<?>) {
+                ComplexModelType<?> itemType = ((ListModelType<?>) modelType)
+                        .getItemType();
+                if (itemType instanceof BeanModelType<?>
+                        && ((BeanModelType<?>) itemType)
+                                .hasProperty(itemKey)) {
+                    return new ListModelType<>(itemType, itemKey);
+                }
             }
+            throw new InvalidTemplateModelException(String.format(
+                    "@%s('%s') is only supported for lists of beans "
+                            + "with a '%s' property. "
+                            + "Used in class '%s' with property named '%s'.",
+                    ItemKey.class.getSimpleName(), itemKey, itemKey,
+                    declaringClass.getSimpleName(), propertyName));
         }
 
         private Map<String, Class<? extends ModelConverter<?, ?>>> getModelConverters() {
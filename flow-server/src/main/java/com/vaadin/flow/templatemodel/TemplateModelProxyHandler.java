@@ -17,6 +17,7 @@ package com.vaadin.flow.templatemodel;
 
 import java.io.Serializable;
 import java.lang.reflect.Method;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
@@ -26,6 +27,7 @@ import com.vaadin.flow.internal.ReflectTools;
 import com.vaadin.flow.internal.ReflectionCache;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.nodefeature.ElementPropertyMap;
+import com.vaadin.flow.internal.nodefeature.ModelList;
 import com.vaadin.flow.template.angular.model.TemplateModel;
 
 import net.bytebuddy.ByteBuddy;
@@ -314,8 +316,22 @@ public class TemplateModelProxyHandler implements Serializable {
         }
     }
 
+    @SuppressWarnings("unchecked")
     private static void handleSetter(ElementPropertyMap modelMap,
             String propertyName, ModelType propertyType, Object value) {
+        if (value != null && propertyType instanceof ListModelType<?>
+                && ((ListModelType<?>) propertyType).getItemKey() != null) {
+            Serializable currentValue = modelMap.getProperty(propertyName);
+            if (currentValue instanceof StateNode && ((StateNode) currentValue)
+                    .hasFeature(ModelList.class)) {
+                // Update the existing items instead of replacing the list
+                ((ListModelType<Object>) propertyType).importBeans(
+                        ((StateNode) currentValue).getFeature(ModelList.class),
+                        (List<Object>) value, PropertyFilter.ACCEPT_ALL);
+                return;
+            }
+        }
+
         Serializable modelValue = propertyType.applicationToModel(value,
                 PropertyFilter.ACCEPT_ALL);
 
@@ -18,6 +18,7 @@ package com.vaadin.flow.theme;
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import com.vaadin.flow.shared.VaadinUriResolver;
@@ -108,6 +109,27 @@ public interface AbstractTheme extends Serializable {
      */
     default String getTranslatedUrl(String url,
             Stream<String> availableHtmlResources) {
+        return getTranslatedUrl(url, suffix -> availableHtmlResources
+                .anyMatch(resource -> resource.endsWith(suffix)));
+    }
+
+    /**
+     * Get the translated theme path for the given url. If the url beginning
+     * doesn't match the string from {@link #getBaseUrl()} the url will be
+     * returned.
+     * <p>
+     * Translation will check if a resource ending with the translated path is
+     * available and return the original url if not.
+     *
+     * @param url
+     *            url to translate
+     * @param resourceExists
+     *            predicate telling whether any .html resource available for
+     *            this servlet context ends with the given path
+     * @return translated url path
+     */
+    default String getTranslatedUrl(String url,
+            Predicate<String> resourceExists) {
         if (url.contains(getBaseUrl())) {
 
             String baseUrl = getBaseUrl();
@@ -121,9 +143,7 @@ public interface AbstractTheme extends Serializable {
             String substring = translation
                     .substring(translation.indexOf(getThemeUrl()));
 
-            if (!url.equals(translation)
-                    && availableHtmlResources.filter(s -> s.endsWith(substring))
-                            .findFirst().isPresent()) {
+            if (!url.equals(translation) && resourceExists.test(substring)) {
                 return translation;
             }
         }
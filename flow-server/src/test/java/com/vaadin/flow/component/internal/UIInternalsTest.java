@@ -0,0 +1,213 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.internal;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.server.Constants;
+import com.vaadin.flow.server.FutureAccess;
+import com.vaadin.flow.server.MockVaadinSession;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
+
+public class UIInternalsTest {
+
+    private VaadinSession session;
+    private UI ui;
+    private UI otherUI;
+
+    @Before
+    public void setUp() {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(Constants.PER_UI_LOCKING,
+                "true");
+        VaadinService service = Mockito.mock(VaadinService.class);
+        Mockito.when(service.getDeploymentConfiguration())
+                .thenReturn(configuration);
+
+        session = new MockVaadinSession(service);
+        ui = createUI(session);
+        otherUI = createUI(session);
+    }
+
+    @After
+    public void tearDown() {
+        CurrentInstance.clearAll();
+    }
+
+    @Test
+    public void perUILocking_uiLocked_sessionReadableButNotLocked() {
+        Assert.assertTrue(session.isPerUILockingEnabled());
+
+        ui.getInternals().lock();
+        try {
+            UI.setCurrent(ui);
+            Assert.assertTrue(ui.getInternals().hasLock());
+            Assert.assertFalse(session.hasLock());
+            Assert.assertFalse(otherUI.getInternals().hasLock());
+
+            // Reading is allowed with the UI lock
+            Assert.assertNull(session.getAttribute("foo"));
+            session.getLocale();
+        } finally {
+            ui.getInternals().unlock();
+        }
+        UI.setCurrent(null);
+
+        Assert.assertFalse(ui.getInternals().hasLock());
+        Assert.assertFalse(session.hasLock());
+    }
+
+    @Test(expected = AssertionError.class)
+    public void perUILocking_uiLocked_changingSessionRequiresSessionLock() {
+        ui.getInternals().lock();
+        try {
+            UI.setCurrent(ui);
+            session.setAttribute("foo", "bar");
+        } finally {
+            ui.getInternals().unlock();
+        }
+    }
+
+    @Test
+    public void perUILocking_runLocked_sessionLockedOnlyForCommand() {
+        ui.getInternals().lock();
+        try {
+            UI.setCurrent(ui);
+            session.runLocked(() -> {
+                Assert.assertTrue(session.hasLock());
+                session.setAttribute("foo", "bar");
+            });
+            Assert.assertFalse(session.hasLock());
+            Assert.assertEquals("bar", session.getAttribute("foo"));
+        } finally {
+            ui.getInternals().unlock();
+        }
+    }
+
+    @Test
+    public void perUILocking_sessionTaskPending_purgedWhenUIUnlocked() {
+        ui.getInternals().lock();
+        try {
+            session.getPendingAccessQueue()
+                    .add(new FutureAccess(session, () -> {
+                    }));
+        } finally {
+            ui.getInternals().unlock();
+        }
+
+        Mockito.verify(session.getService())
+                .ensureAccessQueuePurged(session);
+    }
+
+    @Test
+    public void perUILocking_accessSynchronously_sessionNotLocked() {
+        AtomicBoolean run = new AtomicBoolean();
+        ui.accessSynchronously(() -> {
+            Assert.assertTrue(ui.getInternals().hasLock());
+            Assert.assertFalse(((ReentrantLock) session.getLockInstance())
+                    .isHeldByCurrentThread());
+            Assert.assertSame(ui, UI.getCurrent());
+            run.set(true);
+        });
+        Assert.assertTrue(run.get());
+        Assert.assertFalse(ui.getInternals().hasLock());
+    }
+
+    @Test
+    public void perUILocking_uiLockedByOtherThread_otherUIAccessible()
+            throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            ui.getInternals().lock();
+            try {
+                locked.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                ui.getInternals().unlock();
+            }
+        });
+        holder.start();
+        Assert.assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        AtomicBoolean otherRun = new AtomicBoolean();
+        Future<Void> otherFuture = otherUI.access(() -> otherRun.set(true));
+        Assert.assertTrue("Access to an unlocked UI should run immediately",
+                otherFuture.isDone());
+        Assert.assertTrue(otherRun.get());
+
+        AtomicBoolean run = new AtomicBoolean();
+        Future<Void> future = ui.access(() -> run.set(true));
+        Assert.assertFalse("Access to a locked UI should be queued",
+                run.get());
+        Assert.assertEquals(1, ui.getInternals().getPendingAccessQueue().size());
+
+        release.countDown();
+        future.get(5, TimeUnit.SECONDS);
+        holder.join(5000);
+
+        Assert.assertTrue(run.get());
+        Assert.assertTrue(ui.getInternals().getPendingAccessQueue().isEmpty());
+    }
+
+    @Test
+    public void perUILocking_accessWhileLocked_runOnUnlock() {
+        AtomicBoolean run = new AtomicBoolean();
+        ui.getInternals().lock();
+        try {
+            ui.access(() -> run.set(true));
+            Assert.assertFalse(run.get());
+        } finally {
+            ui.getInternals().unlock();
+        }
+        Assert.assertTrue(run.get());
+    }
+
+    @Test
+    public void lastResponse_onlyAvailableUntilNextMessage() {
+        UIInternals internals = new UI().getInternals();
+        byte[] response = { 1, 2, 3 };
+        internals.incrementServerId();
+        internals.setLastResponse(response);
+
+        Assert.assertSame(response, internals.getLastResponse());
+
+        internals.incrementServerId();
+        Assert.assertNull(internals.getLastResponse());
+    }
+
+    private static UI createUI(VaadinSession session) {
+        UI ui = new UI();
+        ui.getInternals().setSession(session);
+        return ui;
+    }
+}
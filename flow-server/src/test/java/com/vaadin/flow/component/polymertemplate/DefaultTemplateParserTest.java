@@ -56,6 +56,7 @@ import com.vaadin.flow.shared.VaadinUriResolver;
 import com.vaadin.flow.shared.ui.Dependency;
 import com.vaadin.flow.shared.ui.LoadMode;
 import com.vaadin.flow.shared.ui.Dependency.Type;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
 
 import net.jcip.annotations.NotThreadSafe;
 
@@ -90,6 +91,8 @@ public class DefaultTemplateParserTest {
 
     private VaadinService service;
 
+    private MockDeploymentConfiguration configuration;
+
     @Before
     public void setUp() {
         VaadinServletRequest request = Mockito.mock(VaadinServletRequest.class);
@@ -98,6 +101,9 @@ public class DefaultTemplateParserTest {
 
         Mockito.when(service.getDependencyFilters())
                 .thenReturn(Collections.emptyList());
+        configuration = new MockDeploymentConfiguration();
+        Mockito.when(service.getDeploymentConfiguration())
+                .thenReturn(configuration);
 
         WrappedHttpSession wrappedSession = Mockito
                 .mock(WrappedHttpSession.class);
@@ -353,4 +359,75 @@ public class DefaultTemplateParserTest {
         parser.getTemplateContent(ImportsInspectTemplate.class, "foo");
     }
 
+    @Test
+    public void defaultParser_productionMode_importParsedOnce() {
+        configuration.setProductionMode(true);
+        useSharedCache();
+
+        DefaultTemplateParser parser = new DefaultTemplateParser();
+        Element foo = parser.getTemplateContent(ImportsInspectTemplate.class,
+                "foo");
+        Element otherFoo = parser.getTemplateContent(
+                ImportsInspectTemplate.class, "foo");
+
+        Assert.assertNotNull(foo.getElementById("foo"));
+        Assert.assertNotSame(
+                "Each call should get its own copy of the cached template",
+                foo, otherFoo);
+        Mockito.verify(context).getResourceAsStream("/bar1.html");
+    }
+
+    @Test
+    public void defaultParser_templateFoundBefore_indexedImportCheckedFirst() {
+        useSharedCache();
+        DefaultTemplateParser parser = new DefaultTemplateParser();
+        parser.getTemplateContent(ImportsInspectTemplate.class, "foo");
+        Mockito.verify(context).getResourceAsStream("/bar.html");
+
+        // Development mode without modification timestamps reparses files
+        ParsedHtmlImportCache cache = ParsedHtmlImportCache
+                .getInstance(context);
+        Mockito.reset(context);
+        useSharedCacheInstance(cache);
+        Mockito.when(context.getResourceAsStream("/bar1.html")).thenReturn(
+                new ByteArrayInputStream("<dom-module id='foo'></dom-module>"
+                        .getBytes(StandardCharsets.UTF_8)));
+
+        Element element = parser
+                .getTemplateContent(ImportsInspectTemplate.class, "foo");
+
+        Assert.assertNotNull(element.getElementById("foo"));
+        Mockito.verify(context, Mockito.never())
+                .getResourceAsStream("/bar.html");
+    }
+
+    @Test
+    public void defaultParser_lastModifiedUnknown_importParsedEachTime() {
+        useSharedCache();
+        Mockito.when(context.getResourceAsStream("/bundle.html"))
+                .thenReturn(getBundle(), getBundle());
+        Mockito.when(service.getDependencyFilters())
+                .thenReturn(Collections.singletonList((list, context) -> {
+                    list.clear();
+                    list.add(new Dependency(Type.HTML_IMPORT, "/bundle.html",
+                            LoadMode.EAGER));
+                    return list;
+                }));
+
+        DefaultTemplateParser parser = new DefaultTemplateParser();
+        parser.getTemplateContent(ImportsInspectTemplate.class, "foo");
+        parser.getTemplateContent(OtherImportsInspectTemplate.class, "bar");
+
+        Mockito.verify(context, Mockito.times(2))
+                .getResourceAsStream("/bundle.html");
+    }
+
+    private void useSharedCache() {
+        useSharedCacheInstance(new ParsedHtmlImportCache());
+    }
+
+    private void useSharedCacheInstance(ParsedHtmlImportCache cache) {
+        Mockito.when(context.getAttribute(ParsedHtmlImportCache.class.getName()))
+                .thenReturn(cache);
+    }
 }
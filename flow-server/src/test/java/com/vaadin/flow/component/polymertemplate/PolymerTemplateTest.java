@@ -72,6 +72,9 @@ public class PolymerTemplateTest extends HasCurrentService {
     private List<Object> executionOrder = new ArrayList<>();
     private List<Serializable[]> executionParams = new ArrayList<>();
 
+    // Strong reference since the current UI is only weakly referenced
+    private UI ui;
+
     private static class TestTemplateParser implements TemplateParser {
 
         private final Function<String, String> templateProducer;
@@ -371,7 +374,7 @@ public class PolymerTemplateTest extends HasCurrentService {
         CustomElementRegistry.getInstance().setCustomElements(map);
 
         VaadinSession session = Mockito.mock(VaadinSession.class);
-        UI ui = new UI() {
+        ui = new UI() {
             private Page page = new Page(this) {
 
                 @Override
@@ -15,6 +15,12 @@
  */
 package com.vaadin.flow.internal;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -74,4 +80,60 @@ public class ConstantPoolTest {
         Assert.assertNotEquals(constantId, otherId);
         Assert.assertTrue(constantPool.hasNewConstants());
     }
+
+    @Test
+    public void forStringArray_sameValues_sameInstance() {
+        ConstantPoolKey key = ConstantPoolKey
+                .forStringArray(Arrays.asList("foo", "bar"));
+
+        Assert.assertSame(key, ConstantPoolKey
+                .forStringArray(new ArrayList<>(Arrays.asList("foo", "bar"))));
+        Assert.assertNotSame(key, ConstantPoolKey
+                .forStringArray(Arrays.asList("bar", "foo")));
+        Assert.assertEquals(new ConstantPoolKey(
+                JsonUtils.createArray(Json.create("foo"), Json.create("bar")))
+                        .getId(),
+                key.getId());
+    }
+
+    @Test
+    public void sharedKey_exportedByEachPool() {
+        ConstantPoolKey key = ConstantPoolKey
+                .forStringArray(Arrays.asList("foo"));
+        ConstantPool otherConstantPool = new ConstantPool();
+
+        String constantId = constantPool.getConstantId(key);
+        Assert.assertEquals(constantId, otherConstantPool.getConstantId(key));
+
+        Assert.assertEquals("[\"foo\"]",
+                constantPool.dumpConstants().get(constantId).toJson());
+        Assert.assertEquals("[\"foo\"]",
+                otherConstantPool.dumpConstants().get(constantId).toJson());
+    }
+
+    @Test(expected = AssertionError.class)
+    public void unsharedKey_valueReleasedAfterExport() {
+        ConstantPoolKey key = new ConstantPoolKey(Json.createObject());
+        ConstantPool otherConstantPool = new ConstantPool();
+
+        constantPool.getConstantId(key);
+        constantPool.dumpConstants();
+
+        otherConstantPool.getConstantId(key);
+        otherConstantPool.dumpConstants();
+    }
+
+    @Test
+    public void manyValues_allRegisteredOnce() {
+        List<ConstantPoolKey> keys = IntStream.range(0, 1000)
+                .mapToObj(i -> new ConstantPoolKey(Json.create(i)))
+                .collect(Collectors.toList());
+
+        keys.forEach(constantPool::getConstantId);
+        JsonObject dump = constantPool.dumpConstants();
+        Assert.assertEquals(1000, dump.keys().length);
+
+        keys.forEach(constantPool::getConstantId);
+        Assert.assertFalse(constantPool.hasNewConstants());
+    }
 }
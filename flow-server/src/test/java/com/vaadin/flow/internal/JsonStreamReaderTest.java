@@ -0,0 +1,187 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import elemental.json.JsonException;
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+import elemental.json.impl.JsonUtil;
+
+public class JsonStreamReaderTest {
+
+    private static final String MESSAGE = "{\"csrfToken\":\"abc-123\",\"rpc\":[{\"type\":\"event\",\"node\":5,\"event\":\"click\",\"data\":{\"event.shiftKey\":false,\"event.clientX\":-12.5e1}},{\"type\":\"mSync\",\"node\":7,\"feature\":1,\"property\":\"value\",\"value\":null}],\"syncId\":3,\"clientId\":2}";
+
+    /**
+     * Reader returning one character at a time to exercise buffer refills.
+     */
+    private static class SlowReader extends Reader {
+        private final Reader reader;
+
+        private SlowReader(String string) {
+            reader = new StringReader(string);
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            return reader.read(cbuf, off, Math.min(len, 1));
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * Reader returning nothing for the given number of reads before each
+     * actual read.
+     */
+    private static class EmptyReadsReader extends Reader {
+        private final Reader reader;
+        private final int emptyReads;
+        private int count;
+
+        private EmptyReadsReader(String string, int emptyReads) {
+            reader = new StringReader(string);
+            this.emptyReads = emptyReads;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            if (count++ < emptyReads) {
+                return 0;
+            }
+            count = 0;
+            return reader.read(cbuf, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void readMessage_sameAsParse() throws IOException {
+        assertSameAsParse(MESSAGE);
+        assertSameAsParse(" \n\t" + MESSAGE + "\r\n ");
+        assertSameAsParse("[]");
+        assertSameAsParse("{}");
+        assertSameAsParse("[1, 2 ,[true,false ] , {\"a\" : { } }]");
+    }
+
+    @Test
+    public void readStrings_escapesDecoded() throws IOException {
+        JsonValue value = read(
+                "\"quote\\\" slash\\\\ \\/ \\b\\f\\n\\r\\t \\u00e5\\u20AC\"");
+
+        Assert.assertEquals("quote\" slash\\ / \b\f\n\r\t å€",
+                value.asString());
+    }
+
+    @Test
+    public void readOneCharacterAtATime_sameAsParse() throws IOException {
+        JsonValue value = read(new SlowReader(MESSAGE));
+
+        Assert.assertEquals(JsonUtil.parse(MESSAGE).toJson(), value.toJson());
+    }
+
+    @Test
+    public void readLongString_spansBuffers() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            builder.append(i % 10 == 0 ? "\\n" : "x");
+        }
+        String json = "[\"" + builder + "\"]";
+
+        assertSameAsParse(json);
+    }
+
+    @Test
+    public void readEmpty_null() throws IOException {
+        Assert.assertNull(read(""));
+        Assert.assertNull(read(" \n "));
+    }
+
+    @Test(expected = JsonException.class)
+    public void readTrailingContent_throws() throws IOException {
+        read("{} {}");
+    }
+
+    @Test(expected = JsonException.class)
+    public void readUnterminatedObject_throws() throws IOException {
+        read("{\"foo\":1");
+    }
+
+    @Test(expected = JsonException.class)
+    public void readInvalidLiteral_throws() throws IOException {
+        read("[tru]");
+    }
+
+    @Test
+    public void readerReturnsNothingAtFirst_sameAsParse() throws IOException {
+        JsonValue value = read(new EmptyReadsReader(MESSAGE, 3));
+
+        Assert.assertEquals(JsonUtil.parse(MESSAGE).toJson(), value.toJson());
+    }
+
+    @Test(expected = IOException.class)
+    public void readerNeverReturnsAnything_throws() throws IOException {
+        read(new EmptyReadsReader(MESSAGE, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void obtain_reusedAfterRelease() throws IOException {
+        JsonStreamReader reader = JsonStreamReader.obtain();
+        Assert.assertNotSame(reader, JsonStreamReader.obtain());
+        reader.release();
+
+        Assert.assertSame(reader, JsonStreamReader.obtain());
+        reader.release();
+    }
+
+    private static JsonValue read(String json) throws IOException {
+        return read(new StringReader(json));
+    }
+
+    private static JsonValue read(Reader input) throws IOException {
+        JsonStreamReader reader = JsonStreamReader.obtain();
+        try {
+            return reader.read(input);
+        } finally {
+            reader.release();
+        }
+    }
+
+    private static void assertSameAsParse(String json) throws IOException {
+        JsonValue expected = JsonUtil.parse(json);
+        JsonValue actual = read(json);
+
+        Assert.assertEquals(expected.getType(), actual.getType());
+        Assert.assertEquals(expected.toJson(), actual.toJson());
+        if (actual instanceof JsonObject) {
+            Assert.assertArrayEquals(((JsonObject) expected).keys(),
+                    ((JsonObject) actual).keys());
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+
+public class JsonStreamWriterTest {
+
+    @Test
+    public void writeObject_sameAsToJson() {
+        JsonObject object = Json.createObject();
+        object.put("string", "foo");
+        object.put("int", 42);
+        object.put("negative", -7);
+        object.put("fraction", 0.25);
+        object.put("large", 1e21);
+        object.put("boolean", true);
+        object.put("null", Json.createNull());
+        object.put("array", JsonUtils.createArray(Json.create(1),
+                Json.create("two"), Json.createObject()));
+        object.put("nested", Json.createObject());
+
+        assertSameAsToJson(object);
+    }
+
+    @Test
+    public void writeNumbers_sameAsToJson() {
+        double[] numbers = { 0, -0.0, 1, -1, 123456789, 9999999, 10000000,
+                0.001, 0.0001, 1.5, Double.MAX_VALUE, Double.MIN_VALUE,
+                Double.NaN, Double.POSITIVE_INFINITY, Integer.MIN_VALUE };
+        for (double number : numbers) {
+            assertSameAsToJson(Json.create(number));
+        }
+    }
+
+    @Test
+    public void writeStrings_sameAsToJson() {
+        String[] strings = { "", "plain", "\"quoted\"", "back\\slash",
+                "line\nbreak\r\t\b\f", "\u0000\u001f\u007f", "äö",
+                "€", "\u2028\u2029", "😀", "</script>" };
+        for (String string : strings) {
+            assertSameAsToJson(Json.create(string));
+        }
+    }
+
+    @Test
+    public void writeStreamedTokens_validJson() {
+        JsonStreamWriter writer = new JsonStreamWriter();
+        writer.raw("for(;;);[");
+        writer.beginObject();
+        writer.name("a").value(1);
+        writer.name("b").beginArray().value("x").nullValue().value(false)
+                .endArray();
+        writer.name("c").beginObject().endObject();
+        writer.endObject();
+        writer.raw("]");
+
+        Assert.assertEquals(
+                "for(;;);[{\"a\":1,\"b\":[\"x\",null,false],\"c\":{}}]",
+                writer.toString());
+    }
+
+    @Test
+    public void writeTo_utf8Bytes() throws IOException {
+        JsonStreamWriter writer = new JsonStreamWriter();
+        writer.value("ä€😀");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeTo(out);
+
+        byte[] expected = "\"ä€😀\""
+                .getBytes(StandardCharsets.UTF_8);
+        Assert.assertArrayEquals(expected, out.toByteArray());
+        Assert.assertEquals(expected.length, writer.size());
+    }
+
+    @Test
+    public void growBuffer_contentsPreserved() {
+        JsonArray array = Json.createArray();
+        for (int i = 0; i < 10000; i++) {
+            array.set(i, "item" + i);
+        }
+
+        assertSameAsToJson(array);
+    }
+
+    @Test
+    public void obtain_reusedAfterRelease() {
+        JsonStreamWriter writer = JsonStreamWriter.obtain();
+        writer.value("foo");
+        writer.release();
+
+        JsonStreamWriter reused = JsonStreamWriter.obtain();
+        try {
+            Assert.assertSame(writer, reused);
+            Assert.assertEquals(0, reused.size());
+        } finally {
+            reused.release();
+        }
+    }
+
+    @Test
+    public void obtain_inUse_newInstance() {
+        JsonStreamWriter writer = JsonStreamWriter.obtain();
+        try {
+            JsonStreamWriter other = JsonStreamWriter.obtain();
+            Assert.assertNotSame(writer, other);
+            other.release();
+        } finally {
+            writer.release();
+        }
+    }
+
+    private static void assertSameAsToJson(JsonValue value) {
+        JsonStreamWriter writer = new JsonStreamWriter();
+        writer.value(value);
+        Assert.assertEquals(value.toJson(), writer.toString());
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.vaadin.flow.internal;
 
+import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -46,6 +47,7 @@ import com.vaadin.flow.internal.nodefeature.ElementClassList;
 import com.vaadin.flow.internal.nodefeature.ElementData;
 import com.vaadin.flow.internal.nodefeature.ElementPropertyMap;
 import com.vaadin.flow.internal.nodefeature.NodeFeature;
+import com.vaadin.flow.internal.nodefeature.NodeFeatureRegistry;
 import com.vaadin.flow.internal.nodefeature.VisibilityData;
 import com.vaadin.flow.shared.Registration;
 
@@ -846,4 +848,44 @@ public class StateNodeTest {
 
         Assert.assertEquals(0, changes.size());
     }
+
+    @Test
+    public void elementNode_featuresStoredByRegistryId() throws Exception {
+        StateNode node = new Element("div").getNode();
+
+        NodeFeature[] features = (NodeFeature[]) getFieldValue(node,
+                "features");
+        int maxId = -1;
+        for (int id = 0; id < features.length; id++) {
+            if (features[id] != null) {
+                Assert.assertEquals(id, NodeFeatureRegistry
+                        .getId(features[id].getClass()));
+                maxId = id;
+            }
+        }
+        Assert.assertEquals("The feature array should not have empty slots "
+                + "after the last feature", maxId + 1, features.length);
+        Assert.assertTrue(node.hasFeature(ElementData.class));
+        Assert.assertSame(node.getFeature(ElementData.class),
+                features[NodeFeatureRegistry.getId(ElementData.class)]);
+    }
+
+    @Test
+    public void elementNode_changesCleared_noChangeTrackersRetained()
+            throws Exception {
+        StateNode node = new Element("div").getNode();
+        node.getFeature(ElementAttributeMap.class).set("foo", "bar");
+        Assert.assertNotNull(getFieldValue(node, "changes"));
+
+        node.clearChanges();
+
+        Assert.assertNull(getFieldValue(node, "changes"));
+    }
+
+    private static Object getFieldValue(StateNode node, String name)
+            throws Exception {
+        Field field = StateNode.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(node);
+    }
 }
@@ -31,6 +31,7 @@ import org.mockito.Mockito;
 
 import com.vaadin.flow.component.Tag;
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.internal.change.ListAddChange;
 import com.vaadin.flow.internal.change.ListRemoveChange;
 import com.vaadin.flow.internal.change.MapPutChange;
@@ -237,6 +238,43 @@ public class StateTreeTest {
         Assert.assertEquals("foo", nodeChange.getValue());
     }
 
+    @Test
+    public void prepareForResync_attachedNodesReportedAgain() {
+        StateNode root = tree.getRootNode();
+        StateNode child = StateNodeTest.createEmptyNode("child");
+        StateNode removed = StateNodeTest.createEmptyNode("removed");
+        StateNodeTest.setParent(child, root);
+        StateNodeTest.setParent(removed, root);
+        collectChanges(tree);
+
+        StateNodeTest.setParent(removed, null);
+        tree.prepareForResync();
+        List<NodeChange> changes = collectChanges(tree);
+
+        List<NodeChange> attachChanges = new ArrayList<>();
+        ListAddChange<?> rootChildren = null;
+        for (NodeChange change : changes) {
+            Assert.assertFalse("Detached node should not be reported",
+                    change instanceof NodeDetachChange
+                            || change.getNode() == removed);
+            Assert.assertFalse(change instanceof ListRemoveChange);
+            if (change instanceof NodeAttachChange) {
+                attachChanges.add(change);
+            } else if (change.getNode() == root
+                    && change instanceof ListAddChange) {
+                rootChildren = (ListAddChange<?>) change;
+            }
+        }
+
+        Assert.assertEquals(1, attachChanges.size());
+        Assert.assertSame(child, attachChanges.get(0).getNode());
+        Assert.assertNotNull(rootChildren);
+        Assert.assertEquals(Collections.singletonList(child),
+                rootChildren.getNewItems());
+
+        Assert.assertEquals(Collections.emptyList(), collectChanges(tree));
+    }
+
     private List<NodeChange> collectChangesExceptChildrenAddRemove() {
         List<NodeChange> changes = new ArrayList<>();
         tree.collectChanges(change -> {
@@ -252,6 +290,12 @@ public class StateTreeTest {
         return changes;
     }
 
+    private static List<NodeChange> collectChanges(StateTree tree) {
+        List<NodeChange> changes = new ArrayList<>();
+        tree.collectChanges(changes::add);
+        return changes;
+    }
+
     @Test
     public void testSerializable() {
         @SuppressWarnings("unchecked")
@@ -272,6 +316,83 @@ public class StateTreeTest {
         Assert.assertNotNull(d1);
     }
 
+    @Test
+    public void serialize_featuresAndChangesRestored() {
+        @SuppressWarnings("unchecked")
+        Class<? extends NodeFeature>[] features = new Class[] {
+                ElementChildrenList.class, ElementData.class,
+                ElementAttributeMap.class, ElementPropertyMap.class };
+        StateTree tree = new StateTree(new UI(), features);
+        StateNode child = new StateNode(Arrays.asList(ElementData.class),
+                ElementAttributeMap.class, ElementPropertyMap.class);
+        tree.getRootNode().getFeature(ElementChildrenList.class).add(0,
+                child);
+        child.getFeature(ElementData.class).setTag(Tag.DIV);
+        int expectedChanges = collectChanges(SerializationUtils.clone(tree))
+                .size();
+
+        StateTree copy = SerializationUtils.clone(tree);
+        StateNode childCopy = copy.getNodeById(child.getId());
+
+        Assert.assertEquals(Tag.DIV,
+                childCopy.getFeature(ElementData.class).getTag());
+        Assert.assertTrue(childCopy.isReportedFeature(ElementData.class));
+        Assert.assertFalse(
+                childCopy.isReportedFeature(ElementAttributeMap.class));
+        Assert.assertTrue(childCopy.hasFeature(ElementPropertyMap.class));
+        Assert.assertFalse(childCopy.hasFeature(ElementChildrenList.class));
+        Assert.assertSame(copy.getRootNode(), childCopy.getParent());
+        Assert.assertEquals(expectedChanges, collectChanges(copy).size());
+
+        // Features that were not written are created again for the node
+        childCopy.getFeature(ElementAttributeMap.class).set("foo", "bar");
+        Assert.assertSame(childCopy,
+                childCopy.getFeature(ElementAttributeMap.class).getNode());
+        Assert.assertTrue(copy.hasDirtyNodes());
+    }
+
+    @Test
+    public void serialize_largeTree_compact() {
+        UI ui = new UI();
+        Element section = null;
+        for (int i = 0; i < 5000; i++) {
+            if (i % 100 == 0) {
+                section = new Element("section");
+                ui.getElement().appendChild(section);
+            }
+            Element div = new Element(Tag.DIV);
+            div.setAttribute("id", "item-" + i);
+            div.getClassList().add("row");
+            div.setText("Item " + i);
+            section.appendChild(div);
+        }
+        StateTree tree = ui.getInternals().getStateTree();
+        tree.collectChanges(change -> {
+        });
+
+        long start = System.nanoTime();
+        byte[] serialized = SerializationUtils.serialize(ui);
+        long writeTime = System.nanoTime() - start;
+        start = System.nanoTime();
+        UI copy = (UI) SerializationUtils.deserialize(serialized);
+        long readTime = System.nanoTime() - start;
+
+        Element lastDiv = copy.getElement().getChild(49).getChild(99);
+        Assert.assertEquals("item-4999", lastDiv.getAttribute("id"));
+        Assert.assertTrue(lastDiv.getClassList().contains("row"));
+        Assert.assertEquals("Item 4999", lastDiv.getText());
+
+        // 5000 elements with a text node each and their 50 parents
+        int nodeCount = 10051;
+        Assert.assertNotNull(
+                copy.getInternals().getStateTree().getNodeById(nodeCount));
+        // Default serialization of all features takes about 400 bytes per node
+        Assert.assertTrue("Serializing " + nodeCount + " nodes took "
+                + serialized.length + " bytes, " + writeTime / 1000000
+                + "ms to write and " + readTime / 1000000 + "ms to read",
+                serialized.length < nodeCount * 200);
+    }
+
     @Test
     public void reattachedNodeRetainsId() throws InterruptedException {
         StateNode child = new StateNode(ElementChildrenList.class);
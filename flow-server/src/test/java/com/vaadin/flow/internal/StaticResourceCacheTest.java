@@ -0,0 +1,254 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import javax.servlet.ServletContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.internal.StaticResourceCache.CachedResource;
+
+public class StaticResourceCacheTest {
+
+    private static final String CONTENTS = "var foo = 'foo'; var bar = 'foo'; var baz = 'foo';";
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private final Map<String, String> headers = new HashMap<>();
+
+    private ServletContext servletContext;
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+
+    @Before
+    public void setUp() throws IOException {
+        servletContext = Mockito.mock(ServletContext.class);
+        Mockito.when(servletContext.getMimeType(Mockito.anyString()))
+                .thenReturn("application/javascript");
+        addResource("/foo.js", CONTENTS);
+
+        request = Mockito.mock(HttpServletRequest.class);
+        Mockito.when(request.getDateHeader(Mockito.anyString()))
+                .thenReturn(-1L);
+
+        response = Mockito.mock(HttpServletResponse.class);
+        Mockito.doAnswer(invocation -> headers.put(
+                (String) invocation.getArguments()[0],
+                (String) invocation.getArguments()[1])).when(response)
+                .setHeader(Mockito.anyString(), Mockito.anyString());
+        Mockito.when(response.getOutputStream())
+                .thenReturn(new ServletOutputStream() {
+                    @Override
+                    public void write(int b) {
+                        body.write(b);
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                    }
+                });
+    }
+
+    @Test
+    public void getResource_lookedUpOnceAndHeldInMemory() throws IOException {
+        StaticResourceCache cache = new StaticResourceCache(100000);
+
+        CachedResource resource = cache.getResource(servletContext, "/foo.js");
+        Assert.assertSame(resource,
+                cache.getResource(servletContext, "/foo.js"));
+
+        Mockito.verify(servletContext).getResource("/foo.js");
+        Assert.assertTrue(resource.isInMemory());
+        Assert.assertEquals(CONTENTS.length(), resource.getLength());
+        Assert.assertTrue(resource.getETag().startsWith("\""));
+        Assert.assertNull(cache.getResource(servletContext, "/bar.js"));
+    }
+
+    @Test
+    public void writeResponse_identity_contentsWritten() throws IOException {
+        StaticResourceCache cache = new StaticResourceCache(100000);
+        CachedResource resource = cache.getResource(servletContext, "/foo.js");
+
+        cache.writeResponse(resource, request, response);
+
+        Assert.assertEquals(CONTENTS,
+                new String(body.toByteArray(), StandardCharsets.UTF_8));
+        Assert.assertEquals(resource.getETag(), headers.get("ETag"));
+        Assert.assertNull(headers.get("Content-Encoding"));
+        Mockito.verify(response).setContentType("application/javascript");
+        Mockito.verify(response).setContentLengthLong(CONTENTS.length());
+    }
+
+    @Test
+    public void writeResponse_gzipAccepted_compressedContentsWritten()
+            throws IOException {
+        StaticResourceCache cache = new StaticResourceCache(100000);
+        CachedResource resource = cache.getResource(servletContext, "/foo.js");
+        Mockito.when(request.getHeader("Accept-Encoding"))
+                .thenReturn("gzip, deflate");
+
+        cache.writeResponse(resource, request, response);
+
+        Assert.assertEquals("gzip", headers.get("Content-Encoding"));
+        Assert.assertEquals("Accept-Encoding", headers.get("Vary"));
+        try (InputStream stream = new GZIPInputStream(
+                new ByteArrayInputStream(body.toByteArray()))) {
+            Assert.assertEquals(CONTENTS, new String(
+                    StaticResourceCacheTest.readAll(stream),
+                    StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void writeResponse_brotliSiblingAndAccepted_brotliWritten()
+            throws IOException {
+        Mockito.when(servletContext.getResourceAsStream("/foo.js.br"))
+                .thenReturn(new ByteArrayInputStream(
+                        "brotli".getBytes(StandardCharsets.UTF_8)));
+        StaticResourceCache cache = new StaticResourceCache(100000);
+        CachedResource resource = cache.getResource(servletContext, "/foo.js");
+        Mockito.when(request.getHeader("Accept-Encoding"))
+                .thenReturn("gzip, deflate, br");
+
+        cache.writeResponse(resource, request, response);
+
+        Assert.assertEquals("br", headers.get("Content-Encoding"));
+        Assert.assertEquals("brotli",
+                new String(body.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void writeResponse_ifNoneMatch_notModified() throws IOException {
+        StaticResourceCache cache = new StaticResourceCache(100000);
+        CachedResource resource = cache.getResource(servletContext, "/foo.js");
+        Mockito.when(request.getHeader("If-None-Match"))
+                .thenReturn(resource.getETag());
+
+        cache.writeResponse(resource, request, response);
+
+        Mockito.verify(response)
+                .setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        Assert.assertEquals(0, body.size());
+    }
+
+    @Test
+    public void maxSizeExceeded_leastRecentlyUsedEvicted() throws IOException {
+        addResource("/bar.js", CONTENTS);
+        addResource("/baz.js", CONTENTS);
+        long resourceSize = getResourceSize();
+        StaticResourceCache cache = new StaticResourceCache(2 * resourceSize);
+
+        cache.getResource(servletContext, "/foo.js");
+        cache.getResource(servletContext, "/bar.js");
+        // Makes bar the least recently used resource
+        cache.getResource(servletContext, "/foo.js");
+        cache.getResource(servletContext, "/baz.js");
+        Assert.assertEquals(2 * resourceSize, cache.getSize());
+
+        cache.getResource(servletContext, "/foo.js");
+        Mockito.verify(servletContext).getResource("/foo.js");
+        cache.getResource(servletContext, "/bar.js");
+        Mockito.verify(servletContext, Mockito.times(2))
+                .getResource("/bar.js");
+    }
+
+    @Test
+    public void largeResource_onlyMetadataCached() throws IOException {
+        addResource("/large.js", new String(
+                new char[StaticResourceCache.MAX_IN_MEMORY_LENGTH + 1]));
+        StaticResourceCache cache = new StaticResourceCache(100000000);
+
+        CachedResource resource = cache.getResource(servletContext,
+                "/large.js");
+
+        Assert.assertFalse(resource.isInMemory());
+        Assert.assertEquals(0, cache.getSize());
+        Assert.assertSame(resource,
+                cache.getResource(servletContext, "/large.js"));
+    }
+
+    @Test
+    public void getInstance_storedInServletContext() {
+        StaticResourceCache cache = StaticResourceCache
+                .getInstance(servletContext, 100);
+
+        Mockito.verify(servletContext)
+                .setAttribute(StaticResourceCache.class.getName(), cache);
+    }
+
+    private long getResourceSize() throws IOException {
+        StaticResourceCache cache = new StaticResourceCache(100000);
+        cache.getResource(servletContext, "/foo.js");
+        Mockito.reset(servletContext);
+        Mockito.when(servletContext.getMimeType(Mockito.anyString()))
+                .thenReturn("application/javascript");
+        addResource("/foo.js", CONTENTS);
+        addResource("/bar.js", CONTENTS);
+        addResource("/baz.js", CONTENTS);
+        return cache.getSize();
+    }
+
+    private void addResource(String path, String contents)
+            throws MalformedURLException {
+        byte[] data = contents.getBytes(StandardCharsets.UTF_8);
+        URL url = new URL("file", "", -1, path, new URLStreamHandler() {
+            @Override
+            protected URLConnection openConnection(URL u) throws IOException {
+                URLConnection connection = Mockito.mock(URLConnection.class);
+                Mockito.when(connection.getInputStream())
+                        .thenReturn(new ByteArrayInputStream(data));
+                Mockito.when(connection.getContentLengthLong())
+                        .thenReturn((long) data.length);
+                Mockito.when(connection.getLastModified()).thenReturn(1000L);
+                return connection;
+            }
+        });
+        Mockito.when(servletContext.getResource(path)).thenReturn(url);
+    }
+
+    private static byte[] readAll(InputStream stream) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int read;
+        while ((read = stream.read()) != -1) {
+            out.write(read);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.flow.theme.AbstractTheme;
+
+public class ThemeUrlTranslationsTest {
+
+    private static final List<String> RESOURCES = Arrays.asList(
+            "/webjars/button/2.0.0/src/",
+            "/webjars/button/2.0.0/src/Button.html",
+            "/webjars/button/2.0.0/theme/custom/",
+            "/webjars/button/2.0.0/theme/custom/Button.html",
+            "/webjars/button/2.0.0/Button.html");
+
+    private static final AtomicInteger translationCount = new AtomicInteger();
+
+    public static class CustomTheme implements AbstractTheme {
+        @Override
+        public String getBaseUrl() {
+            return "src/";
+        }
+
+        @Override
+        public String getThemeUrl() {
+            return "theme/custom/";
+        }
+
+        @Override
+        public String getTranslatedUrl(String url,
+                Predicate<String> resourceExists) {
+            translationCount.incrementAndGet();
+            return AbstractTheme.super.getTranslatedUrl(url, resourceExists);
+        }
+    }
+
+    @Test
+    public void hasPathEndingWith_matchesAnySuffix() {
+        ThemeUrlTranslations translations = new ThemeUrlTranslations(
+                RESOURCES);
+
+        Assert.assertTrue(translations.hasPathEndingWith("custom/Button.html"));
+        Assert.assertTrue(translations.hasPathEndingWith("ustom/Button.html"));
+        Assert.assertTrue(translations.hasPathEndingWith("2.0.0/Button.html"));
+        Assert.assertTrue(translations.hasPathEndingWith(RESOURCES.get(0)));
+        Assert.assertTrue(translations.hasPathEndingWith(""));
+        Assert.assertFalse(translations.hasPathEndingWith("src/Button-mixin.html"));
+        Assert.assertFalse(translations.hasPathEndingWith("other/Button.html"));
+        Assert.assertFalse(
+                translations.hasPathEndingWith("/" + RESOURCES.get(1)));
+    }
+
+    @Test
+    public void noResources_nothingMatches() {
+        ThemeUrlTranslations translations = new ThemeUrlTranslations(
+                Arrays.asList());
+
+        Assert.assertFalse(translations.hasPathEndingWith("Button.html"));
+    }
+
+    @Test
+    public void getTranslatedUrl_translatedOncePerThemeClass() {
+        ThemeUrlTranslations translations = new ThemeUrlTranslations(
+                RESOURCES);
+        translationCount.set(0);
+
+        for (int i = 0; i < 3; i++) {
+            // A new theme instance is created for each UI
+            CustomTheme theme = new CustomTheme();
+            Assert.assertEquals("button/theme/custom/Button.html", translations
+                    .getTranslatedUrl(theme, "button/src/Button.html"));
+            Assert.assertEquals("button/src/Button-mixin.html", translations
+                    .getTranslatedUrl(theme, "button/src/Button-mixin.html"));
+        }
+
+        Assert.assertEquals(2, translationCount.get());
+    }
+
+    @Test
+    public void manyResources_lookupsMatchScan() {
+        List<String> resources = IntStream.range(0, 20000)
+                .mapToObj(i -> "/frontend/bower_components/component-" + i
+                        + "/theme/custom/component-" + i + ".html")
+                .collect(Collectors.toList());
+        ThemeUrlTranslations translations = new ThemeUrlTranslations(
+                resources);
+        AbstractTheme theme = new CustomTheme();
+
+        for (int i = 0; i < 20000; i += 10) {
+            String url = "component-" + i + "/src/component-" + i + ".html";
+            String translated = theme.getTranslatedUrl(url,
+                    translations::hasPathEndingWith);
+            Assert.assertEquals(
+                    "component-" + i + "/theme/custom/component-" + i + ".html",
+                    translated);
+            Assert.assertEquals(translated,
+                    theme.getTranslatedUrl(url, resources.stream()));
+
+            String missing = "component-" + i + "/src/missing.html";
+            Assert.assertEquals(missing, theme.getTranslatedUrl(missing,
+                    translations::hasPathEndingWith));
+        }
+    }
+}
@@ -21,6 +21,7 @@ import java.util.Arrays;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.vaadin.flow.internal.JsonStreamWriter;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.StateNodeTest;
 import com.vaadin.flow.internal.change.ListAddChange;
@@ -82,4 +83,22 @@ public class ListChangeTest {
 
         Assert.assertFalse(json.hasKey(JsonConstants.CHANGE_SPLICE_ADD_NODES));
     }
+
+    @Test
+    public void testWriteJson_sameAsToJson() {
+        StateNode child1 = StateNodeTest.createEmptyNode("child1");
+        StateNode child2 = StateNodeTest.createEmptyNode("child2");
+        ListAddChange<StateNode> addChange = new ListAddChange<>(feature,
+                true, 1, Arrays.asList(child1, child2));
+        ListRemoveChange<StateNode> removeChange = new ListRemoveChange<>(
+                feature, 2, child1);
+
+        for (NodeChange change : Arrays.asList(addChange, removeChange)) {
+            JsonStreamWriter writer = new JsonStreamWriter();
+            change.writeJson(writer, null);
+
+            Assert.assertEquals(change.toJson(null).toJson(),
+                    writer.toString());
+        }
+    }
 }
@@ -19,6 +19,7 @@ package com.vaadin.flow.internal.change;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.vaadin.flow.internal.JsonStreamWriter;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.StateNodeTest;
 import com.vaadin.flow.internal.change.MapPutChange;
@@ -88,6 +89,21 @@ public class MapPutChangeTest {
         Assert.assertEquals(value.getId(), (int) nodeValue.asNumber());
     }
 
+    @Test
+    public void testWriteJson_sameAsToJson() {
+        StateNode node = StateNodeTest.createEmptyNode("value");
+        for (Object value : new Object[] { "string", Integer.valueOf(1),
+                Double.valueOf(0.5), Boolean.TRUE, null, node }) {
+            MapPutChange change = new MapPutChange(feature, "myKey", value);
+
+            JsonStreamWriter writer = new JsonStreamWriter();
+            change.writeJson(writer, null);
+
+            Assert.assertEquals(change.toJson(null).toJson(),
+                    writer.toString());
+        }
+    }
+
     private JsonValue getValue(Object input) {
         MapPutChange change = new MapPutChange(feature, "myKey", input);
         JsonObject json = change.toJson(null);
@@ -1257,6 +1257,96 @@ public class BootstrapHandlerTest {
         checkInlinedScript(head, "babel-helpers.min.js", false);
     }
 
+    @Test
+    public void productionMode_pageTemplate_sameAsBootstrapPage()
+            throws InvalidRouteConfigurationException {
+        deploymentConfiguration.setProductionMode(true);
+        initUI(testUI, createVaadinRequest(),
+                Collections.singleton(InlineAnnotations.class));
+
+        assertPageTemplateUsed("<Title> & \"more\"");
+    }
+
+    @Test
+    public void productionMode_themeAndNoTitle_pageTemplateSameAsBootstrapPage()
+            throws InvalidRouteConfigurationException {
+        deploymentConfiguration.setProductionMode(true);
+        Mockito.when(browser.isEs6Supported()).thenReturn(true);
+        initUI(testUI, createVaadinRequest(),
+                Collections.singleton(MyThemeTest.class));
+
+        assertPageTemplateUsed(null);
+    }
+
+    @Test
+    public void productionMode_pageConfigurator_pageTemplateNotUsed()
+            throws InvalidRouteConfigurationException {
+        deploymentConfiguration.setProductionMode(true);
+        initUI(testUI, createVaadinRequest(),
+                Collections.singleton(InitialPageConfiguratorMetaTag.class));
+
+        BootstrapHandler handler = new BootstrapHandler();
+        Assert.assertNull(
+                handler.getPageTemplate(createTemplateTestContext(null)));
+
+        String html = handler.getBootstrapHtml(createTemplateTestContext(null));
+        Assert.assertEquals(BootstrapHandler
+                .getBootstrapPage(createTemplateTestContext(null)).outerHtml(),
+                html);
+        Assert.assertTrue(html.contains("name=\"theme-color\""));
+    }
+
+    @Test
+    public void productionMode_es6SupportChanges_separatePageTemplates()
+            throws InvalidRouteConfigurationException {
+        deploymentConfiguration.setProductionMode(true);
+        initUI(testUI, createVaadinRequest(),
+                Collections.singleton(InlineAnnotations.class));
+        BootstrapHandler handler = new BootstrapHandler();
+
+        Mockito.when(browser.isEs6Supported()).thenReturn(false);
+        BootstrapPageTemplate es5Template = handler
+                .getPageTemplate(createTemplateTestContext(null));
+
+        Mockito.when(browser.isEs6Supported()).thenReturn(true);
+        BootstrapPageTemplate es6Template = handler
+                .getPageTemplate(createTemplateTestContext(null));
+        Assert.assertNotSame(es5Template, es6Template);
+
+        Mockito.when(browser.isEs6Supported()).thenReturn(false);
+        Assert.assertSame(es5Template,
+                handler.getPageTemplate(createTemplateTestContext(null)));
+    }
+
+    private void assertPageTemplateUsed(String title) {
+        BootstrapHandler handler = new BootstrapHandler();
+        String expected = BootstrapHandler
+                .getBootstrapPage(createTemplateTestContext(title))
+                .outerHtml();
+
+        // First page creates the template and the second one reuses it
+        Assert.assertEquals(expected,
+                handler.getBootstrapHtml(createTemplateTestContext(title)));
+        BootstrapPageTemplate template = handler
+                .getPageTemplate(createTemplateTestContext(title));
+        Assert.assertNotNull(template);
+
+        Assert.assertEquals(expected,
+                handler.getBootstrapHtml(createTemplateTestContext(title)));
+        Assert.assertSame(template,
+                handler.getPageTemplate(createTemplateTestContext(title)));
+    }
+
+    private BootstrapContext createTemplateTestContext(String title) {
+        TestUI ui = new TestUI();
+        ui.getInternals().setSession(session);
+        ui.doInit(request, 0);
+        if (title != null) {
+            ui.getPage().setTitle(title);
+        }
+        return new BootstrapContext(request, null, session, ui);
+    }
+
     private Element initTestUI() {
         TestUI anotherUI = new TestUI();
         initUI(testUI);
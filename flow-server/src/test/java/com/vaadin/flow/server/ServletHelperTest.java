@@ -4,15 +4,20 @@ import static org.easymock.EasyMock.createMock;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.replay;
 
+import java.io.File;
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 
+import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import com.vaadin.flow.server.ServletHelper;
 import com.vaadin.flow.server.VaadinServlet;
@@ -20,6 +25,9 @@ import com.vaadin.flow.server.VaadinServlet;
 public class ServletHelperTest {
     VaadinServlet servlet;
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Before
     public void setup() throws ServletException {
         servlet = new VaadinServlet();
@@ -62,6 +70,24 @@ public class ServletHelperTest {
 
     }
 
+    @Test
+    public void getLastModified_fileResource_fileModificationTime()
+            throws IOException {
+        File file = temporaryFolder.newFile("resource.html");
+        Assert.assertTrue(file.setLastModified(1500000000000L));
+
+        ServletContext context = createMock(ServletContext.class);
+        expect(context.getResource("/resource.html"))
+                .andReturn(file.toURI().toURL());
+        expect(context.getResource("/missing.html")).andReturn(null);
+        replay(context);
+
+        Assert.assertEquals(file.lastModified(),
+                ServletHelper.getLastModified(context, "/resource.html"));
+        Assert.assertEquals(0,
+                ServletHelper.getLastModified(context, "/missing.html"));
+    }
+
     private String testLocation(String base, String contextPath,
             String servletPath, String pathInfo) throws Exception {
 
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
+
+public class SessionReaperTest {
+
+    private MockDeploymentConfiguration configuration;
+    private MockVaadinServletService service;
+    private MockVaadinSession session;
+    private SessionReaper reaper;
+
+    @Before
+    public void setUp() throws ServiceException {
+        CurrentInstance.clearAll();
+        configuration = new MockDeploymentConfiguration();
+        configuration.setHeartbeatInterval(1);
+        service = new MockVaadinServletService(configuration);
+        service.init();
+
+        session = new MockVaadinSession(service);
+        WrappedSession wrappedSession = Mockito.mock(WrappedSession.class);
+        Mockito.when(wrappedSession.getId()).thenReturn("session");
+        Mockito.when(wrappedSession.getMaxInactiveInterval()).thenReturn(1800);
+        Mockito.when(wrappedSession
+                .getAttribute(service.getServiceName() + ".lock"))
+                .thenReturn(session.getLockInstance());
+        session.getLockInstance().lock();
+        try {
+            session.refreshTransients(wrappedSession, service);
+        } finally {
+            session.getLockInstance().unlock();
+        }
+
+        reaper = new SessionReaper(service, 1000);
+        reaper.register(session);
+    }
+
+    @After
+    public void tearDown() {
+        if (reaper != null) {
+            reaper.shutdown();
+        }
+        CurrentInstance.clearAll();
+    }
+
+    @Test
+    public void inactiveUI_closedAndRemoved() {
+        UI active = addUI(System.currentTimeMillis());
+        UI inactive = addUI(System.currentTimeMillis() - 10000);
+
+        reaper.reap();
+
+        Assert.assertTrue(inactive.isClosing());
+        Assert.assertNull(inactive.getSession());
+        Assert.assertFalse(active.isClosing());
+        Assert.assertSame(session, active.getSession());
+        Assert.assertEquals(1, reaper.getReclaimedUICount());
+        Assert.assertEquals(1, reaper.getRunCount());
+        Assert.assertEquals(1, reaper.getSessionCount());
+        Assert.assertFalse(session.hasLock());
+    }
+
+    @Test
+    public void lockedSession_skipped() throws InterruptedException {
+        UI inactive = addUI(System.currentTimeMillis() - 10000);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch reaped = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            session.getLockInstance().lock();
+            try {
+                locked.countDown();
+                reaped.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                session.getLockInstance().unlock();
+            }
+        });
+        thread.start();
+        locked.await(5, TimeUnit.SECONDS);
+
+        reaper.reap();
+        reaped.countDown();
+        thread.join(5000);
+
+        Assert.assertFalse(inactive.isClosing());
+        Assert.assertEquals(1, reaper.getSkippedSessionCount());
+        Assert.assertEquals(0, reaper.getReclaimedUICount());
+
+        reaper.reap();
+
+        Assert.assertTrue(inactive.isClosing());
+        Assert.assertEquals(1, reaper.getReclaimedUICount());
+    }
+
+    @Test
+    public void inactiveSession_closedAndUnregistered() {
+        configuration.setCloseIdleSessions(true);
+        addUI(System.currentTimeMillis());
+        session.lock();
+        try {
+            session.setLastRequestTimestamp(
+                    System.currentTimeMillis() - 3600000);
+        } finally {
+            session.unlock();
+        }
+
+        reaper.reap();
+
+        session.lock();
+        try {
+            Assert.assertEquals(VaadinSessionState.CLOSED, session.getState());
+            Assert.assertEquals(0, session.getUIs().size());
+        } finally {
+            session.unlock();
+        }
+        Assert.assertEquals(1, session.getCloseCount());
+        Assert.assertEquals(1, reaper.getClosedSessionCount());
+        Assert.assertEquals(1, reaper.getReclaimedUICount());
+        Assert.assertEquals(0, reaper.getSessionCount());
+    }
+
+    @Test
+    public void destroyedSession_unregistered() {
+        service.fireSessionDestroy(session);
+
+        reaper.reap();
+
+        Assert.assertEquals(0, reaper.getSessionCount());
+        Assert.assertEquals(0, reaper.getClosedSessionCount());
+    }
+
+    private UI addUI(long lastHeartbeat) {
+        UI ui = new UI();
+        session.lock();
+        try {
+            ui.getInternals().setSession(session);
+            ui.doInit(null, session.getNextUIid());
+            session.addUI(ui);
+        } finally {
+            session.unlock();
+        }
+        ui.getInternals().setLastHeartbeatTimestamp(lastHeartbeat);
+        return ui;
+    }
+}
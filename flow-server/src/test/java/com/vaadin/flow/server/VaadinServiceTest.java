@@ -21,7 +21,11 @@ import static org.junit.Assert.assertEquals;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -33,6 +37,7 @@ import org.easymock.EasyMock;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.internal.CurrentInstance;
 import com.vaadin.flow.server.BootstrapListener;
 import com.vaadin.flow.server.ServiceException;
@@ -42,6 +47,7 @@ import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinServiceInitListener;
 import com.vaadin.flow.server.VaadinServlet;
 import com.vaadin.flow.server.communication.StreamRequestHandler;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
 
 import net.jcip.annotations.NotThreadSafe;
 
@@ -94,6 +100,77 @@ public class VaadinServiceTest {
                 1, listener.callCount);
     }
 
+    @Test(timeout = 10000)
+    public void perUILocking_fireSessionDestroy_uiLockedByWaitingThread_noDeadlock()
+            throws Exception {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(Constants.PER_UI_LOCKING,
+                "true");
+        VaadinService service = new MockVaadinServletService(configuration);
+        service.init();
+        MockVaadinSession session = new MockVaadinSession(service);
+        UI ui = new UI();
+        session.lock();
+        try {
+            ui.getInternals().setSession(session);
+            ui.doInit(null, session.getNextUIid());
+            session.addUI(ui);
+        } finally {
+            session.unlock();
+        }
+
+        CountDownLatch uiLocked = new CountDownLatch(1);
+        Thread requestThread = new Thread(() -> {
+            ui.getInternals().lock();
+            try {
+                uiLocked.countDown();
+                // Like ServerRpcHandler updating the request timestamp
+                session.runLocked(() -> session.setLastRequestTimestamp(0));
+            } finally {
+                ui.getInternals().unlock();
+            }
+        });
+
+        ReentrantLock sessionLock = (ReentrantLock) session.getLockInstance();
+        session.lock();
+        try {
+            requestThread.start();
+            Assert.assertTrue(uiLocked.await(5, TimeUnit.SECONDS));
+            while (!sessionLock.hasQueuedThread(requestThread)) {
+                Thread.sleep(1);
+            }
+            // Runs when the session is unlocked, while the request thread
+            // holds the UI lock and waits for the session lock
+            service.fireSessionDestroy(session);
+        } finally {
+            session.unlock();
+        }
+        requestThread.join();
+
+        Assert.assertTrue(ui.isClosing());
+        Assert.assertNull(ui.getSession());
+        session.lock();
+        try {
+            Assert.assertEquals(VaadinSessionState.CLOSED, session.getState());
+            Assert.assertTrue(session.getUIs().isEmpty());
+        } finally {
+            session.unlock();
+        }
+    }
+
+    @Test
+    public void destroy_pushSchedulerShutDown() {
+        VaadinService service = createService();
+
+        ScheduledExecutorService scheduler = service.getPushScheduler();
+        Assert.assertSame(scheduler, service.getPushScheduler());
+
+        service.destroy();
+
+        Assert.assertTrue(scheduler.isShutdown());
+        Assert.assertNotSame(scheduler, service.getPushScheduler());
+    }
+
     @Test
     public void captionIsSetToACriticalNotification() {
         String notification = createCriticalNotification("foobar", "message",
@@ -20,6 +20,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.util.EventObject;
 import java.util.HashMap;
 import java.util.Map;
@@ -320,4 +321,36 @@ public class VaadinSessionTest {
                 deserializedSession, deserializedPc.session);
         deserializedSession.unlock();
     }
+
+    private static class SerializationCurrentSession implements Serializable {
+        private transient VaadinSession session;
+
+        private void writeObject(ObjectOutputStream out) throws IOException {
+            out.defaultWriteObject();
+            session = VaadinSession.getCurrent();
+        }
+    }
+
+    @Test
+    public void threadLocalsWhenSerializing() throws Exception {
+        CurrentInstance.clearAll();
+        SerializationCurrentSession attribute = new SerializationCurrentSession();
+        session.lock();
+        try {
+            session.setAttribute(SerializationCurrentSession.class, attribute);
+        } finally {
+            session.unlock();
+        }
+
+        ObjectOutputStream out = new ObjectOutputStream(
+                new ByteArrayOutputStream());
+        out.writeObject(session);
+        out.close();
+
+        Assert.assertEquals(
+                "Current session should be available in SerializationCurrentSession.writeObject",
+                session, attribute.session);
+        Assert.assertNull("Current session shouldn't leak from serialization",
+                VaadinSession.getCurrent());
+    }
 }
@@ -19,20 +19,65 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.atmosphere.cpr.AtmosphereResource;
 import org.easymock.EasyMock;
+import org.junit.After;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.server.Constants;
+import com.vaadin.flow.server.MockVaadinSession;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.communication.AtmospherePushConnection;
 import com.vaadin.flow.server.communication.AtmospherePushConnection.State;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
 
 /**
  * @author Vaadin Ltd
  */
 public class AtmospherePushConnectionTest {
+
+    private final List<String> messages = new ArrayList<>();
+    private final List<Runnable> scheduledPushes = new ArrayList<>();
+    private final List<ScheduledFuture<?>> scheduledFutures = new ArrayList<>();
+
+    private VaadinSession session;
+    private UI ui;
+
+    private class RecordingPushConnection extends AtmospherePushConnection {
+        private RecordingPushConnection(UI ui) {
+            super(ui);
+        }
+
+        @Override
+        protected void sendMessage(String message) {
+            messages.add(message);
+        }
+    }
+
+    @Before
+    public void setUp() {
+        // Tests lock the session of the UI in the test thread
+        CurrentInstance.clearAll();
+    }
+
+    @After
+    public void tearDown() {
+        CurrentInstance.clearAll();
+    }
+
     @Test
     public void testSerialization() throws Exception {
 
@@ -54,4 +99,131 @@ public class AtmospherePushConnectionTest {
 
         Assert.assertEquals(State.DISCONNECTED, connection.getState());
     }
+
+    @Test
+    public void minIntervalNotSet_everyPushSent() {
+        AtmospherePushConnection connection = createConnection(null);
+
+        pushChange(connection, "foo");
+        pushChange(connection, "bar");
+
+        Assert.assertEquals(2, messages.size());
+        Assert.assertEquals(2, connection.getPushCount());
+        Assert.assertEquals(0, connection.getSuppressedPushCount());
+    }
+
+    @Test
+    public void minIntervalSet_pushesWithinIntervalSuppressed() {
+        AtmospherePushConnection connection = createConnection("100000");
+
+        pushChange(connection, "foo");
+        pushChange(connection, "bar");
+        pushChange(connection, "baz");
+
+        Assert.assertEquals(1, messages.size());
+        Assert.assertEquals(1, connection.getPushCount());
+        Assert.assertEquals(2, connection.getSuppressedPushCount());
+    }
+
+    @Test
+    public void minIntervalSet_pushImmediately_pendingChangesSent() {
+        AtmospherePushConnection connection = createConnection("100000");
+
+        pushChange(connection, "foo");
+        pushChange(connection, "bar");
+        ui.accessSynchronously(connection::pushImmediately);
+
+        Assert.assertEquals(2, messages.size());
+        Assert.assertTrue(messages.get(1).contains("bar"));
+    }
+
+    @Test
+    public void minIntervalSet_suppressedChangesMergedIntoDelayedPush() {
+        AtmospherePushConnection connection = createConnection("500");
+
+        pushChange(connection, "foo");
+        pushChange(connection, "bar");
+        pushChange(connection, "baz");
+
+        Assert.assertEquals(1, messages.size());
+        Assert.assertEquals(1, scheduledPushes.size());
+
+        scheduledPushes.get(0).run();
+
+        Assert.assertEquals(2, messages.size());
+        Assert.assertTrue(messages.get(1).contains("bar"));
+        Assert.assertTrue(messages.get(1).contains("baz"));
+        Assert.assertEquals(2, connection.getPushCount());
+        Assert.assertEquals(2, connection.getSuppressedPushCount());
+    }
+
+    @Test
+    public void minIntervalSet_pushImmediately_scheduledPushCancelled() {
+        AtmospherePushConnection connection = createConnection("500");
+
+        pushChange(connection, "foo");
+        pushChange(connection, "bar");
+        ui.accessSynchronously(connection::pushImmediately);
+
+        Assert.assertEquals(1, scheduledFutures.size());
+        Mockito.verify(scheduledFutures.get(0)).cancel(false);
+    }
+
+    @Test
+    public void minIntervalSet_changesAlreadySent_scheduledPushSkipped() {
+        AtmospherePushConnection connection = createConnection("500");
+
+        pushChange(connection, "foo");
+        pushChange(connection, "bar");
+        ui.accessSynchronously(connection::pushImmediately);
+        scheduledPushes.get(0).run();
+
+        Assert.assertEquals(2, messages.size());
+        Assert.assertEquals(2, connection.getPushCount());
+    }
+
+    private AtmospherePushConnection createConnection(String minInterval) {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        // The delayed push locks only the UI
+        configuration.setApplicationOrSystemProperty(Constants.PER_UI_LOCKING,
+                "true");
+        if (minInterval != null) {
+            configuration.setApplicationOrSystemProperty(
+                    Constants.PUSH_MIN_INTERVAL, minInterval);
+        }
+        VaadinService service = Mockito.mock(VaadinService.class);
+        Mockito.when(service.getDeploymentConfiguration())
+                .thenReturn(configuration);
+        Mockito.when(service.getDependencyFilters())
+                .thenReturn(Collections.emptyList());
+        // Delayed pushes are run explicitly by the tests
+        ScheduledExecutorService scheduler = Mockito
+                .mock(ScheduledExecutorService.class);
+        Mockito.when(scheduler.schedule(Mockito.any(Runnable.class),
+                Mockito.anyLong(), Mockito.any(TimeUnit.class)))
+                .thenAnswer(invocation -> {
+                    scheduledPushes.add(
+                            invocation.getArgumentAt(0, Runnable.class));
+                    ScheduledFuture<?> future = Mockito
+                            .mock(ScheduledFuture.class);
+                    scheduledFutures.add(future);
+                    return future;
+                });
+        Mockito.when(service.getPushScheduler()).thenReturn(scheduler);
+        session = new MockVaadinSession(service);
+        ui = new UI();
+        ui.getInternals().setSession(session);
+
+        AtmospherePushConnection connection = new RecordingPushConnection(ui);
+        connection.connect(Mockito.mock(AtmosphereResource.class));
+        return connection;
+    }
+
+    private void pushChange(AtmospherePushConnection connection,
+            String attribute) {
+        ui.accessSynchronously(() -> {
+            ui.getElement().setAttribute(attribute, "");
+            connection.push();
+        });
+    }
 }
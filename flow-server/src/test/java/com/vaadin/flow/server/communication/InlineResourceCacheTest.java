@@ -0,0 +1,141 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.servlet.ServletContext;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class InlineResourceCacheTest {
+
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    private Supplier<String> loader(String contents) {
+        return () -> {
+            loadCount.incrementAndGet();
+            return contents;
+        };
+    }
+
+    @Test
+    public void notChecked_cachedContentsReused() {
+        InlineResourceCache cache = new InlineResourceCache(100);
+
+        Assert.assertEquals("foo", cache.get("/foo.js", StandardCharsets.UTF_8,
+                InlineResourceCache.NOT_CHECKED, loader("foo")));
+        Assert.assertEquals("foo", cache.get("/foo.js", StandardCharsets.UTF_8,
+                InlineResourceCache.NOT_CHECKED, loader("bar")));
+
+        Assert.assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    public void differentCharset_loadedSeparately() {
+        InlineResourceCache cache = new InlineResourceCache(100);
+
+        cache.get("/foo.js", StandardCharsets.UTF_8,
+                InlineResourceCache.NOT_CHECKED, loader("foo"));
+        Assert.assertEquals("bar",
+                cache.get("/foo.js", StandardCharsets.ISO_8859_1,
+                        InlineResourceCache.NOT_CHECKED, loader("bar")));
+
+        Assert.assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    public void lastModifiedChanged_contentsReloaded() {
+        InlineResourceCache cache = new InlineResourceCache(100);
+
+        cache.get("/foo.js", StandardCharsets.UTF_8, 1, loader("foo"));
+        Assert.assertEquals("foo", cache.get("/foo.js",
+                StandardCharsets.UTF_8, 1, loader("bar")));
+        Assert.assertEquals("bar", cache.get("/foo.js",
+                StandardCharsets.UTF_8, 2, loader("bar")));
+
+        Assert.assertEquals(2, loadCount.get());
+        Assert.assertEquals(3, cache.getSize());
+    }
+
+    @Test
+    public void lastModifiedUnknown_neverCached() {
+        InlineResourceCache cache = new InlineResourceCache(100);
+
+        cache.get("/foo.js", StandardCharsets.UTF_8,
+                InlineResourceCache.UNKNOWN, loader("foo"));
+        cache.get("/foo.js", StandardCharsets.UTF_8,
+                InlineResourceCache.UNKNOWN, loader("foo"));
+
+        Assert.assertEquals(2, loadCount.get());
+        Assert.assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void maxSizeExceeded_leastRecentlyUsedEvicted() {
+        InlineResourceCache cache = new InlineResourceCache(6);
+
+        cache.get("/a.js", StandardCharsets.UTF_8,
+                InlineResourceCache.NOT_CHECKED, loader("aaa"));
+        cache.get("/b.js", StandardCharsets.UTF_8,
+                InlineResourceCache.NOT_CHECKED, loader("bbb"));
+        // Makes b the least recently used entry
+        cache.get("/a.js", StandardCharsets.UTF_8,
+                InlineResourceCache.NOT_CHECKED, loader("aaa"));
+        cache.get("/c.js", StandardCharsets.UTF_8,
+                InlineResourceCache.NOT_CHECKED, loader("ccc"));
+        Assert.assertEquals(3, loadCount.get());
+        Assert.assertEquals(6, cache.getSize());
+
+        cache.get("/a.js", StandardCharsets.UTF_8,
+                InlineResourceCache.NOT_CHECKED, loader("aaa"));
+        Assert.assertEquals(3, loadCount.get());
+
+        cache.get("/b.js", StandardCharsets.UTF_8,
+                InlineResourceCache.NOT_CHECKED, loader("bbb"));
+        Assert.assertEquals(4, loadCount.get());
+    }
+
+    @Test
+    public void contentsLargerThanMaxSize_notCached() {
+        InlineResourceCache cache = new InlineResourceCache(2);
+
+        Assert.assertEquals("foo", cache.get("/foo.js", StandardCharsets.UTF_8,
+                InlineResourceCache.NOT_CHECKED, loader("foo")));
+        cache.get("/foo.js", StandardCharsets.UTF_8,
+                InlineResourceCache.NOT_CHECKED, loader("foo"));
+
+        Assert.assertEquals(2, loadCount.get());
+        Assert.assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void getInstance_storedInServletContext() {
+        ServletContext context = Mockito.mock(ServletContext.class);
+        InlineResourceCache cache = InlineResourceCache.getInstance(context);
+
+        Mockito.verify(context).setAttribute(
+                InlineResourceCache.class.getName(), cache);
+
+        Mockito.when(context.getAttribute(InlineResourceCache.class.getName()))
+                .thenReturn(cache);
+        Assert.assertSame(cache, InlineResourceCache.getInstance(context));
+    }
+}
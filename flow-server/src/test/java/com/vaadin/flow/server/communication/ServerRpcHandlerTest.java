@@ -0,0 +1,61 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.tests.util.MockUI;
+
+public class ServerRpcHandlerTest {
+
+    private static class CustomMessageRpcHandler extends ServerRpcHandler {
+        private String readMessage;
+
+        @Override
+        protected String getMessage(Reader reader) throws IOException {
+            readMessage = super.getMessage(reader);
+            // The client sometimes sends empty messages
+            return "";
+        }
+    }
+
+    @After
+    public void tearDown() {
+        CurrentInstance.clearAll();
+    }
+
+    @Test
+    public void getMessageOverridden_messageReadThroughGetMessage()
+            throws Exception {
+        UI ui = new MockUI();
+        CustomMessageRpcHandler handler = new CustomMessageRpcHandler();
+
+        handler.handleRpc(ui, new StringReader("{\"foo\":1}"),
+                Mockito.mock(VaadinRequest.class));
+
+        Assert.assertEquals("{\"foo\":1}", handler.readMessage);
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.server.FileStreamResource;
+import com.vaadin.flow.server.MockVaadinSession;
+import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinServletRequest;
+import com.vaadin.flow.server.VaadinSession;
+
+public class StreamResourceHandlerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final StreamResourceHandler handler = new StreamResourceHandler();
+
+    private VaadinSession session;
+    private VaadinServletRequest request;
+    private VaadinResponse response;
+    private ByteArrayOutputStream body;
+    private FileStreamResource resource;
+
+    @Before
+    public void setUp() throws IOException {
+        session = new MockVaadinSession(Mockito.mock(VaadinService.class));
+
+        request = Mockito.mock(VaadinServletRequest.class);
+        Mockito.when(request.getServletContext())
+                .thenReturn(Mockito.mock(ServletContext.class));
+        Mockito.when(request.getMethod()).thenReturn("GET");
+        Mockito.when(request.getDateHeader(Mockito.anyString()))
+                .thenReturn(-1L);
+
+        body = new ByteArrayOutputStream();
+        response = Mockito.mock(VaadinResponse.class);
+        Mockito.when(response.getOutputStream()).thenReturn(new OutputStream() {
+            @Override
+            public void write(int b) {
+                Assert.assertFalse("Session should not be locked",
+                        session.hasLock());
+                body.write(b);
+            }
+        });
+
+        File file = temporaryFolder.newFile("foo.txt");
+        Files.write(file.toPath(),
+                "0123456789".getBytes(StandardCharsets.UTF_8));
+        resource = new FileStreamResource(file);
+    }
+
+    @Test
+    public void fileResource_wholeFileWrittenWithLengthAndETag()
+            throws IOException {
+        handle();
+
+        Assert.assertEquals("0123456789", getBody());
+        Mockito.verify(response).setHeader("Content-Length", "10");
+        Mockito.verify(response).setHeader("ETag", resource.getETag());
+        Mockito.verify(response).setHeader("Accept-Ranges", "bytes");
+        Mockito.verify(response, Mockito.never()).setStatus(Mockito.anyInt());
+    }
+
+    @Test
+    public void fileResource_range_partialContentWritten() throws IOException {
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=2-4");
+
+        handle();
+
+        Assert.assertEquals("234", getBody());
+        Mockito.verify(response)
+                .setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        Mockito.verify(response).setHeader("Content-Range", "bytes 2-4/10");
+        Mockito.verify(response).setHeader("Content-Length", "3");
+    }
+
+    @Test
+    public void fileResource_suffixRange_endOfFileWritten()
+            throws IOException {
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=-3");
+
+        handle();
+
+        Assert.assertEquals("789", getBody());
+        Mockito.verify(response).setHeader("Content-Range", "bytes 7-9/10");
+    }
+
+    @Test
+    public void fileResource_rangeBeyondEnd_notSatisfiable()
+            throws IOException {
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=10-");
+
+        handle();
+
+        Assert.assertEquals("", getBody());
+        Mockito.verify(response).sendError(
+                Mockito.eq(
+                        HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE),
+                Mockito.anyString());
+        Mockito.verify(response).setHeader("Content-Range", "bytes */10");
+    }
+
+    @Test
+    public void fileResource_ifRangeDoesNotMatch_wholeFileWritten()
+            throws IOException {
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=2-4");
+        Mockito.when(request.getHeader("If-Range")).thenReturn("\"other\"");
+
+        handle();
+
+        Assert.assertEquals("0123456789", getBody());
+    }
+
+    @Test
+    public void fileResource_ifNoneMatchesETag_notModified()
+            throws IOException {
+        Mockito.when(request.getHeader("If-None-Match"))
+                .thenReturn("\"other\", " + resource.getETag());
+
+        handle();
+
+        Assert.assertEquals("", getBody());
+        Mockito.verify(response)
+                .setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+    }
+
+    @Test
+    public void fileResource_fileChanged_eTagChanged() throws IOException {
+        String eTag = resource.getETag();
+
+        Files.write(resource.getFile().toPath(),
+                "01234567890".getBytes(StandardCharsets.UTF_8));
+
+        Assert.assertNotEquals(eTag, resource.getETag());
+    }
+
+    private void handle() throws IOException {
+        handler.handleRequest(session, request, response, resource);
+    }
+
+    private String getBody() {
+        return new String(body.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.ErrorEvent;
+import com.vaadin.flow.server.MockVaadinSession;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
+
+public class UIBroadcasterTest {
+
+    private VaadinSession session;
+    private UIBroadcaster broadcaster;
+
+    @Before
+    public void setUp() {
+        VaadinService service = Mockito.mock(VaadinService.class);
+        Mockito.when(service.getDeploymentConfiguration())
+                .thenReturn(new MockDeploymentConfiguration());
+        session = new MockVaadinSession(service);
+    }
+
+    @After
+    public void tearDown() {
+        if (broadcaster != null) {
+            broadcaster.shutdown();
+        }
+    }
+
+    @Test
+    public void broadcast_snapshotCreatedOnceAndAppliedToAllUIs()
+            throws Exception {
+        broadcaster = new UIBroadcaster(0, 2);
+        List<UI> uis = createUIs(3);
+        AtomicInteger snapshotCount = new AtomicInteger();
+        List<UI> updated = Collections.synchronizedList(new ArrayList<>());
+
+        Future<Void> future = broadcaster.broadcast(uis,
+                snapshotCount::incrementAndGet, (ui, snapshot) -> {
+                    Assert.assertSame(ui, UI.getCurrent());
+                    Assert.assertTrue(session.hasLock());
+                    Assert.assertEquals(1, snapshot.intValue());
+                    updated.add(ui);
+                });
+        future.get(5, TimeUnit.SECONDS);
+
+        Assert.assertEquals(1, snapshotCount.get());
+        Assert.assertEquals(3, updated.size());
+        Assert.assertTrue(updated.containsAll(uis));
+        Assert.assertEquals(1, broadcaster.getBroadcastCount());
+        Assert.assertEquals(3, broadcaster.getUpdateCount());
+    }
+
+    @Test
+    public void broadcastsWithinWindow_coalescedIntoOneDeliveryPerUI()
+            throws Exception {
+        List<Runnable> flushes = new ArrayList<>();
+        List<Runnable> deliveries = new ArrayList<>();
+        ScheduledExecutorService executor = Mockito
+                .mock(ScheduledExecutorService.class);
+        Mockito.when(executor.schedule(Mockito.any(Runnable.class),
+                Mockito.eq(200L), Mockito.eq(TimeUnit.MILLISECONDS)))
+                .thenAnswer(invocation -> {
+                    flushes.add(invocation.getArgumentAt(0, Runnable.class));
+                    return Mockito.mock(ScheduledFuture.class);
+                });
+        Mockito.doAnswer(invocation -> deliveries
+                .add(invocation.getArgumentAt(0, Runnable.class)))
+                .when(executor).execute(Mockito.any(Runnable.class));
+
+        broadcaster = new UIBroadcaster(200, executor);
+        List<UI> uis = createUIs(100);
+        Map<UI, List<Integer>> applied = new HashMap<>();
+
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int value = i;
+            futures.add(broadcaster.broadcast(uis, () -> value,
+                    (ui, snapshot) -> applied
+                            .computeIfAbsent(ui, key -> new ArrayList<>())
+                            .add(snapshot)));
+        }
+
+        // One flush for the window, nothing delivered before it has passed
+        Assert.assertEquals(1, flushes.size());
+        Assert.assertTrue(deliveries.isEmpty());
+        Assert.assertTrue(applied.isEmpty());
+
+        flushes.get(0).run();
+        Assert.assertEquals(100, deliveries.size());
+        deliveries.forEach(Runnable::run);
+
+        for (Future<Void> future : futures) {
+            Assert.assertTrue(future.isDone());
+        }
+        Assert.assertEquals(5 * 100, broadcaster.getUpdateCount());
+        Assert.assertEquals(100, broadcaster.getDeliveryCount());
+        Assert.assertEquals(0, broadcaster.getFailedUpdateCount());
+        for (UI ui : uis) {
+            Assert.assertEquals(Arrays.asList(0, 1, 2, 3, 4), applied.get(ui));
+        }
+
+        // A later broadcast starts a new window
+        broadcaster.broadcast(uis.subList(0, 1), () -> {
+        });
+        Assert.assertEquals(2, flushes.size());
+    }
+
+    @Test
+    public void broadcast_concurrencyBounded_updatesForSameUIInOrder()
+            throws Exception {
+        broadcaster = new UIBroadcaster(0, 2);
+        List<UI> uis = createUIs(20);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> firstUIValues = Collections
+                .synchronizedList(new ArrayList<>());
+
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            int value = i;
+            futures.add(broadcaster.broadcast(uis, () -> value,
+                    (ui, snapshot) -> {
+                        maxRunning.accumulateAndGet(
+                                running.incrementAndGet(), Math::max);
+                        if (ui == uis.get(0)) {
+                            firstUIValues.add(snapshot);
+                        }
+                        try {
+                            Thread.sleep(2);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        running.decrementAndGet();
+                    }));
+        }
+        for (Future<Void> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        // Session lock serializes updates here, but never more than 2 threads
+        Assert.assertTrue(maxRunning.get() <= 2);
+        Assert.assertEquals(Arrays.asList(0, 1, 2), firstUIValues);
+    }
+
+    @Test
+    public void detachedUI_skipped() throws Exception {
+        broadcaster = new UIBroadcaster(0, 1);
+        UI attached = createUIs(1).get(0);
+        UI detached = new UI();
+        AtomicInteger updateCount = new AtomicInteger();
+
+        broadcaster.broadcast(Arrays.asList(attached, detached),
+                updateCount::incrementAndGet).get(5, TimeUnit.SECONDS);
+
+        Assert.assertEquals(1, updateCount.get());
+        Assert.assertEquals(1, broadcaster.getUpdateCount());
+        Assert.assertEquals(1, broadcaster.getFailedUpdateCount());
+    }
+
+    @Test
+    public void updateThrows_errorHandlerCalledAndOtherUpdatesApplied()
+            throws Exception {
+        broadcaster = new UIBroadcaster(100, 1);
+        UI ui = createUIs(1).get(0);
+        List<ErrorEvent> errors = new ArrayList<>();
+        session.lock();
+        try {
+            session.setErrorHandler(errors::add);
+        } finally {
+            session.unlock();
+        }
+        AtomicInteger updateCount = new AtomicInteger();
+
+        Future<Void> failing = broadcaster.broadcast(
+                Collections.singletonList(ui), () -> {
+                    throw new IllegalStateException("Failed");
+                });
+        Future<Void> succeeding = broadcaster.broadcast(
+                Collections.singletonList(ui), updateCount::incrementAndGet);
+        failing.get(5, TimeUnit.SECONDS);
+        succeeding.get(5, TimeUnit.SECONDS);
+
+        Assert.assertEquals(1, errors.size());
+        Assert.assertEquals("Failed", errors.get(0).getThrowable().getMessage());
+        Assert.assertEquals(1, updateCount.get());
+        Assert.assertEquals(1, broadcaster.getFailedUpdateCount());
+    }
+
+    private List<UI> createUIs(int count) {
+        return IntStream.range(0, count).mapToObj(i -> {
+            UI ui = new UI();
+            ui.getInternals().setSession(session);
+            return ui;
+        }).collect(Collectors.toList());
+    }
+}
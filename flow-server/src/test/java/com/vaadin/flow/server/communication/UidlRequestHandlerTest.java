@@ -0,0 +1,140 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.server.Constants;
+import com.vaadin.flow.server.MockVaadinSession;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
+
+public class UidlRequestHandlerTest {
+
+    private final UidlRequestHandler handler = new UidlRequestHandler();
+
+    private VaadinService service;
+    private VaadinSession session;
+    private UI ui;
+
+    @After
+    public void tearDown() {
+        session.unlock();
+        CurrentInstance.clearAll();
+    }
+
+    @Test
+    public void duplicateMessage_previousResponseSentAgain()
+            throws IOException {
+        init(false);
+
+        byte[] response = handle(0);
+        Assert.assertTrue(response.length > 0);
+
+        Assert.assertArrayEquals(response, handle(0));
+    }
+
+    @Test
+    public void streamingEnabled_duplicateMessage_previousResponseSentAgain()
+            throws IOException {
+        init(true);
+
+        byte[] response = handle(0);
+        Assert.assertTrue(response.length > 0);
+
+        Assert.assertArrayEquals(response, handle(0));
+    }
+
+    @Test
+    public void duplicateMessage_noStoredResponse_fullStateSent()
+            throws IOException {
+        init(false);
+        ui.getInternals().setLastProcessedClientToServerId(0);
+
+        String response = new String(handle(0), StandardCharsets.UTF_8);
+
+        Assert.assertTrue(response, response.contains(
+                "\"" + ApplicationConstants.RESYNCHRONIZE_ID + "\":true"));
+        Assert.assertFalse(ui.getInternals().isResynchronizationRequested());
+    }
+
+    @Test
+    public void duplicateMessage_responseAlreadyReplaced_fullStateSent()
+            throws IOException {
+        init(false);
+        handle(0);
+        // Another message, e.g. a push, has been sent after the response
+        ui.getInternals().incrementServerId();
+
+        String response = new String(handle(0), StandardCharsets.UTF_8);
+
+        Assert.assertTrue(response, response.contains(
+                "\"" + ApplicationConstants.RESYNCHRONIZE_ID + "\":true"));
+    }
+
+    private void init(boolean streaming) {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setXsrfProtectionEnabled(false);
+        configuration.setSyncIdCheckEnabled(false);
+        configuration.setApplicationOrSystemProperty(Constants.STREAMING_UIDL,
+                String.valueOf(streaming));
+
+        service = Mockito.mock(VaadinService.class);
+        Mockito.when(service.getDeploymentConfiguration())
+                .thenReturn(configuration);
+        Mockito.when(service.getDependencyFilters())
+                .thenReturn(Collections.emptyList());
+
+        session = new MockVaadinSession(service);
+        session.lock();
+        ui = new UI();
+        ui.getInternals().setSession(session);
+        Mockito.when(service.findUI(Mockito.any())).thenReturn(ui);
+    }
+
+    private byte[] handle(int clientId) throws IOException {
+        String message = "{\"" + ApplicationConstants.CLIENT_TO_SERVER_ID
+                + "\":" + clientId + ",\""
+                + ApplicationConstants.RPC_INVOCATIONS + "\":[]}";
+        VaadinRequest request = Mockito.mock(VaadinRequest.class);
+        Mockito.when(request.getService()).thenReturn(service);
+        Mockito.when(request.getReader())
+                .thenReturn(new BufferedReader(new StringReader(message)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        VaadinResponse response = Mockito.mock(VaadinResponse.class);
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+
+        handler.synchronizedHandleRequest(session, request, response);
+        return out.toByteArray();
+    }
+}
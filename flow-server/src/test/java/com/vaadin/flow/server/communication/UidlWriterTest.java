@@ -54,6 +54,7 @@ import com.vaadin.flow.component.dependency.StyleSheet;
 import com.vaadin.flow.component.internal.UIInternals.JavaScriptInvocation;
 import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.dom.ElementFactory;
+import com.vaadin.flow.internal.JsonStreamWriter;
 import com.vaadin.flow.internal.JsonUtils;
 import com.vaadin.flow.router.RouterInterface;
 import com.vaadin.flow.router.legacy.HasChildView;
@@ -69,6 +70,7 @@ import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.VaadinUriResolverFactory;
 import com.vaadin.flow.server.communication.UidlWriter;
 import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.flow.shared.JsonConstants;
 import com.vaadin.flow.shared.ui.Dependency;
 import com.vaadin.flow.shared.ui.LoadMode;
 import com.vaadin.tests.util.MockDeploymentConfiguration;
@@ -194,6 +196,7 @@ public class UidlWriterTest {
     }
 
     private VaadinUriResolverFactory factory;
+    private VaadinServletRequest currentRequest;
 
     @After
     public void tearDown() {
@@ -445,6 +448,70 @@ public class UidlWriterTest {
                 containsInAnyOrder(Dependency.Type.values()));
     }
 
+    @Test
+    public void writeUidl_sameContentsAsCreateUidl() {
+        UI treeUI = initializeUIForDependenciesTest(new TestUI());
+        treeUI.add(new ChildComponent(), new ComponentWithAllDependencyTypes());
+        treeUI.getPage().executeJavaScript("console.log($0)", "foo");
+        JsonObject expected = new UidlWriter().createUidl(treeUI, false);
+
+        UI streamUI = initializeUIForDependenciesTest(new TestUI());
+        streamUI.add(new ChildComponent(),
+                new ComponentWithAllDependencyTypes());
+        streamUI.getPage().executeJavaScript("console.log($0)", "foo");
+        JsonStreamWriter writer = new JsonStreamWriter();
+        new UidlWriter().writeUidl(streamUI, false, writer);
+
+        JsonObject streamed = Json.parse(writer.toString());
+        assertTrue(streamed.hasKey("changes"));
+        assertTrue(JsonUtils.jsonEquals(expected, streamed));
+        assertEquals(treeUI.getInternals().getServerSyncId(),
+                streamUI.getInternals().getServerSyncId());
+    }
+
+    @Test
+    public void writeUidlMessage_wrappedForXssProtection() {
+        UI ui = initializeUIForDependenciesTest(new TestUI());
+        JsonStreamWriter writer = new JsonStreamWriter();
+        new UidlWriter().writeUidlMessage(ui, true, writer);
+
+        String message = writer.toString();
+        assertTrue(message.startsWith("for(;;);[{"));
+        assertTrue(message.endsWith("}]"));
+    }
+
+    @Test
+    public void resynchronizationRequested_allNodesAttachedAgain() {
+        UI ui = initializeUIForDependenciesTest(new TestUI());
+        ChildComponent child = new ChildComponent();
+        ui.add(child);
+        UidlWriter uidlWriter = new UidlWriter();
+        JsonObject initial = uidlWriter.createUidl(ui, false);
+        assertFalse(initial.hasKey(ApplicationConstants.RESYNCHRONIZE_ID));
+
+        ui.getInternals().setResynchronizationRequested(true);
+        JsonObject response = uidlWriter.createUidl(ui, false);
+
+        assertTrue(response.getBoolean(ApplicationConstants.RESYNCHRONIZE_ID));
+        assertFalse(ui.getInternals().isResynchronizationRequested());
+        int childId = child.getElement().getNode().getId();
+        JsonArray changes = response.getArray("changes");
+        boolean childAttached = false;
+        for (int i = 0; i < changes.length(); i++) {
+            JsonObject change = changes.getObject(i);
+            if (JsonConstants.CHANGE_TYPE_ATTACH
+                    .equals(change.getString(JsonConstants.CHANGE_TYPE))
+                    && (int) change.getNumber(
+                            JsonConstants.CHANGE_NODE) == childId) {
+                childAttached = true;
+            }
+        }
+        assertTrue(childAttached);
+
+        assertFalse(uidlWriter.createUidl(ui, false)
+                .hasKey(ApplicationConstants.RESYNCHRONIZE_ID));
+    }
+
     private UI initializeUIForDependenciesTest(UI ui) {
         VaadinServletService service = new VaadinServletService(
                 new VaadinServlet(), new MockDeploymentConfiguration()) {
@@ -485,6 +552,8 @@ public class UidlWriterTest {
         when(vaadinRequestMock.getHttpServletRequest())
                 .thenReturn(servletRequestMock);
 
+        // Current instances are weakly referenced
+        currentRequest = vaadinRequestMock;
         service.setCurrentInstances(vaadinRequestMock,
                 mock(VaadinResponse.class));
         ui.doInit(vaadinRequestMock, 1);
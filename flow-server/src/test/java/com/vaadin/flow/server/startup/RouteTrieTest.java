@@ -0,0 +1,121 @@
+/*
+ * Copyright 2000-2017 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.startup;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.router.BeforeEvent;
+import com.vaadin.flow.router.HasUrlParameter;
+import com.vaadin.flow.router.WildcardParameter;
+import com.vaadin.flow.server.InvalidRouteConfigurationException;
+
+public class RouteTrieTest {
+
+    @Tag(Tag.DIV)
+    public static class NormalRoute extends Component {
+    }
+
+    @Tag(Tag.DIV)
+    public static class OtherNormalRoute extends Component {
+    }
+
+    @Tag(Tag.DIV)
+    public static class HasUrlRoute extends Component
+            implements HasUrlParameter<String> {
+        @Override
+        public void setParameter(BeforeEvent event, String parameter) {
+        }
+    }
+
+    @Tag(Tag.DIV)
+    public static class WildcardRoute extends Component
+            implements HasUrlParameter<String> {
+        @Override
+        public void setParameter(BeforeEvent event,
+                @WildcardParameter String parameter) {
+        }
+    }
+
+    @Test
+    public void longestMatchingRouteFound()
+            throws InvalidRouteConfigurationException {
+        RouteTrie trie = new RouteTrie();
+        trie.add("foo", new RouteTarget(NormalRoute.class));
+        trie.add("foo/bar", new RouteTarget(OtherNormalRoute.class));
+
+        RouteMatch match = trie.match(Arrays.asList("foo", "bar"));
+        Assert.assertEquals("foo/bar", match.getPath());
+        Assert.assertEquals(OtherNormalRoute.class,
+                match.getNavigationTarget());
+        Assert.assertEquals(Collections.emptyList(),
+                match.getParameterSegments());
+
+        Assert.assertEquals(NormalRoute.class,
+                trie.match(Arrays.asList("foo")).getNavigationTarget());
+        Assert.assertNull(trie.match(Arrays.asList("foo", "baz")));
+        Assert.assertNull(trie.match(Arrays.asList("bar")));
+    }
+
+    @Test
+    public void shorterRouteAcceptingParameters_parametersMatched()
+            throws InvalidRouteConfigurationException {
+        RouteTrie trie = new RouteTrie();
+        trie.add("foo", new RouteTarget(HasUrlRoute.class));
+        trie.add("foo/bar", new RouteTarget(NormalRoute.class));
+        trie.add("bar", new RouteTarget(WildcardRoute.class));
+
+        RouteMatch match = trie.match(Arrays.asList("foo", "baz"));
+        Assert.assertEquals("foo", match.getPath());
+        Assert.assertEquals(HasUrlRoute.class, match.getNavigationTarget());
+        Assert.assertEquals(Arrays.asList("baz"),
+                match.getParameterSegments());
+
+        Assert.assertNull("Route with one parameter should not match two",
+                trie.match(Arrays.asList("foo", "bar", "baz")));
+
+        match = trie.match(Arrays.asList("bar", "foo", "baz"));
+        Assert.assertEquals(WildcardRoute.class, match.getNavigationTarget());
+        Assert.assertEquals(Arrays.asList("foo", "baz"),
+                match.getParameterSegments());
+    }
+
+    @Test
+    public void emptyRoute_matchedLast()
+            throws InvalidRouteConfigurationException {
+        RouteTrie trie = new RouteTrie();
+        trie.add("", new RouteTarget(WildcardRoute.class));
+        trie.add("foo", new RouteTarget(NormalRoute.class));
+
+        Assert.assertEquals("foo",
+                trie.match(Arrays.asList("foo")).getPath());
+
+        RouteMatch match = trie.match(Arrays.asList("foo", "bar"));
+        Assert.assertEquals("", match.getPath());
+        Assert.assertEquals(Arrays.asList("foo", "bar"),
+                match.getParameterSegments());
+
+        match = trie.match(Arrays.asList(""));
+        Assert.assertEquals("", match.getPath());
+        Assert.assertEquals(Collections.emptyList(),
+                match.getParameterSegments());
+    }
+}
@@ -2,6 +2,8 @@ package com.vaadin.flow.templatemodel;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -19,11 +21,13 @@ import org.junit.rules.ExpectedException;
 import org.mockito.Mockito;
 
 import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.polymertemplate.PolymerTemplate;
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.HasCurrentService;
 import com.vaadin.flow.internal.ReflectTools;
 import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.internal.change.MapPutChange;
 import com.vaadin.flow.internal.change.NodeChange;
 import com.vaadin.flow.internal.nodefeature.ElementPropertyMap;
 import com.vaadin.flow.internal.nodefeature.ModelList;
@@ -423,6 +427,34 @@ public class TemplateModelTest extends HasCurrentService {
         }
     }
 
+    public interface KeyedListBeanModel extends TemplateModel {
+        @ItemKey("intValue")
+        void setBeans(List<Bean> beans);
+
+        List<Bean> getBeans();
+    }
+
+    public static class KeyedListBeanModelTemplate
+            extends NoModelTemplate<KeyedListBeanModel> {
+        @Override
+        public KeyedListBeanModel getModel() {
+            return super.getModel();
+        }
+    }
+
+    public interface InvalidItemKeyModel extends TemplateModel {
+        @ItemKey("noSuchProperty")
+        void setBeans(List<Bean> beans);
+    }
+
+    public static class InvalidItemKeyModelTemplate
+            extends NoModelTemplate<InvalidItemKeyModel> {
+        @Override
+        public InvalidItemKeyModel getModel() {
+            return super.getModel();
+        }
+    }
+
     public static class StringListModelTemplate
             extends NoModelTemplate<StringListModel> {
         @Override
@@ -961,6 +993,162 @@ public class TemplateModelTest extends HasCurrentService {
                 new Bean(200), new Bean(300));
     }
 
+    @Test
+    public void keyedList_setAgain_itemsReusedAndOnlyChangesSent() {
+        KeyedListBeanModelTemplate template = new KeyedListBeanModelTemplate();
+        List<Bean> beans = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            beans.add(new Bean(i));
+        }
+        template.getModel().setBeans(beans);
+
+        ModelList modelList = getModelList(template, "beans");
+        List<StateNode> items = getItems(modelList);
+        modelList.collectChanges(change -> {
+        });
+        modelList.getNode().clearChanges();
+        items.forEach(item -> {
+            ElementPropertyMap.getModel(item).collectChanges(change -> {
+            });
+            item.clearChanges();
+        });
+
+        List<Bean> newBeans = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            newBeans.add(new Bean(i));
+        }
+        newBeans.get(2).setString("changed");
+        template.getModel().setBeans(newBeans);
+
+        Assert.assertSame(modelList, getModelList(template, "beans"));
+        Assert.assertEquals(items, getItems(modelList));
+
+        List<NodeChange> changes = new ArrayList<>();
+        modelList.collectChanges(changes::add);
+        Assert.assertEquals(0, changes.size());
+
+        items.forEach(item -> ElementPropertyMap.getModel(item)
+                .collectChanges(changes::add));
+        Assert.assertEquals(1, changes.size());
+        MapPutChange change = (MapPutChange) changes.get(0);
+        Assert.assertSame(items.get(2), change.getNode());
+        Assert.assertEquals("string", change.getKey());
+        Assert.assertEquals("changed", change.getValue());
+    }
+
+    @Test
+    public void keyedList_reorderedAndChanged_itemsMoved() {
+        KeyedListBeanModelTemplate template = new KeyedListBeanModelTemplate();
+        template.getModel().setBeans(Arrays.asList(new Bean(1), new Bean(2),
+                new Bean(3), new Bean(4)));
+
+        ModelList modelList = getModelList(template, "beans");
+        List<StateNode> items = getItems(modelList);
+
+        template.getModel().setBeans(Arrays.asList(new Bean(4), new Bean(5),
+                new Bean(6), new Bean(2), new Bean(1)));
+
+        List<StateNode> newItems = getItems(modelList);
+        Assert.assertEquals(5, newItems.size());
+        Assert.assertSame(items.get(3), newItems.get(0));
+        Assert.assertSame(items.get(1), newItems.get(3));
+        Assert.assertSame(items.get(0), newItems.get(4));
+        Assert.assertFalse(items.contains(newItems.get(1)));
+        Assert.assertFalse(items.contains(newItems.get(2)));
+        Assert.assertNull(items.get(2).getParent());
+
+        assertListContentsEquals(template.getModel().getBeans(), new Bean(4),
+                new Bean(5), new Bean(6), new Bean(2), new Bean(1));
+    }
+
+    @Test
+    public void keyedList_largeListSingleChange_noListChanges() {
+        KeyedListBeanModelTemplate template = new KeyedListBeanModelTemplate();
+        List<Bean> beans = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            beans.add(new Bean(i));
+        }
+        template.getModel().setBeans(beans);
+        ModelList modelList = getModelList(template, "beans");
+        modelList.collectChanges(change -> {
+        });
+        modelList.getNode().clearChanges();
+
+        beans.set(4999, new Bean(5000));
+        template.getModel().setBeans(beans);
+
+        List<NodeChange> changes = new ArrayList<>();
+        modelList.collectChanges(changes::add);
+        // One remove and one add, instead of replacing all the items
+        Assert.assertEquals(2, changes.size());
+        Assert.assertEquals(5000, modelList.size());
+    }
+
+    @Test
+    public void keyedList_reversed_allButOneItemMoved() {
+        List<Bean> beans = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            beans.add(new Bean(i));
+        }
+        List<Bean> reversed = new ArrayList<>(beans);
+        Collections.reverse(reversed);
+
+        // A reversed list has no longer ordered run than a single item
+        assertMovedItems(beans, reversed, 99);
+    }
+
+    @Test
+    public void keyedList_firstItemMovedToEnd_onlyThatItemMoved() {
+        List<Bean> beans = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            beans.add(new Bean(i));
+        }
+        List<Bean> rotated = new ArrayList<>(beans.subList(1, 100));
+        rotated.add(beans.get(0));
+
+        assertMovedItems(beans, rotated, 1);
+    }
+
+    private void assertMovedItems(List<Bean> beans, List<Bean> newBeans,
+            int expectedMoves) {
+        KeyedListBeanModelTemplate template = new KeyedListBeanModelTemplate();
+        new UI().add(template);
+        template.getModel().setBeans(beans);
+
+        ModelList modelList = getModelList(template, "beans");
+        List<StateNode> items = getItems(modelList);
+        AtomicInteger detachCount = new AtomicInteger();
+        items.forEach(item -> item
+                .addDetachListener(detachCount::incrementAndGet));
+
+        template.getModel().setBeans(newBeans);
+
+        // Each moved item is detached once, the others stay in place
+        Assert.assertEquals(expectedMoves, detachCount.get());
+        List<StateNode> newItems = getItems(modelList);
+        Assert.assertEquals(items.size(), newItems.size());
+        for (int i = 0; i < newBeans.size(); i++) {
+            Assert.assertSame(items.get(beans.indexOf(newBeans.get(i))),
+                    newItems.get(i));
+        }
+        assertListContentsEquals(template.getModel().getBeans(),
+                newBeans.toArray(new Bean[0]));
+    }
+
+    @Test(expected = InvalidTemplateModelException.class)
+    public void itemKey_unknownProperty_throws() {
+        new InvalidItemKeyModelTemplate().getModel()
+                .setBeans(new ArrayList<>());
+    }
+
+    private static List<StateNode> getItems(ModelList modelList) {
+        List<StateNode> items = new ArrayList<>();
+        for (int i = 0; i < modelList.size(); i++) {
+            items.add(modelList.get(i));
+        }
+        return items;
+    }
+
     @Test
     public void stringListModel_handlesListOperationsProperly() {
         StringListModelTemplate template = new StringListModelTemplate();